@@ -1,15 +1,19 @@
 package br.com.danieldomingues.itau.policy.api;
 
+import br.com.danieldomingues.itau.policy.integration.fraud.FraudApiUnavailableException;
 import jakarta.validation.ConstraintViolationException;
 import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestControllerAdvice
 public class ApiExceptionHandler {
@@ -67,6 +71,56 @@ public class ApiExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
   }
 
+  /** Parâmetro que não converte (enum, data, UUID): sem isto a causa IAE cairia no 404 abaixo. */
+  @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+  public ResponseEntity<Map<String, Object>> handleTypeMismatch(
+      MethodArgumentTypeMismatchException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", OffsetDateTime.now().toString());
+    body.put("status", HttpStatus.BAD_REQUEST.value());
+    body.put("error", "Invalid value for parameter '" + ex.getName() + "': " + ex.getValue());
+    return ResponseEntity.badRequest().body(body);
+  }
+
+  @ExceptionHandler(ResponseStatusException.class)
+  public ResponseEntity<Map<String, Object>> handleResponseStatus(ResponseStatusException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", OffsetDateTime.now().toString());
+    body.put("status", ex.getStatusCode().value());
+    body.put("error", ex.getReason());
+    return ResponseEntity.status(ex.getStatusCode()).body(body);
+  }
+
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<Map<String, Object>> handleInvalidCursor(InvalidCursorException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", OffsetDateTime.now().toString());
+    body.put("status", HttpStatus.BAD_REQUEST.value());
+    body.put("error", ex.getMessage());
+    return ResponseEntity.badRequest().body(body);
+  }
+
+  @ExceptionHandler(FraudApiUnavailableException.class)
+  public ResponseEntity<Map<String, Object>> handleFraudApiUnavailable(
+      FraudApiUnavailableException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", OffsetDateTime.now().toString());
+    body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+    body.put("error", ex.getMessage());
+    body.put("reason", ex.getReason());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+  }
+
+  /** Conflito de concorrência otimista que sobreviveu ao ConflictRetry: o cliente pode repetir. */
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<Map<String, Object>> handleConflict(OptimisticLockingFailureException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", OffsetDateTime.now().toString());
+    body.put("status", HttpStatus.CONFLICT.value());
+    body.put("error", "Concurrent update conflict, please retry");
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+  }
+
   @ExceptionHandler(IllegalStateException.class)
   public ResponseEntity<Map<String, Object>> handleIllegalState(IllegalStateException ex) {
     Map<String, Object> body = new HashMap<>();
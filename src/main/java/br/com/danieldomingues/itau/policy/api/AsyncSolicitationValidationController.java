@@ -0,0 +1,31 @@
+package br.com.danieldomingues.itau.policy.api;
+
+import br.com.danieldomingues.itau.policy.api.dto.SolicitationResponse;
+import br.com.danieldomingues.itau.policy.service.AsyncFraudValidationService;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Versão assíncrona de {@link SolicitationValidationController} (fraud.api.async.enabled=true).
+ * Devolve um CompletableFuture: a thread do Tomcat é liberada enquanto a API de Fraudes responde.
+ */
+@RestController
+@RequestMapping("/solicitations")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "fraud.api.async", name = "enabled", havingValue = "true")
+public class AsyncSolicitationValidationController {
+
+  private final AsyncFraudValidationService asyncFraudValidationService;
+
+  @PostMapping(value = "/{id}/validate", produces = "application/json")
+  public CompletableFuture<ResponseEntity<SolicitationResponse>> validate(
+      @PathVariable("id") UUID id) {
+    return asyncFraudValidationService
+        .validate(id)
+        .thenApply(updated -> ResponseEntity.ok(SolicitationResponse.fromEntity(updated)));
+  }
+}
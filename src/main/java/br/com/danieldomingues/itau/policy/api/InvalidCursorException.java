@@ -0,0 +1,9 @@
+package br.com.danieldomingues.itau.policy.api;
+
+/** Token de paginação adulterado ou de outro formato: 400 pelo ApiExceptionHandler. */
+public class InvalidCursorException extends RuntimeException {
+
+  public InvalidCursorException(String cursor) {
+    super("Invalid cursor: " + cursor);
+  }
+}
@@ -0,0 +1,42 @@
+package br.com.danieldomingues.itau.policy.api;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor de continuação da listagem por cliente: a chave (createdAt, id) do último item da página,
+ * serializada como token opaco (base64url). O cliente só devolve o token; o formato pode mudar.
+ */
+record PageCursor(OffsetDateTime createdAt, UUID id) {
+
+  private static final char SEPARATOR = '|';
+
+  String encode() {
+    String raw = createdAt.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Null ou vazio = primeira página. */
+  static PageCursor decodeNullable(String token) {
+    return token == null || token.isBlank() ? null : decode(token);
+  }
+
+  static PageCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int sep = raw.indexOf(SEPARATOR);
+      if (sep < 0) {
+        throw new InvalidCursorException(token);
+      }
+      return new PageCursor(
+          OffsetDateTime.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException ex) {
+      throw new InvalidCursorException(token);
+    }
+  }
+}
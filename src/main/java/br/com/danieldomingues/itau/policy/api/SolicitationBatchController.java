@@ -0,0 +1,169 @@
+package br.com.danieldomingues.itau.policy.api;
+
+import br.com.danieldomingues.itau.policy.api.dto.BatchItemResult;
+import br.com.danieldomingues.itau.policy.api.dto.CreateSolicitationRequest;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.service.SolicitationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Criação em massa (arquivos de fim de dia dos parceiros).
+ *
+ * Lê o corpo em streaming, NDJSON (um objeto por linha) ou array JSON, item a item: valida com as
+ * mesmas regras de {@link CreateSolicitationRequest}, acumula até {@code chunk-size} itens e
+ * persiste os válidos do chunk numa transação ({@link SolicitationService#createAll}, INSERTs em
+ * batch).
+ * Devolve em NDJSON um {@link BatchItemResult} por item, na ordem de entrada, a cada chunk; a
+ * memória fica limitada ao chunk, qualquer que seja o tamanho do arquivo.
+ *
+ * Chunk que falha no banco é refeito item a item, para isolar o item ruim. JSON malformado
+ * interrompe a leitura: os itens anteriores já foram persistidos e o erro sai como última linha.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/solicitations")
+public class SolicitationBatchController {
+
+  private static final String NDJSON = "application/x-ndjson";
+
+  private final SolicitationService service;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final ObjectWriter resultWriter;
+  private final int chunkSize;
+
+  public SolicitationBatchController(
+      SolicitationService service,
+      ObjectMapper objectMapper,
+      Validator validator,
+      @Value("${policy.solicitations.batch.chunk-size:500}") int chunkSize) {
+    this.service = service;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.resultWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.chunkSize = Math.max(1, chunkSize);
+  }
+
+  private record Item(long index, CreateSolicitationRequest request, String error) {}
+
+  @PostMapping(
+      value = "/batch",
+      consumes = {NDJSON, "application/json"},
+      produces = NDJSON)
+  public void createBatch(InputStream body, HttpServletResponse response) throws IOException {
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(NDJSON);
+    OutputStream out = response.getOutputStream();
+
+    List<Item> chunk = new ArrayList<>(chunkSize);
+    long index = 0;
+    try (MappingIterator<JsonNode> items =
+        objectMapper.readerFor(JsonNode.class).readValues(body)) {
+      while (items.hasNextValue()) {
+        JsonNode node = items.nextValue();
+        chunk.add(parse(index++, node));
+        if (chunk.size() >= chunkSize) {
+          flush(chunk, out);
+        }
+      }
+      flush(chunk, out);
+    } catch (JsonProcessingException ex) {
+      flush(chunk, out);
+      write(out, BatchItemResult.failed(index, "Malformed JSON: " + ex.getOriginalMessage()));
+      out.flush();
+    }
+  }
+
+  private Item parse(long index, JsonNode node) {
+    CreateSolicitationRequest req;
+    try {
+      req = objectMapper.treeToValue(node, CreateSolicitationRequest.class);
+    } catch (JsonProcessingException | IllegalArgumentException ex) {
+      return new Item(index, null, "Invalid item: " + ex.getMessage());
+    }
+    Set<ConstraintViolation<CreateSolicitationRequest>> violations = validator.validate(req);
+    if (!violations.isEmpty()) {
+      return new Item(
+          index,
+          null,
+          violations.stream()
+              .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+              .sorted()
+              .collect(Collectors.joining("; ")));
+    }
+    return new Item(index, req, null);
+  }
+
+  private void flush(List<Item> chunk, OutputStream out) throws IOException {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    List<Item> valid = chunk.stream().filter(i -> i.error() == null).toList();
+    List<BatchItemResult> created = persist(valid);
+
+    int next = 0;
+    for (Item item : chunk) {
+      write(
+          out,
+          item.error() != null
+              ? BatchItemResult.failed(item.index(), item.error())
+              : created.get(next++));
+    }
+    out.flush();
+    chunk.clear();
+  }
+
+  private List<BatchItemResult> persist(List<Item> items) {
+    if (items.isEmpty()) {
+      return List.of();
+    }
+    try {
+      List<Solicitation> saved = service.createAll(items.stream().map(Item::request).toList());
+      List<BatchItemResult> out = new ArrayList<>(items.size());
+      for (int i = 0; i < items.size(); i++) {
+        out.add(created(items.get(i), saved.get(i)));
+      }
+      return out;
+    } catch (RuntimeException ex) {
+      log.warn(
+          "Batch chunk of {} failed, retrying item by item: {}", items.size(), ex.getMessage());
+      List<BatchItemResult> out = new ArrayList<>(items.size());
+      for (Item item : items) {
+        try {
+          out.add(created(item, service.create(item.request())));
+        } catch (RuntimeException itemEx) {
+          out.add(BatchItemResult.failed(item.index(), itemEx.getMessage()));
+        }
+      }
+      return out;
+    }
+  }
+
+  private static BatchItemResult created(Item item, Solicitation saved) {
+    return BatchItemResult.created(item.index(), saved.getId(), saved.getCreatedAt());
+  }
+
+  private void write(OutputStream out, BatchItemResult result) throws IOException {
+    resultWriter.writeValue(out, result);
+    out.write('\n');
+  }
+}
@@ -2,24 +2,51 @@ package br.com.danieldomingues.itau.policy.api;
 
 import br.com.danieldomingues.itau.policy.api.dto.CreateSolicitationRequest;
 import br.com.danieldomingues.itau.policy.api.dto.CreateSolicitationResponse;
+import br.com.danieldomingues.itau.policy.api.dto.MultiGetResponse;
 import br.com.danieldomingues.itau.policy.api.dto.SolicitationResponse;
+import br.com.danieldomingues.itau.policy.domain.Category;
 import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.repo.SolicitationFilter;
 import br.com.danieldomingues.itau.policy.service.SolicitationService;
 import jakarta.validation.Valid;
 import java.net.URI;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
 @RequestMapping(value = "/solicitations")
-@RequiredArgsConstructor
 public class SolicitationController {
 
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
   private final SolicitationService service;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+  private final int maxIds;
+
+  public SolicitationController(
+      SolicitationService service,
+      @Value("${policy.solicitations.page.default-size:50}") int defaultPageSize,
+      @Value("${policy.solicitations.page.max-size:200}") int maxPageSize,
+      @Value("${policy.solicitations.multi-get.max-ids:100}") int maxIds) {
+    this.service = service;
+    this.maxIds = Math.max(1, maxIds);
+    this.maxPageSize = Math.max(1, maxPageSize);
+    this.defaultPageSize = Math.max(1, Math.min(defaultPageSize, this.maxPageSize));
+  }
 
   @PostMapping(consumes = "application/json", produces = "application/json")
   public ResponseEntity<CreateSolicitationResponse> create(
@@ -46,16 +73,118 @@ public class SolicitationController {
         .orElseGet(() -> ResponseEntity.notFound().build());
   }
 
-  @GetMapping(produces = "application/json")
+  /**
+   * Multi-get para telas que mostram várias solicitações: até {@code max-ids} ids (repetidos ou
+   * separados por vírgula) em uma requisição e número constante de consultas. Ids inexistentes
+   * voltam em {@code missing} em vez de falhar o lote.
+   */
+  @GetMapping(
+      params = {"ids", "!customerId"},
+      produces = "application/json")
+  public ResponseEntity<MultiGetResponse> getByIds(@RequestParam("ids") List<UUID> ids) {
+    if (ids.size() > maxIds) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Too many ids: " + ids.size() + " (max " + maxIds + ")");
+    }
+    List<Solicitation> found = service.findAllByIds(ids);
+
+    Set<UUID> foundIds = found.stream().map(Solicitation::getId).collect(Collectors.toSet());
+    List<UUID> missing = ids.stream().distinct().filter(id -> !foundIds.contains(id)).toList();
+    return ResponseEntity.ok(
+        new MultiGetResponse(
+            found.stream().map(SolicitationResponse::fromEntity).toList(), missing));
+  }
+
+  /**
+   * Lista paginada por cursor (keyset em createdAt, id). O corpo continua sendo o array da página;
+   * havendo próxima, o token vem em {@code X-Next-Cursor} e a URL pronta em {@code Link: rel=next}.
+   * {@code limit} fora de [1, max-size] é ajustado para o intervalo.
+   */
+  @GetMapping(params = "customerId", produces = "application/json")
   public ResponseEntity<List<SolicitationResponse>> listByCustomer(
-      @RequestParam(value = "customerId") UUID customerId) {
+      @RequestParam(value = "customerId") UUID customerId,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+
+    PageCursor after = PageCursor.decodeNullable(cursor);
+    int size = pageSize(limit);
+    return page(
+        service.findPageByCustomerId(
+            customerId,
+            after == null ? null : after.createdAt(),
+            after == null ? null : after.id(),
+            size),
+        size);
+  }
+
+  /**
+   * Busca filtrada, paginada como a listagem por cliente. Todos os filtros são opcionais e
+   * combinados com AND; {@code active=true} restringe aos status em andamento e
+   * {@code [createdFrom, createdTo)} ao intervalo de criação.
+   */
+  @GetMapping(value = "/search", produces = "application/json")
+  public ResponseEntity<List<SolicitationResponse>> search(
+      @RequestParam(value = "customerId", required = false) UUID customerId,
+      @RequestParam(value = "status", required = false) Status status,
+      @RequestParam(value = "active", defaultValue = "false") boolean active,
+      @RequestParam(value = "category", required = false) Category category,
+      @RequestParam(value = "salesChannel", required = false) String salesChannel,
+      @RequestParam(value = "paymentMethod", required = false) String paymentMethod,
+      @RequestParam(value = "productId", required = false) String productId,
+      @RequestParam(value = "createdFrom", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          OffsetDateTime createdFrom,
+      @RequestParam(value = "createdTo", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          OffsetDateTime createdTo,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+
+    SolicitationFilter filter =
+        SolicitationFilter.builder()
+            .customerId(customerId)
+            .status(status)
+            .active(active)
+            .category(category)
+            .salesChannel(salesChannel)
+            .paymentMethod(paymentMethod)
+            .productId(productId)
+            .createdFrom(createdFrom)
+            .createdTo(createdTo)
+            .build();
+    PageCursor after = PageCursor.decodeNullable(cursor);
+    int size = pageSize(limit);
+    return page(
+        service.search(
+            filter,
+            after == null ? null : after.createdAt(),
+            after == null ? null : after.id(),
+            size),
+        size);
+  }
+
+  private int pageSize(Integer limit) {
+    return limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+  }
 
+  private ResponseEntity<List<SolicitationResponse>> page(Slice<Solicitation> page, int size) {
     List<SolicitationResponse> list =
-        service.findByCustomerId(customerId).stream()
-            .map(SolicitationResponse::fromEntity)
-            .toList();
+        page.getContent().stream().map(SolicitationResponse::fromEntity).toList();
 
-    return ResponseEntity.ok(list);
+    ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+    if (page.hasNext()) {
+      Solicitation last = page.getContent().get(page.getNumberOfElements() - 1);
+      String next = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+      URI nextUri =
+          ServletUriComponentsBuilder.fromCurrentRequest()
+              .replaceQueryParam("cursor", next)
+              .replaceQueryParam("limit", size)
+              .build()
+              .toUri();
+      ok.header(NEXT_CURSOR_HEADER, next)
+          .header(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+    }
+    return ok.body(list);
   }
 
   @DeleteMapping(value = "/{id}")
@@ -0,0 +1,115 @@
+package br.com.danieldomingues.itau.policy.api;
+
+import br.com.danieldomingues.itau.policy.api.dto.SolicitationResponse;
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.repo.SolicitationFilter;
+import br.com.danieldomingues.itau.policy.service.SolicitationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Exportação para os jobs de conciliação: todas as solicitações do filtro (status, categoria,
+ * intervalo de criação {@code [createdFrom, createdTo)}), em NDJSON, ordenadas por (createdAt,
+ * id).
+ *
+ * As linhas vêm do banco por cursor no servidor ({@code fetch-size} por ida ao banco) e cada
+ * chunk é escrito e enviado antes do próximo ser lido; as entidades são destacadas da sessão a
+ * cada chunk, então o heap não cresce com o número de linhas. Com {@code Accept-Encoding: gzip}
+ * a resposta sai comprimida.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/solicitations")
+public class SolicitationExportController {
+
+  private static final String NDJSON = "application/x-ndjson";
+
+  private final SolicitationService service;
+  private final ObjectWriter rowWriter;
+  private final int fetchSize;
+
+  public SolicitationExportController(
+      SolicitationService service,
+      ObjectMapper objectMapper,
+      @Value("${policy.solicitations.export.fetch-size:500}") int fetchSize) {
+    this.service = service;
+    this.rowWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.fetchSize = Math.max(1, fetchSize);
+  }
+
+  @GetMapping(value = "/export", produces = NDJSON)
+  public void export(
+      @RequestParam(value = "status", required = false) Status status,
+      @RequestParam(value = "category", required = false) Category category,
+      @RequestParam(value = "createdFrom", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          OffsetDateTime createdFrom,
+      @RequestParam(value = "createdTo", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          OffsetDateTime createdTo,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+      HttpServletResponse response)
+      throws IOException {
+    SolicitationFilter filter =
+        SolicitationFilter.builder()
+            .status(status)
+            .category(category)
+            .createdFrom(createdFrom)
+            .createdTo(createdTo)
+            .build();
+    boolean gzip =
+        acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(NDJSON);
+    response.setCharacterEncoding("UTF-8");
+    if (gzip) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+    OutputStream out =
+        gzip ? new GZIPOutputStream(response.getOutputStream(), true) : response.getOutputStream();
+    try {
+      long total = service.export(filter, fetchSize, chunk -> writeChunk(out, chunk));
+      log.info("Exported {} solicitations for {}", total, filter);
+    } catch (UncheckedIOException ex) {
+      // cliente desconectou no meio do download: não há mais resposta para corrigir
+      log.warn("Export aborted after client I/O failure: {}", ex.getMessage());
+      return;
+    }
+    if (gzip) {
+      ((GZIPOutputStream) out).finish();
+    }
+    out.flush();
+  }
+
+  private void writeChunk(OutputStream out, List<Solicitation> chunk) {
+    try {
+      for (Solicitation s : chunk) {
+        rowWriter.writeValue(out, SolicitationResponse.fromEntity(s));
+        out.write('\n');
+      }
+      out.flush();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
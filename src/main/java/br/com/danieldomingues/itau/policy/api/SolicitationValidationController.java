@@ -4,15 +4,22 @@ import br.com.danieldomingues.itau.policy.api.dto.SolicitationResponse;
 import br.com.danieldomingues.itau.policy.service.FraudValidationService;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 /**
  * Endpoint para acionar a validação de fraude e transitar o estado da solicitação.
+ * Com fraud.api.async.enabled=true, AsyncSolicitationValidationController assume a rota.
  */
 @RestController
 @RequestMapping("/solicitations")
 @RequiredArgsConstructor
+@ConditionalOnProperty(
+    prefix = "fraud.api.async",
+    name = "enabled",
+    havingValue = "false",
+    matchIfMissing = true)
 public class SolicitationValidationController {
 
   private final FraudValidationService fraudValidationService;
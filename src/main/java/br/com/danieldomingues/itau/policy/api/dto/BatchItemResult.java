@@ -0,0 +1,23 @@
+package br.com.danieldomingues.itau.policy.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Resultado de um item do POST /solicitations/batch: id criado ou erro, pela posição no lote. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(
+    long index,
+    UUID id,
+    @JsonFormat(shape = JsonFormat.Shape.STRING) OffsetDateTime createdAt,
+    String error) {
+
+  public static BatchItemResult created(long index, UUID id, OffsetDateTime createdAt) {
+    return new BatchItemResult(index, id, createdAt, null);
+  }
+
+  public static BatchItemResult failed(long index, String error) {
+    return new BatchItemResult(index, null, null, error);
+  }
+}
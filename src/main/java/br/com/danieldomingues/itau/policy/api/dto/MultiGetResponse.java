@@ -0,0 +1,7 @@
+package br.com.danieldomingues.itau.policy.api.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Resposta do GET /solicitations?ids=...: encontradas na ordem pedida e ids inexistentes. */
+public record MultiGetResponse(List<SolicitationResponse> items, List<UUID> missing) {}
@@ -0,0 +1,129 @@
+package br.com.danieldomingues.itau.policy.config;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.AsyncFraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.CachingFraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.FanOutFraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.FraudApiProperties;
+import br.com.danieldomingues.itau.policy.integration.fraud.FraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.FraudClientEndpoint;
+import br.com.danieldomingues.itau.policy.integration.fraud.HedgingFraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.HttpAsyncFraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.HttpFraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.MicroBatchingFraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.ResilientFraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.SingleFlightFraudClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Monta o FraudClient usado pelo domínio: HttpFraudClient envolvido pelos decorators
+ * habilitados em FraudApiProperties (cada um é opt-in, exceto a resiliência).
+ *
+ * Os decorators com pool próprio (fan-out, micro-batch, hedge) não são beans: o Spring só fecharia o mais
+ * externo da cadeia. Eles são fechados aqui no shutdown do contexto, de fora para dentro.
+ */
+@Configuration
+public class FraudClientConfig implements DisposableBean {
+
+  private final Deque<AutoCloseable> closeables = new ArrayDeque<>();
+
+  @Bean
+  @ConditionalOnProperty(
+      prefix = "fraud.api.resilience",
+      name = "enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  public ResilientFraudClient resilientFraudClient(
+      HttpFraudClient httpFraudClient, FraudApiProperties props, MeterRegistry meterRegistry) {
+    return new ResilientFraudClient(httpFraudClient, props.getResilience(), meterRegistry);
+  }
+
+  @Bean
+  @ConditionalOnProperty(
+      prefix = "fraud.api.resilience",
+      name = "enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  public FraudClientEndpoint fraudClientEndpoint(ResilientFraudClient resilientFraudClient) {
+    return new FraudClientEndpoint(resilientFraudClient);
+  }
+
+  @Bean
+  @Primary
+  public FraudClient fraudClient(
+      HttpFraudClient httpFraudClient,
+      ObjectProvider<ResilientFraudClient> resilientFraudClient,
+      FraudApiProperties props,
+      MeterRegistry meterRegistry) {
+    // Ordem (de fora para dentro): cache -> single-flight -> hedge -> micro-batch -> fan-out ->
+    // resiliência -> HTTP
+    FraudClient client = resilientFraudClient.getIfAvailable();
+    if (client == null) {
+      client = httpFraudClient;
+    }
+
+    // Sem endpoint bulk, cada item do lote passa sozinho pela resiliência (vaga própria)
+    client =
+        closeOnShutdown(
+            new FanOutFraudClient(
+                client, httpFraudClient::isBulkSupported, props.getBatch().getFanOutParallelism()));
+
+    if (props.getBatch().isEnabled()) {
+      client =
+          closeOnShutdown(new MicroBatchingFraudClient(client, props.getBatch(), meterRegistry));
+    }
+
+    if (props.getHedge().isEnabled()) {
+      client = closeOnShutdown(new HedgingFraudClient(client, props.getHedge(), meterRegistry));
+    }
+
+    if (props.getSingleFlight().isEnabled()) {
+      client = new SingleFlightFraudClient(client, meterRegistry);
+    }
+
+    if (props.getCache().isEnabled()) {
+      client = new CachingFraudClient(client, props.getCache(), meterRegistry);
+    }
+
+    return client;
+  }
+
+  /**
+   * AsyncFraudClient usado pelo AsyncFraudValidationService: o HttpAsyncFraudClient atrás do mesmo
+   * circuit breaker, bulkhead e limite AIMD do cliente síncrono, para o /validate assíncrono não
+   * sobrecarregar a API de Fraudes por fora das proteções. Cache, single-flight, hedge e retry
+   * são decorators síncronos e ficam de fora: todo check assíncrono vai à rede.
+   */
+  @Bean
+  @Primary
+  @ConditionalOnProperty(prefix = "fraud.api.async", name = "enabled", havingValue = "true")
+  public AsyncFraudClient asyncFraudClient(
+      HttpAsyncFraudClient httpAsyncFraudClient,
+      ObjectProvider<ResilientFraudClient> resilientFraudClient) {
+    ResilientFraudClient resilient = resilientFraudClient.getIfAvailable();
+    if (resilient == null) {
+      return httpAsyncFraudClient;
+    }
+    return request -> resilient.executeAsync(() -> httpAsyncFraudClient.checkAsync(request));
+  }
+
+  private <T extends FraudClient & AutoCloseable> T closeOnShutdown(T client) {
+    closeables.push(client);
+    return client;
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    // push empilha: o último criado (mais externo) fecha primeiro e ainda pode drenar no de dentro
+    while (!closeables.isEmpty()) {
+      closeables.pop().close();
+    }
+  }
+}
@@ -1,17 +1,30 @@
 package br.com.danieldomingues.itau.policy.config;
 
+import br.com.danieldomingues.itau.policy.messaging.PaymentMessage;
+import br.com.danieldomingues.itau.policy.messaging.SubscriptionMessage;
+import jakarta.validation.Validator;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 
 /**
  * Configuração de Exchange/Queues/Bindings e conversor JSON para AMQP.
@@ -107,7 +120,23 @@ public class PolicyEventsConfig {
   // ===== Conversor JSON + RabbitTemplate =====
   @Bean
   public Jackson2JsonMessageConverter jackson2JsonMessageConverter() {
-    return new Jackson2JsonMessageConverter();
+    Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+    // Entrada: o tipo vem do parâmetro do listener (PaymentMessage/SubscriptionMessage), sem
+    // exigir __TypeId__ do produtor; quando o header vem, usa ids versionados e não nomes de classe
+    DefaultJackson2JavaTypeMapper typeMapper =
+        (DefaultJackson2JavaTypeMapper) converter.getJavaTypeMapper();
+    typeMapper.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.INFERRED);
+    typeMapper.setIdClassMapping(
+        Map.of(
+            PaymentMessage.TYPE_ID, PaymentMessage.class,
+            SubscriptionMessage.TYPE_ID, SubscriptionMessage.class));
+    return converter;
+  }
+
+  // @Valid nos payloads dos listeners; falha de validação rejeita a mensagem sem requeue
+  @Bean
+  public RabbitListenerConfigurer rabbitListenerValidation(Validator validator) {
+    return registrar -> registrar.setValidator(new SpringValidatorAdapter(validator));
   }
 
   @Bean
@@ -117,6 +146,32 @@ public class PolicyEventsConfig {
     template.setMessageConverter(messageConverter);
     // Opcional: usar exchange/rk padrão se for publicar sem especificar toda hora
     template.setExchange(policyExchangeName);
+    // mensagem sem fila de destino volta para o publisher (CorrelationData.getReturned no relay)
+    template.setMandatory(true);
     return template;
   }
+
+  // ===== Listeners em lote (PaymentEventBatchListener/SubscriptionEventBatchListener) =====
+  // Mesma configuração do container padrão (spring.rabbitmq.listener.simple.*), mas entregando
+  // até batchSize mensagens por chamada. AUTO: o lote inteiro recebe ack quando o listener retorna
+  // (depois do commit) e volta para a fila se ele lançar.
+  @Bean
+  @ConditionalOnProperty(prefix = "policy.messaging.batch", name = "enabled", havingValue = "true")
+  public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+      SimpleRabbitListenerContainerFactoryConfigurer configurer,
+      ConnectionFactory connectionFactory,
+      @Value("${policy.messaging.batch.size:100}") int batchSize,
+      @Value("${policy.messaging.batch.receive-timeout:100ms}") Duration receiveTimeout) {
+    SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+    configurer.configure(factory, connectionFactory);
+    factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+    factory.setBatchListener(true);
+    factory.setConsumerBatchEnabled(true);
+    factory.setBatchSize(batchSize);
+    // lote parcial sai depois de receiveTimeout sem mensagem nova
+    factory.setReceiveTimeout(receiveTimeout.toMillis());
+    // prefetch menor que o lote faria cada lote esperar o timeout
+    factory.setPrefetchCount(Math.max(batchSize, 250));
+    return factory;
+  }
 }
@@ -0,0 +1,13 @@
+package br.com.danieldomingues.itau.policy.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita os jobs @Scheduled (ex.: ValidationClaimWorker, OutboxRelay). O pool do scheduler é
+ * dimensionado em spring.task.scheduling.pool.size (application.yml) com uma thread por job, para
+ * que um job lento não atrase os outros.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
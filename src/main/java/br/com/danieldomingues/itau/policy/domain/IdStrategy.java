@@ -0,0 +1,35 @@
+package br.com.danieldomingues.itau.policy.domain;
+
+import java.util.UUID;
+
+/**
+ * Estratégia de geração dos ids UUID das entidades marcadas com {@link TimeOrderedUuid}.
+ *
+ * Escolhida pela propriedade Hibernate {@value #SETTING} (em {@code spring.jpa.properties}):
+ * {@code uuid-v7} (padrão, {@link UuidV7}), {@code random} (UUID v4) ou o nome de uma classe que
+ * implemente esta interface com construtor sem argumentos.
+ */
+@FunctionalInterface
+public interface IdStrategy {
+
+  String SETTING = "policy.id.strategy";
+  String UUID_V7 = "uuid-v7";
+  String RANDOM = "random";
+
+  UUID next();
+
+  static IdStrategy of(String name) {
+    if (name == null || name.isBlank() || UUID_V7.equals(name)) {
+      return UuidV7::next;
+    }
+    if (RANDOM.equals(name)) {
+      return UUID::randomUUID;
+    }
+    try {
+      Class<?> type = Class.forName(name, true, Thread.currentThread().getContextClassLoader());
+      return (IdStrategy) type.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | ClassCastException ex) {
+      throw new IllegalArgumentException("Unknown id strategy: " + name, ex);
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package br.com.danieldomingues.itau.policy.domain;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+/** Gerador Hibernate por trás de {@link TimeOrderedUuid}; delega ao {@link IdStrategy} configurado. */
+public class IdStrategyGenerator implements BeforeExecutionGenerator {
+
+  private final IdStrategy strategy;
+
+  public IdStrategyGenerator(
+      TimeOrderedUuid config, Member member, CustomIdGeneratorCreationContext context) {
+    Object setting =
+        context
+            .getServiceRegistry()
+            .requireService(ConfigurationService.class)
+            .getSettings()
+            .get(IdStrategy.SETTING);
+    this.strategy = IdStrategy.of(setting == null ? null : setting.toString());
+  }
+
+  @Override
+  public Object generate(
+      SharedSessionContractImplementor session,
+      Object owner,
+      Object currentValue,
+      EventType eventType) {
+    return strategy.next();
+  }
+
+  @Override
+  public EnumSet<EventType> getEventTypes() {
+    return EventTypeSets.INSERT_ONLY;
+  }
+}
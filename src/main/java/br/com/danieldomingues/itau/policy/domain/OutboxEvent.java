@@ -0,0 +1,55 @@
+package br.com.danieldomingues.itau.policy.domain;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Evento de domínio aguardando publicação no RabbitMQ (outbox transacional).
+ *
+ * Gravado na mesma transação da mudança de status; o OutboxRelay publica e marca {@code sentAt}
+ * (ou {@code parkedAt}, esgotadas as tentativas).
+ * {@code payload} e {@code typeId} são o corpo e o header __TypeId__ exatamente como o
+ * Jackson2JsonMessageConverter os produz, então a mensagem na fila não muda de formato.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // exigido pelo JPA
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+  @Id @TimeOrderedUuid private UUID id;
+
+  @Column(nullable = false, length = 128)
+  private String routingKey;
+
+  @Column(nullable = false)
+  private String typeId;
+
+  @Column(nullable = false, columnDefinition = "text")
+  private String payload;
+
+  @Column(nullable = false)
+  private OffsetDateTime createdAt;
+
+  private OffsetDateTime sentAt;
+
+  // nacks/retornos/timeouts de confirm; ao atingir o máximo o evento é estacionado (parkedAt)
+  @Column(nullable = false)
+  @ColumnDefault("0")
+  private int attempts;
+
+  private OffsetDateTime parkedAt;
+
+  @PrePersist
+  void prePersist() {
+    if (createdAt == null) {
+      createdAt = OffsetDateTime.now();
+    }
+  }
+}
@@ -5,14 +5,11 @@ import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(
-    name = "solicitation",
-    indexes = {
-      @Index(name = "idx_solicitation_customer", columnList = "customerId"),
-      @Index(name = "idx_solicitation_status", columnList = "status")
-    })
+// Índices e constraints: db/migration (Flyway); ddl-auto=validate só confere tabelas e colunas
+@Table(name = "solicitation")
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // exigido pelo JPA
@@ -20,7 +17,14 @@ import lombok.*;
 @Builder
 public class Solicitation {
 
-  @Id @GeneratedValue private UUID id;
+  @Id @TimeOrderedUuid private UUID id;
+
+  // Concorrência otimista: escritas via save() de uma versão desatualizada falham (409/retry).
+  // Primitivo para o Spring Data continuar decidindo persist x merge pelo id.
+  @Version
+  @Column(nullable = false)
+  @ColumnDefault("0")
+  private long version;
 
   @Column(nullable = false)
   private UUID customerId;
@@ -70,6 +74,10 @@ public class Solicitation {
 
   private OffsetDateTime finishedAt;
 
+  // claimed_by/claimed_until (claim da fila de validação multi-nó) ficam fora do mapeamento: só o
+  // SQL nativo do SolicitationRepository os toca. Mapeados, o UPDATE de linha inteira do save()
+  // regravaria o claim lido e sobrescreveria o de outro nó (o claim não incrementa a versão).
+
   @OneToMany(mappedBy = "solicitation", cascade = CascadeType.ALL, orphanRemoval = true)
   @OrderBy("timestamp ASC")
   @Builder.Default
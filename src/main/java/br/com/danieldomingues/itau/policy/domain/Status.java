@@ -6,5 +6,10 @@ public enum Status {
   PENDENTE,
   APROVADO,
   REJEITADO,
-  CANCELADA
+  CANCELADA;
+
+  /** Status terminais: encerram a solicitação (finishedAt) e não admitem nova transição. */
+  public boolean isFinal() {
+    return this == APROVADO || this == REJEITADO || this == CANCELADA;
+  }
 }
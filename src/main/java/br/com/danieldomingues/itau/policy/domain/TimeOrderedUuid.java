@@ -0,0 +1,19 @@
+package br.com.danieldomingues.itau.policy.domain;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Id UUID gerado na aplicação antes do INSERT, ordenado por tempo ({@link UuidV7}) por padrão.
+ * Substitui {@code @GeneratedValue} nas PKs UUID: sem round trip ao banco e com inserts
+ * sequenciais no índice. O esquema vem do {@link IdStrategy} configurado.
+ */
+@IdGeneratorType(IdStrategyGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TimeOrderedUuid {}
@@ -0,0 +1,51 @@
+package br.com.danieldomingues.itau.policy.domain;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * UUID versão 7 (RFC 9562): 48 bits de epoch em ms + 74 bits aleatórios.
+ *
+ * Ids gerados em sequência são crescentes, então inserts caem no fim do índice da PK em vez de
+ * espalhar por toda a B-tree (como o v4). Dentro do mesmo ms, os 12 bits de rand_a viram contador
+ * (método 1 da RFC) para manter a ordem; se o contador estourar, o timestamp avança 1 ms. O
+ * restante vem de SecureRandom: o id continua imprevisível, mas expõe o instante da criação.
+ */
+public final class UuidV7 {
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+  private static final int MAX_COUNTER = 0xFFF;
+
+  private static long lastMillis;
+  private static int counter;
+
+  private UuidV7() {}
+
+  public static UUID next() {
+    return next(System.currentTimeMillis());
+  }
+
+  static synchronized UUID next(long nowMillis) {
+    if (nowMillis > lastMillis) {
+      lastMillis = nowMillis;
+      // começa na metade baixa: sobra espaço para incrementar no mesmo ms
+      counter = RANDOM.nextInt(MAX_COUNTER / 2);
+    } else if (++counter > MAX_COUNTER) {
+      // relógio parado/voltou ou contador esgotado: avança o timestamp lógico
+      lastMillis++;
+      counter = 0;
+    }
+    long msb = (lastMillis << 16) | (0x7L << 12) | counter;
+    long lsb = (RANDOM.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+    return new UUID(msb, lsb);
+  }
+
+  /** Instante embutido num UUIDv7. */
+  public static Instant timestampOf(UUID uuid) {
+    if (uuid.version() != 7) {
+      throw new IllegalArgumentException("Not a UUIDv7: " + uuid);
+    }
+    return Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16);
+  }
+}
@@ -0,0 +1,79 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concorrência adaptativo (AIMD: additive increase, multiplicative decrease).
+ *
+ * Sucesso rápido com o limite em uso aumenta o limite em 1; falha transitória ou latência acima
+ * de {@code latencyThreshold} multiplica o limite por {@code backoffRatio}. Chamadas acima do
+ * limite atual são recusadas na hora.
+ */
+public class AimdLimiter {
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final long latencyThresholdNanos;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile double limit;
+
+  public AimdLimiter(FraudApiProperties.LimiterProps props) {
+    this.minLimit = Math.max(1, props.getMinLimit());
+    this.maxLimit = Math.max(minLimit, props.getMaxLimit());
+    this.backoffRatio = props.getBackoffRatio();
+    this.latencyThresholdNanos = props.getLatencyThreshold().toNanos();
+    this.limit = Math.min(maxLimit, Math.max(minLimit, props.getInitialLimit()));
+  }
+
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= (int) limit) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /** Chamada concluída com sucesso em {@code durationNanos}. */
+  public void onSuccess(long durationNanos) {
+    int current = inFlight.getAndDecrement();
+    if (durationNanos > latencyThresholdNanos) {
+      decrease();
+    } else if (current * 2 >= limit) {
+      // só cresce se o limite está de fato sendo usado
+      increase();
+    }
+  }
+
+  /** Falha transitória (timeout, 5xx, I/O): sinal de sobrecarga. */
+  public void onDropped() {
+    inFlight.decrementAndGet();
+    decrease();
+  }
+
+  /** Falha que não indica sobrecarga (ex.: 4xx): só libera a vaga. */
+  public void onIgnored() {
+    inFlight.decrementAndGet();
+  }
+
+  private synchronized void increase() {
+    limit = Math.min(maxLimit, limit + 1);
+  }
+
+  private synchronized void decrease() {
+    limit = Math.max(minLimit, limit * backoffRatio);
+  }
+
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+}
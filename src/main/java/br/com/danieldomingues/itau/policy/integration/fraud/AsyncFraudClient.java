@@ -0,0 +1,19 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante não bloqueante do {@link FraudClient}.
+ * Nenhuma thread fica parada enquanto a API de Fraudes responde.
+ */
+public interface AsyncFraudClient {
+
+  /**
+   * Dispara a verificação de fraude.
+   * @param request dados mínimos (customerId, productId)
+   * @return future completado com a classificação, ou com IllegalStateException em caso de falha
+   */
+  CompletableFuture<FraudCheckResponse> checkAsync(FraudCheckRequest request);
+}
@@ -0,0 +1,43 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/** Limite fixo de chamadas simultâneas, com espera curta por vaga. */
+public class Bulkhead {
+
+  private final int maxConcurrent;
+  private final Duration maxWait;
+  private final Semaphore permits;
+
+  public Bulkhead(FraudApiProperties.BulkheadProps props) {
+    this.maxConcurrent = Math.max(1, props.getMaxConcurrent());
+    this.maxWait = props.getMaxWait();
+    this.permits = new Semaphore(maxConcurrent);
+  }
+
+  public boolean tryAcquire() {
+    if (maxWait.isZero() || maxWait.isNegative()) {
+      return permits.tryAcquire();
+    }
+    try {
+      return permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  public void release() {
+    permits.release();
+  }
+
+  public int getAvailable() {
+    return permits.availablePermits();
+  }
+
+  public int getMaxConcurrent() {
+    return maxConcurrent;
+  }
+}
@@ -0,0 +1,166 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Decorator de {@link FraudClient} com cache LRU em memória.
+ *
+ * A chave é o próprio {@link FraudCheckRequest} (customerId + productId). Cada resposta fica
+ * em cache pelo TTL da sua classificação, de modo que REGULAR/PREFERENTIAL podem viver mais
+ * que NO_INFO. Respostas nulas ou sem classificação não são cacheadas, nem falhas.
+ *
+ * Métricas: fraud.client.cache.requests{result=hit|miss}, fraud.client.cache.evictions,
+ * fraud.client.cache.size e fraud.client.cache.hit.ratio.
+ */
+public class CachingFraudClient implements FraudClient {
+
+  private final FraudClient delegate;
+  private final int maxSize;
+  private final Duration defaultTtl;
+  private final Map<String, Duration> ttlByClassification = new HashMap<>();
+  private final Clock clock;
+
+  // accessOrder=true -> iteração do menos para o mais recentemente usado (LRU)
+  private final LinkedHashMap<FraudCheckRequest, CachedResponse> entries;
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+
+  public CachingFraudClient(
+      FraudClient delegate, FraudApiProperties.Cache props, MeterRegistry registry) {
+    this(delegate, props, registry, Clock.systemUTC());
+  }
+
+  CachingFraudClient(
+      FraudClient delegate, FraudApiProperties.Cache props, MeterRegistry registry, Clock clock) {
+    if (props.getMaxSize() <= 0) {
+      throw new IllegalArgumentException("fraud.api.cache.max-size must be > 0");
+    }
+    this.delegate = delegate;
+    this.maxSize = props.getMaxSize();
+    this.defaultTtl = props.getDefaultTtl() != null ? props.getDefaultTtl() : Duration.ZERO;
+    props.getTtl().forEach((k, v) -> ttlByClassification.put(normalize(k), v));
+    this.clock = clock;
+    this.hits =
+        Counter.builder("fraud.client.cache.requests").tag("result", "hit").register(registry);
+    this.misses =
+        Counter.builder("fraud.client.cache.requests").tag("result", "miss").register(registry);
+    this.evictions = Counter.builder("fraud.client.cache.evictions").register(registry);
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<FraudCheckRequest, CachedResponse> eldest) {
+            boolean evict = size() > maxSize;
+            if (evict) {
+              evictions.increment();
+            }
+            return evict;
+          }
+        };
+
+    Gauge.builder("fraud.client.cache.size", this, CachingFraudClient::size).register(registry);
+    Gauge.builder("fraud.client.cache.hit.ratio", this, CachingFraudClient::hitRatio)
+        .register(registry);
+  }
+
+  @Override
+  public FraudCheckResponse check(FraudCheckRequest request) {
+    FraudCheckResponse cached = lookup(request, clock.instant());
+    if (cached != null) {
+      return cached;
+    }
+
+    // Chamada remota fora do lock: não serializa clientes com chaves diferentes
+    FraudCheckResponse response = delegate.check(request);
+    store(request, response);
+    return response;
+  }
+
+  /** Hits saem do cache; só os misses vão ao delegate, em um único checkAll. */
+  @Override
+  public List<FraudCheckResponse> checkAll(List<FraudCheckRequest> requests) {
+    Instant now = clock.instant();
+    List<FraudCheckResponse> out = new ArrayList<>(requests.size());
+    List<Integer> missIdx = new ArrayList<>();
+    for (FraudCheckRequest request : requests) {
+      FraudCheckResponse cached = lookup(request, now);
+      if (cached == null) {
+        missIdx.add(out.size());
+      }
+      out.add(cached);
+    }
+    if (missIdx.isEmpty()) {
+      return out;
+    }
+
+    List<FraudCheckRequest> missing = missIdx.stream().map(requests::get).toList();
+    List<FraudCheckResponse> fetched = delegate.checkAll(missing);
+    for (int i = 0; i < missIdx.size(); i++) {
+      store(missing.get(i), fetched.get(i));
+      out.set(missIdx.get(i), fetched.get(i));
+    }
+    return out;
+  }
+
+  private FraudCheckResponse lookup(FraudCheckRequest request, Instant now) {
+    synchronized (entries) {
+      CachedResponse cached = entries.get(request);
+      if (cached != null) {
+        if (cached.expiresAt().isAfter(now)) {
+          hits.increment();
+          return cached.response();
+        }
+        entries.remove(request);
+      }
+    }
+    misses.increment();
+    return null;
+  }
+
+  private void store(FraudCheckRequest request, FraudCheckResponse response) {
+    Duration ttl = ttlFor(response);
+    if (!ttl.isZero() && !ttl.isNegative()) {
+      synchronized (entries) {
+        entries.put(request, new CachedResponse(response, clock.instant().plus(ttl)));
+      }
+    }
+  }
+
+  int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  double hitRatio() {
+    double total = hits.count() + misses.count();
+    return total == 0 ? 0.0 : hits.count() / total;
+  }
+
+  private Duration ttlFor(FraudCheckResponse response) {
+    if (response == null || response.getClassification() == null) {
+      return Duration.ZERO;
+    }
+    return ttlByClassification.getOrDefault(normalize(response.getClassification()), defaultTtl);
+  }
+
+  private static String normalize(String classification) {
+    return classification.trim().toUpperCase(Locale.ROOT);
+  }
+
+  private record CachedResponse(FraudCheckResponse response, Instant expiresAt) {}
+}
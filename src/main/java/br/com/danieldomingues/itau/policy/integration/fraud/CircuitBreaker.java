@@ -0,0 +1,134 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Circuit breaker por contagem: janela deslizante das últimas {@code windowSize} chamadas.
+ *
+ * CLOSED: tudo passa; com ao menos {@code minimumCalls} na janela e taxa de falhas (erros +
+ * chamadas lentas) >= limiar, abre. OPEN: tudo é recusado até {@code openDuration}. HALF_OPEN:
+ * libera {@code halfOpenProbes} sondas; todas com sucesso fecham o circuito, uma falha reabre.
+ */
+public class CircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final int failureRateThreshold;
+  private final long slowCallNanos;
+  private final int minimumCalls;
+  private final Duration openDuration;
+  private final int halfOpenProbes;
+  private final Clock clock;
+
+  private State state = State.CLOSED;
+  private final boolean[] window;
+  private int next;
+  private int recorded;
+  private int failures;
+  private Instant openedAt;
+  private int probesInFlight;
+  private int probeSuccesses;
+
+  public CircuitBreaker(FraudApiProperties.CircuitBreakerProps props, Clock clock) {
+    this.failureRateThreshold = props.getFailureRateThreshold();
+    this.slowCallNanos = props.getSlowCallThreshold().toNanos();
+    this.minimumCalls = Math.max(1, props.getMinimumCalls());
+    this.openDuration = props.getOpenDuration();
+    this.halfOpenProbes = Math.max(1, props.getHalfOpenProbes());
+    this.clock = clock;
+    this.window = new boolean[Math.max(minimumCalls, props.getWindowSize())];
+  }
+
+  /** @return true se a chamada pode seguir; em HALF_OPEN consome uma sonda */
+  public synchronized boolean tryAcquirePermission() {
+    if (state == State.OPEN) {
+      if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+        return false;
+      }
+      state = State.HALF_OPEN;
+      probesInFlight = 0;
+      probeSuccesses = 0;
+    }
+    if (state == State.HALF_OPEN) {
+      if (probesInFlight >= halfOpenProbes) {
+        return false;
+      }
+      probesInFlight++;
+    }
+    return true;
+  }
+
+  /** Devolve uma permissão que não chegou a virar chamada (ex.: recusada pelo bulkhead). */
+  public synchronized void releasePermission() {
+    if (state == State.HALF_OPEN && probesInFlight > 0) {
+      probesInFlight--;
+    }
+  }
+
+  public synchronized void onSuccess(long durationNanos) {
+    onResult(durationNanos >= slowCallNanos);
+  }
+
+  public synchronized void onError() {
+    onResult(true);
+  }
+
+  private void onResult(boolean failure) {
+    if (state == State.HALF_OPEN) {
+      if (failure) {
+        open();
+      } else if (++probeSuccesses >= halfOpenProbes) {
+        close();
+      }
+      return;
+    }
+    if (state == State.OPEN) {
+      return; // chamada iniciada antes de abrir; não altera o estado
+    }
+
+    if (recorded == window.length) {
+      if (window[next]) {
+        failures--;
+      }
+    } else {
+      recorded++;
+    }
+    window[next] = failure;
+    if (failure) {
+      failures++;
+    }
+    next = (next + 1) % window.length;
+
+    if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+      open();
+    }
+  }
+
+  private void open() {
+    state = State.OPEN;
+    openedAt = clock.instant();
+  }
+
+  private void close() {
+    state = State.CLOSED;
+    next = 0;
+    recorded = 0;
+    failures = 0;
+  }
+
+  public synchronized State getState() {
+    // OPEN vencido ainda aparece como OPEN até a próxima chamada pedir permissão
+    return state;
+  }
+
+  /** Percentual de falhas na janela atual (0 se vazia). */
+  public synchronized double getFailureRate() {
+    return recorded == 0 ? 0 : failures * 100.0 / recorded;
+  }
+}
@@ -0,0 +1,72 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Decorator de {@link FraudClient} que faz o fan-out paralelo de {@link #checkAll} quando a API
+ * de Fraudes não tem endpoint bulk.
+ *
+ * Fica acima do {@link ResilientFraudClient}: cada item é um {@link FraudClient#check} próprio e
+ * passa pelo circuit breaker, pelo bulkhead e pelo limite AIMD. Abaixo dele, um lote de 50 viraria
+ * 50 requests concorrentes ocupando uma única vaga. Com bulk disponível o lote segue inteiro para
+ * o delegate.
+ */
+public class FanOutFraudClient implements FraudClient, AutoCloseable {
+
+  private final FraudClient delegate;
+  private final BooleanSupplier bulkSupported;
+  private final ThreadPoolExecutor executor;
+
+  public FanOutFraudClient(FraudClient delegate, BooleanSupplier bulkSupported, int parallelism) {
+    this.delegate = delegate;
+    this.bulkSupported = bulkSupported;
+    // Sem threads ociosas: cria sob demanda até o limite; saturado, o chamador executa
+    this.executor =
+        new ThreadPoolExecutor(
+            0,
+            Math.max(1, parallelism),
+            30,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new CustomizableThreadFactory("fraud-fanout-"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  @Override
+  public FraudCheckResponse check(FraudCheckRequest request) {
+    return delegate.check(request);
+  }
+
+  @Override
+  public List<FraudCheckResponse> checkAll(List<FraudCheckRequest> requests) {
+    if (requests.size() <= 1 || bulkSupported.getAsBoolean()) {
+      return delegate.checkAll(requests);
+    }
+    List<CompletableFuture<FraudCheckResponse>> futures =
+        requests.stream()
+            .map(r -> CompletableFuture.supplyAsync(() -> delegate.check(r), executor))
+            .toList();
+    try {
+      return futures.stream().map(CompletableFuture::join).toList();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Failed to call Fraud API", ex.getCause());
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+}
@@ -1,6 +1,8 @@
 package br.com.danieldomingues.itau.policy.integration.fraud;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -15,6 +17,37 @@ import org.springframework.stereotype.Component;
  *     base-url: http://localhost:8082
  *     connect-timeout: 2s
  *     read-timeout: 5s
+ *     cache:
+ *       enabled: true
+ *       max-size: 10000
+ *       default-ttl: 1m
+ *       ttl:
+ *         REGULAR: 10m
+ *         NO_INFO: 30s
+ *     single-flight:
+ *       enabled: true
+ *     async:
+ *       enabled: true
+ *       max-connections: 50
+ *     batch:
+ *       enabled: true
+ *       max-size: 50
+ *       max-wait: 10ms
+ *     hedge:
+ *       enabled: true
+ *       percentile: 0.95
+ *       max-hedge-ratio: 0.05
+ *     resilience:
+ *       enabled: true
+ *       circuit-breaker:
+ *         failure-rate-threshold: 50
+ *         open-duration: 10s
+ *       bulkhead:
+ *         max-concurrent: 20
+ *       limiter:
+ *         max-limit: 50
+ *       retry:
+ *         max-attempts: 2
  */
 @Getter
 @Setter
@@ -30,4 +63,212 @@ public class FraudApiProperties {
 
   /** Timeout de leitura HTTP. */
   private Duration readTimeout = Duration.ofSeconds(5);
+
+  /** Cache local de classificações (opt-in). */
+  private Cache cache = new Cache();
+
+  /** Coalescência de chamadas idênticas em voo (opt-in). */
+  private SingleFlight singleFlight = new SingleFlight();
+
+  /** Cliente assíncrono (AsyncFraudClient) e endpoint de validação não bloqueante (opt-in). */
+  private Async async = new Async();
+
+  /** Micro-batching de verificações em chamadas bulk (opt-in). */
+  private Batch batch = new Batch();
+
+  /** Requisições hedged: segunda chamada idêntica quando a primeira passa do percentil (opt-in). */
+  private Hedge hedge = new Hedge();
+
+  /** Circuit breaker, bulkhead, limite adaptativo e orçamento de retries em volta do HTTP. */
+  private Resilience resilience = new Resilience();
+
+  @Getter
+  @Setter
+  public static class Cache {
+
+    /** Liga o decorator de cache na frente do cliente HTTP. */
+    private boolean enabled = false;
+
+    /** Número máximo de entradas; acima disso remove a menos usada recentemente (LRU). */
+    private int maxSize = 10_000;
+
+    /** TTL para classificações sem entrada em {@link #ttl}. Zero desliga o cache delas. */
+    private Duration defaultTtl = Duration.ofMinutes(1);
+
+    /** TTL por classificação (REGULAR, PREFERENTIAL, HIGH_RISK, NO_INFO). */
+    private Map<String, Duration> ttl = new LinkedHashMap<>();
+  }
+
+  @Getter
+  @Setter
+  public static class SingleFlight {
+
+    /** Chamadas concorrentes com o mesmo FraudCheckRequest compartilham um único HTTP. */
+    private boolean enabled = false;
+  }
+
+  @Getter
+  @Setter
+  public static class Async {
+
+    /** Cria o HttpAsyncFraudClient e troca o endpoint /validate pela versão assíncrona. */
+    private boolean enabled = false;
+
+    /** Conexões máximas no pool (todas as rotas). */
+    private int maxConnections = 50;
+
+    /** Conexões máximas por rota (host da API de Fraudes). */
+    private int maxConnectionsPerRoute = 50;
+
+    /** Tempo máximo aguardando uma conexão livre do pool. */
+    private Duration poolAcquireTimeout = Duration.ofSeconds(1);
+
+    /** Conexões ociosas além deste tempo são fechadas. */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /** Tempo de vida máximo de uma conexão keep-alive. */
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+
+    /** Threads do reactor de I/O. */
+    private int ioThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+  }
+
+  @Getter
+  @Setter
+  public static class Batch {
+
+    /** Liga o MicroBatchingFraudClient: checks concorrentes viram uma chamada bulk. */
+    private boolean enabled = false;
+
+    /** Tamanho máximo de um lote; ao atingir, o lote é enviado na hora. */
+    private int maxSize = 50;
+
+    /** Espera máxima do primeiro item de um lote antes do envio. */
+    private Duration maxWait = Duration.ofMillis(10);
+
+    /** Lotes enviados em paralelo (threads de flush). */
+    private int flushThreads = 4;
+
+    /** Caminho do endpoint bulk; se o remoto responder 404/405, cai no fan-out paralelo. */
+    private String bulkPath = "/fraud/check/bulk";
+
+    /**
+     * Paralelismo do fan-out usado quando não há endpoint bulk (FanOutFraudClient). Cada item
+     * ainda ocupa uma vaga do bulkhead e do limite AIMD.
+     */
+    private int fanOutParallelism = 8;
+  }
+
+  @Getter
+  @Setter
+  public static class Hedge {
+
+    /** Liga o HedgingFraudClient. */
+    private boolean enabled = false;
+
+    /** Percentil da latência observada usado como atraso antes do hedge (ex.: 0.95 = p95). */
+    private double percentile = 0.95;
+
+    /** Atraso usado enquanto não há {@link #minSamples} amostras. */
+    private Duration initialDelay = Duration.ofMillis(200);
+
+    /** Piso do atraso, para não duplicar chamadas rápidas. */
+    private Duration minDelay = Duration.ofMillis(10);
+
+    /** Amostras mínimas antes de usar o percentil. */
+    private int minSamples = 100;
+
+    /** Latências recentes consideradas no percentil. */
+    private int windowSize = 1000;
+
+    /** Fração máxima do tráfego que pode gerar hedge. */
+    private double maxHedgeRatio = 0.05;
+
+    /** Chamadas simultâneas (primárias + hedges) no pool do hedging; acima disso não há hedge. */
+    private int maxConcurrent = 64;
+  }
+
+  @Getter
+  @Setter
+  public static class Resilience {
+
+    /** Liga o ResilientFraudClient em volta do HttpFraudClient. */
+    private boolean enabled = true;
+
+    private CircuitBreakerProps circuitBreaker = new CircuitBreakerProps();
+    private BulkheadProps bulkhead = new BulkheadProps();
+    private LimiterProps limiter = new LimiterProps();
+    private RetryProps retry = new RetryProps();
+  }
+
+  @Getter
+  @Setter
+  public static class CircuitBreakerProps {
+
+    /** Percentual de falhas (incluindo chamadas lentas) na janela que abre o circuito. */
+    private int failureRateThreshold = 50;
+
+    /** Chamadas acima deste tempo contam como falha. */
+    private Duration slowCallThreshold = Duration.ofSeconds(2);
+
+    /** Tamanho da janela deslizante (últimas N chamadas). */
+    private int windowSize = 20;
+
+    /** Mínimo de chamadas na janela antes de avaliar a taxa de falhas. */
+    private int minimumCalls = 10;
+
+    /** Tempo em OPEN antes de liberar sondas (HALF_OPEN). */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    /** Sondas em HALF_OPEN; todas com sucesso fecham o circuito, uma falha reabre. */
+    private int halfOpenProbes = 3;
+  }
+
+  @Getter
+  @Setter
+  public static class BulkheadProps {
+
+    /** Chamadas simultâneas máximas à API de Fraudes. */
+    private int maxConcurrent = 20;
+
+    /** Espera máxima por uma vaga no bulkhead; zero rejeita na hora. */
+    private Duration maxWait = Duration.ofMillis(50);
+  }
+
+  @Getter
+  @Setter
+  public static class LimiterProps {
+
+    /** Limite inicial de concorrência (AIMD). */
+    private int initialLimit = 10;
+
+    private int minLimit = 1;
+
+    private int maxLimit = 50;
+
+    /** Fator multiplicativo aplicado ao limite em falha ou latência alta. */
+    private double backoffRatio = 0.9;
+
+    /** Latência acima da qual o limite é reduzido mesmo com sucesso. */
+    private Duration latencyThreshold = Duration.ofSeconds(1);
+  }
+
+  @Getter
+  @Setter
+  public static class RetryProps {
+
+    /** Tentativas totais por chamada (1 = sem retry). Só falhas transitórias são repetidas. */
+    private int maxAttempts = 2;
+
+    /** Backoff base (exponencial com jitter completo). */
+    private Duration baseBackoff = Duration.ofMillis(50);
+
+    private Duration maxBackoff = Duration.ofMillis(500);
+
+    /** Fração de chamadas que podem virar retry (cada chamada deposita este valor no orçamento). */
+    private double budgetRatio = 0.1;
+
+    /** Saldo máximo acumulado do orçamento de retries. */
+    private int budgetMaxTokens = 10;
+  }
 }
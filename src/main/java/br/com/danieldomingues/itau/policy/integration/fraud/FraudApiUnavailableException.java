@@ -0,0 +1,20 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+/**
+ * Chamada à API de Fraudes recusada localmente (circuito aberto, bulkhead cheio ou limite de
+ * concorrência atingido), sem tocar a rede. Mapeada para 503 na API.
+ */
+public class FraudApiUnavailableException extends IllegalStateException {
+
+  private final String reason;
+
+  public FraudApiUnavailableException(String reason, String message) {
+    super(message);
+    this.reason = reason;
+  }
+
+  /** circuit_open, bulkhead_full ou concurrency_limit. */
+  public String getReason() {
+    return reason;
+  }
+}
@@ -2,6 +2,7 @@ package br.com.danieldomingues.itau.policy.integration.fraud;
 
 import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
 import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import java.util.List;
 
 /**
  * Abstração do cliente da API de Fraudes.
@@ -15,4 +16,13 @@ public interface FraudClient {
    * @return classificação retornada pelo serviço de fraudes
    */
   FraudCheckResponse check(FraudCheckRequest request);
+
+  /**
+   * Verifica vários requests de uma vez.
+   * Implementação padrão: um {@link #check} por item, em sequência.
+   * @return respostas na mesma ordem (e tamanho) de {@code requests}
+   */
+  default List<FraudCheckResponse> checkAll(List<FraudCheckRequest> requests) {
+    return requests.stream().map(this::check).toList();
+  }
 }
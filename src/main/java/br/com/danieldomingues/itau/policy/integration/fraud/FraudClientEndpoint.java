@@ -0,0 +1,21 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/** GET /actuator/fraudclient: estado do circuit breaker, limites e recusas do cliente de fraudes. */
+@Endpoint(id = "fraudclient")
+public class FraudClientEndpoint {
+
+  private final ResilientFraudClient client;
+
+  public FraudClientEndpoint(ResilientFraudClient client) {
+    this.client = client;
+  }
+
+  @ReadOperation
+  public Map<String, Object> fraudClient() {
+    return client.snapshot();
+  }
+}
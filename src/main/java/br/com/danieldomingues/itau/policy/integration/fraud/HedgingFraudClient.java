@@ -0,0 +1,242 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Decorator de {@link FraudClient} que corta a cauda de latência com requisições hedged.
+ *
+ * O check roda no pool do hedging; se não responder dentro do atraso (percentil configurado das
+ * latências recentes, com piso em {@code minDelay}), uma segunda chamada idêntica é disparada e
+ * vence quem responder primeiro com sucesso. A perdedora é cancelada (interrupção da thread; o
+ * resultado dela é descartado). Hedges são limitados a {@code maxHedgeRatio} do tráfego por um
+ * balde de tokens. Falha da primária antes do atraso é propagada sem hedge.
+ *
+ * Métricas: fraud.client.hedge.requests{type=primary|hedge}, fraud.client.hedge.wins,
+ * fraud.client.hedge.skipped{reason}, fraud.client.hedge.rate e fraud.client.hedge.delay.
+ */
+public class HedgingFraudClient implements FraudClient, AutoCloseable {
+
+  private final FraudClient delegate;
+  private final double percentile;
+  private final long initialDelayNanos;
+  private final long minDelayNanos;
+  private final int minSamples;
+  private final double ratio;
+  private final double maxTokens;
+  private final ThreadPoolExecutor executor;
+
+  // janela circular de latências (ns) e atraso recalculado a cada recomputeEvery amostras
+  private final long[] samples;
+  private final int recomputeEvery;
+  private int nextSample;
+  private int sampleCount;
+  private int sinceRecompute;
+  private volatile long delayNanos;
+
+  private double tokens;
+
+  private final Counter primaries;
+  private final Counter hedges;
+  private final Counter wins;
+  private final Counter skippedBudget;
+  private final Counter skippedSaturated;
+
+  public HedgingFraudClient(
+      FraudClient delegate, FraudApiProperties.Hedge props, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.percentile = Math.min(1.0, Math.max(0.0, props.getPercentile()));
+    this.initialDelayNanos = props.getInitialDelay().toNanos();
+    this.minDelayNanos = props.getMinDelay().toNanos();
+    this.minSamples = Math.max(1, props.getMinSamples());
+    this.ratio = props.getMaxHedgeRatio();
+    this.maxTokens = Math.max(1, ratio * 100);
+    this.samples = new long[Math.max(minSamples, props.getWindowSize())];
+    this.recomputeEvery = Math.max(1, samples.length / 10);
+    this.delayNanos = Math.max(minDelayNanos, initialDelayNanos);
+
+    CustomizableThreadFactory threads = new CustomizableThreadFactory("fraud-hedge-");
+    threads.setDaemon(true);
+    this.executor =
+        new ThreadPoolExecutor(
+            0,
+            Math.max(2, props.getMaxConcurrent()),
+            30,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            threads);
+
+    this.primaries =
+        Counter.builder("fraud.client.hedge.requests").tag("type", "primary").register(registry);
+    this.hedges =
+        Counter.builder("fraud.client.hedge.requests").tag("type", "hedge").register(registry);
+    this.wins = Counter.builder("fraud.client.hedge.wins").register(registry);
+    this.skippedBudget =
+        Counter.builder("fraud.client.hedge.skipped").tag("reason", "budget").register(registry);
+    this.skippedSaturated =
+        Counter.builder("fraud.client.hedge.skipped").tag("reason", "saturated").register(registry);
+    Gauge.builder(
+            "fraud.client.hedge.rate",
+            this,
+            c -> c.primaries.count() == 0 ? 0 : c.hedges.count() / c.primaries.count())
+        .register(registry);
+    Gauge.builder("fraud.client.hedge.delay", this, c -> c.delayNanos / 1_000_000.0)
+        .baseUnit("milliseconds")
+        .register(registry);
+  }
+
+  /** Estado de uma chamada: resultado compartilhado e tentativas ainda em voo. */
+  private static final class Call {
+    final CompletableFuture<FraudCheckResponse> result = new CompletableFuture<>();
+    final AtomicInteger outstanding = new AtomicInteger(1);
+    final AtomicBoolean decided = new AtomicBoolean();
+    volatile RuntimeException lastError;
+
+    void failed(RuntimeException ex) {
+      if (ex != null) {
+        lastError = ex;
+      }
+      if (outstanding.decrementAndGet() <= 0) {
+        result.completeExceptionally(lastError);
+      }
+    }
+  }
+
+  @Override
+  public FraudCheckResponse check(FraudCheckRequest request) {
+    primaries.increment();
+    deposit();
+
+    Call call = new Call();
+    Future<?> primary;
+    try {
+      primary = executor.submit(() -> attempt(request, call, false));
+    } catch (RejectedExecutionException ex) {
+      skippedSaturated.increment();
+      return delegate.check(request);
+    }
+
+    Future<?> hedge = null;
+    try {
+      try {
+        return call.result.get(delayNanos, TimeUnit.NANOSECONDS);
+      } catch (TimeoutException slow) {
+        hedge = sendHedge(request, call);
+      }
+      return call.result.get();
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Failed to call Fraud API", ex.getCause());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while calling Fraud API", ex);
+    } finally {
+      primary.cancel(true);
+      if (hedge != null) {
+        hedge.cancel(true);
+      }
+    }
+  }
+
+  private Future<?> sendHedge(FraudCheckRequest request, Call call) {
+    if (!withdraw()) {
+      skippedBudget.increment();
+      return null;
+    }
+    // a primária pode ter falhado entre o timeout e aqui: nesse caso não há o que hedgear
+    if (!call.outstanding.compareAndSet(1, 2)) {
+      return null;
+    }
+    try {
+      return executor.submit(() -> attempt(request, call, true));
+    } catch (RejectedExecutionException ex) {
+      skippedSaturated.increment();
+      call.failed(null);
+      return null;
+    }
+  }
+
+  private void attempt(FraudCheckRequest request, Call call, boolean isHedge) {
+    // Métricas antes de completar o resultado: quem espera em check() já as vê atualizadas
+    if (isHedge) {
+      hedges.increment();
+    }
+    long start = System.nanoTime();
+    try {
+      FraudCheckResponse response = delegate.check(request);
+      record(System.nanoTime() - start);
+      if (call.decided.compareAndSet(false, true)) {
+        if (isHedge) {
+          wins.increment();
+        }
+        call.result.complete(response);
+      }
+    } catch (RuntimeException ex) {
+      call.failed(ex);
+    }
+  }
+
+  /** Lotes não são hedged: seguem direto para o delegate. */
+  @Override
+  public List<FraudCheckResponse> checkAll(List<FraudCheckRequest> requests) {
+    return delegate.checkAll(requests);
+  }
+
+  private synchronized void deposit() {
+    tokens = Math.min(maxTokens, tokens + ratio);
+  }
+
+  private synchronized boolean withdraw() {
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+
+  private void record(long latencyNanos) {
+    long[] snapshot = null;
+    synchronized (this) {
+      samples[nextSample] = latencyNanos;
+      nextSample = (nextSample + 1) % samples.length;
+      sampleCount = Math.min(samples.length, sampleCount + 1);
+      if (++sinceRecompute >= recomputeEvery && sampleCount >= minSamples) {
+        sinceRecompute = 0;
+        snapshot = Arrays.copyOf(samples, sampleCount);
+      }
+    }
+    if (snapshot != null) {
+      Arrays.sort(snapshot);
+      int idx = (int) Math.ceil(percentile * snapshot.length) - 1;
+      delayNanos = Math.max(minDelayNanos, snapshot[Math.max(0, idx)]);
+    }
+  }
+
+  Duration currentDelay() {
+    return Duration.ofNanos(delayNanos);
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
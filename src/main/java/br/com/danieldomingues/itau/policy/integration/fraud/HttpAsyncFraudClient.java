@@ -0,0 +1,159 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+/**
+ * Implementação HTTP assíncrona do AsyncFraudClient (Apache HttpClient 5, I/O não bloqueante).
+ * Conexões ficam em pool com keep-alive; tamanho do pool e timeouts vêm de FraudApiProperties.
+ * Só é criado com fraud.api.async.enabled=true; o AsyncFraudClient injetado no domínio é este
+ * cliente atrás do ResilientFraudClient (ver FraudClientConfig).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "fraud.api.async", name = "enabled", havingValue = "true")
+public class HttpAsyncFraudClient implements AsyncFraudClient, DisposableBean {
+
+  private final CloseableHttpAsyncClient httpClient;
+  private final ObjectMapper objectMapper;
+  private final String url;
+
+  public HttpAsyncFraudClient(FraudApiProperties props, ObjectMapper objectMapper) {
+    FraudApiProperties.Async async = props.getAsync();
+    this.objectMapper = objectMapper;
+    this.url = props.getBaseUrl() + "/fraud/check";
+    this.httpClient =
+        HttpAsyncClients.custom()
+            .setConnectionManager(
+                PoolingAsyncClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(async.getMaxConnections())
+                    .setMaxConnPerRoute(async.getMaxConnectionsPerRoute())
+                    .setDefaultConnectionConfig(
+                        ConnectionConfig.custom()
+                            .setConnectTimeout(Timeout.of(props.getConnectTimeout()))
+                            .setSocketTimeout(Timeout.of(props.getReadTimeout()))
+                            .setTimeToLive(TimeValue.of(async.getConnectionTimeToLive()))
+                            .build())
+                    .build())
+            .setDefaultRequestConfig(
+                RequestConfig.custom()
+                    .setConnectionRequestTimeout(Timeout.of(async.getPoolAcquireTimeout()))
+                    .setResponseTimeout(Timeout.of(props.getReadTimeout()))
+                    .build())
+            .setIOReactorConfig(
+                IOReactorConfig.custom().setIoThreadCount(async.getIoThreads()).build())
+            .evictIdleConnections(TimeValue.of(async.getIdleTimeout()))
+            .build();
+    this.httpClient.start();
+  }
+
+  @Override
+  public CompletableFuture<FraudCheckResponse> checkAsync(FraudCheckRequest request) {
+    CompletableFuture<FraudCheckResponse> result = new CompletableFuture<>();
+    SimpleHttpRequest httpRequest;
+    try {
+      httpRequest =
+          SimpleRequestBuilder.post(url)
+              .setBody(objectMapper.writeValueAsBytes(request), ContentType.APPLICATION_JSON)
+              .build();
+    } catch (JsonProcessingException ex) {
+      result.completeExceptionally(new IllegalStateException("Failed to call Fraud API", ex));
+      return result;
+    }
+
+    Future<SimpleHttpResponse> inFlight =
+        httpClient.execute(
+            httpRequest,
+            new FutureCallback<>() {
+              @Override
+              public void completed(SimpleHttpResponse resp) {
+                complete(result, resp);
+              }
+
+              @Override
+              public void failed(Exception ex) {
+                log.error("Error calling Fraud API at {}: {}", url, ex.getMessage(), ex);
+                result.completeExceptionally(
+                    new IllegalStateException("Failed to call Fraud API", ex));
+              }
+
+              @Override
+              public void cancelled() {
+                result.cancel(false);
+              }
+            });
+
+    // Cancelar o future do chamador aborta a troca HTTP e devolve a conexão ao pool
+    result.whenComplete(
+        (r, ex) -> {
+          if (result.isCancelled()) {
+            inFlight.cancel(true);
+          }
+        });
+    return result;
+  }
+
+  private void complete(CompletableFuture<FraudCheckResponse> result, SimpleHttpResponse resp) {
+    byte[] body = resp.getBodyBytes();
+    if (resp.getCode() >= 200 && resp.getCode() < 300 && body != null && body.length > 0) {
+      try {
+        result.complete(objectMapper.readValue(body, FraudCheckResponse.class));
+      } catch (IOException ex) {
+        result.completeExceptionally(
+            new IllegalStateException("Invalid response from Fraud API", ex));
+      }
+      return;
+    }
+    log.warn("Fraud API returned status={} body={}", resp.getCode(), resp.getBodyText());
+    result.completeExceptionally(
+        new IllegalStateException(
+            "Unexpected response from Fraud API: " + resp.getCode(), statusError(resp, body)));
+  }
+
+  /**
+   * Mesma exceção que o RestTemplate lançaria, para a resiliência tratar 4xx e 5xx como no cliente
+   * síncrono (4xx não conta como falha do remoto).
+   */
+  private static RuntimeException statusError(SimpleHttpResponse resp, byte[] body) {
+    HttpStatusCode status = HttpStatusCode.valueOf(resp.getCode());
+    String text = resp.getReasonPhrase() == null ? "" : resp.getReasonPhrase();
+    if (status.is4xxClientError()) {
+      return HttpClientErrorException.create(status, text, null, body, null);
+    }
+    if (status.is5xxServerError()) {
+      return HttpServerErrorException.create(status, text, null, body, null);
+    }
+    return null;
+  }
+
+  @Override
+  public void destroy() {
+    httpClient.close(CloseMode.GRACEFUL);
+  }
+}
@@ -2,16 +2,24 @@ package br.com.danieldomingues.itau.policy.integration.fraud;
 
 import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
 import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import java.util.Arrays;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * Implementação HTTP do FraudClient.
  * Usa timeouts e baseUrl configuráveis via FraudApiProperties.
+ *
+ * {@link #checkAll} usa o endpoint bulk ({@code fraud.api.batch.bulk-path}); se o remoto não o
+ * expõe (404/405), cai em um {@link #check} por item, em sequência. O fan-out paralelo fica no
+ * {@link FanOutFraudClient}, acima da resiliência, que consulta {@link #isBulkSupported}.
  */
 @Slf4j
 @Component
@@ -19,6 +27,9 @@ public class HttpFraudClient implements FraudClient {
 
   private final RestTemplate restTemplate;
   private final String baseUrl;
+  private final String bulkPath;
+
+  private volatile boolean bulkSupported = true;
 
   public HttpFraudClient(RestTemplateBuilder builder, FraudApiProperties props) {
     this.restTemplate =
@@ -27,6 +38,7 @@ public class HttpFraudClient implements FraudClient {
             .setReadTimeout(props.getReadTimeout())
             .build();
     this.baseUrl = props.getBaseUrl();
+    this.bulkPath = props.getBatch().getBulkPath();
   }
 
   @Override
@@ -47,4 +59,60 @@ public class HttpFraudClient implements FraudClient {
       throw new IllegalStateException("Failed to call Fraud API", ex);
     }
   }
+
+  @Override
+  public List<FraudCheckResponse> checkAll(List<FraudCheckRequest> requests) {
+    if (requests.isEmpty()) {
+      return List.of();
+    }
+    if (requests.size() > 1 && bulkSupported) {
+      List<FraudCheckResponse> bulk = checkBulk(requests);
+      if (bulk != null) {
+        return bulk;
+      }
+    }
+    return FraudClient.super.checkAll(requests);
+  }
+
+  /** @return respostas do endpoint bulk, ou null se o remoto não tem esse endpoint */
+  private List<FraudCheckResponse> checkBulk(List<FraudCheckRequest> requests) {
+    String url = baseUrl + bulkPath;
+    try {
+      ResponseEntity<FraudCheckResponse[]> resp =
+          restTemplate.postForEntity(url, requests, FraudCheckResponse[].class);
+
+      FraudCheckResponse[] body = resp.getBody();
+      if (resp.getStatusCode().is2xxSuccessful() && body != null) {
+        if (body.length != requests.size()) {
+          throw new IllegalStateException(
+              "Unexpected bulk response size from Fraud API: "
+                  + body.length
+                  + " (expected "
+                  + requests.size()
+                  + ")");
+        }
+        return Arrays.asList(body);
+      }
+      log.warn("Fraud API bulk returned status={}", resp.getStatusCode());
+      throw new IllegalStateException(
+          "Unexpected response from Fraud API: " + resp.getStatusCode());
+    } catch (HttpClientErrorException ex) {
+      if (ex.getStatusCode() == HttpStatus.NOT_FOUND
+          || ex.getStatusCode() == HttpStatus.METHOD_NOT_ALLOWED) {
+        log.warn("Fraud API has no bulk endpoint at {}; falling back to per-item checks", url);
+        bulkSupported = false;
+        return null;
+      }
+      log.error("Error calling Fraud API at {}: {}", url, ex.getMessage(), ex);
+      throw new IllegalStateException("Failed to call Fraud API", ex);
+    } catch (RestClientException ex) {
+      log.error("Error calling Fraud API at {}: {}", url, ex.getMessage(), ex);
+      throw new IllegalStateException("Failed to call Fraud API", ex);
+    }
+  }
+
+  /** false depois que o remoto respondeu 404/405 no endpoint bulk. */
+  public boolean isBulkSupported() {
+    return bulkSupported;
+  }
 }
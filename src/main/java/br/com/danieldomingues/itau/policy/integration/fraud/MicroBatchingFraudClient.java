@@ -0,0 +1,186 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Decorator de {@link FraudClient} que agrupa checks concorrentes em chamadas {@link
+ * FraudClient#checkAll} (micro-batching).
+ *
+ * Cada {@link #check} entra no lote corrente e bloqueia até a sua resposta. O lote é enviado
+ * quando atinge {@code maxSize} itens ou quando o primeiro item completa {@code maxWait}; a
+ * resposta de índice i volta para quem submeteu o request i. Falha do lote é propagada para
+ * todos os seus chamadores.
+ *
+ * Métricas: fraud.client.batch.size, fraud.client.batch.flushes{trigger=size|time} e
+ * fraud.client.batch.pending.
+ */
+public class MicroBatchingFraudClient implements FraudClient, AutoCloseable {
+
+  private final FraudClient delegate;
+  private final int maxSize;
+  private final Duration maxWait;
+  private final ScheduledExecutorService timer;
+  private final ExecutorService flushExecutor;
+
+  private final Object lock = new Object();
+  private List<Pending> pending;
+  private ScheduledFuture<?> timeout;
+
+  private final DistributionSummary batchSize;
+  private final Counter sizeFlushes;
+  private final Counter timeFlushes;
+
+  private record Pending(FraudCheckRequest request, CompletableFuture<FraudCheckResponse> result) {}
+
+  public MicroBatchingFraudClient(
+      FraudClient delegate, FraudApiProperties.Batch props, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.maxSize = Math.max(1, props.getMaxSize());
+    this.maxWait = props.getMaxWait();
+    this.pending = new ArrayList<>(maxSize);
+    this.timer = Executors.newSingleThreadScheduledExecutor(daemon("fraud-batch-timer-"));
+    this.flushExecutor =
+        Executors.newFixedThreadPool(
+            Math.max(1, props.getFlushThreads()), daemon("fraud-batch-flush-"));
+
+    this.batchSize = DistributionSummary.builder("fraud.client.batch.size").register(registry);
+    this.sizeFlushes =
+        Counter.builder("fraud.client.batch.flushes").tag("trigger", "size").register(registry);
+    this.timeFlushes =
+        Counter.builder("fraud.client.batch.flushes").tag("trigger", "time").register(registry);
+    Gauge.builder("fraud.client.batch.pending", this, MicroBatchingFraudClient::pendingCount)
+        .register(registry);
+  }
+
+  @Override
+  public FraudCheckResponse check(FraudCheckRequest request) {
+    Pending p = new Pending(request, new CompletableFuture<>());
+    List<Pending> full = null;
+    synchronized (lock) {
+      pending.add(p);
+      if (pending.size() >= maxSize) {
+        full = drain();
+        sizeFlushes.increment();
+      } else if (pending.size() == 1) {
+        List<Pending> batch = pending;
+        timeout =
+            timer.schedule(() -> flushOnTimeout(batch), maxWait.toNanos(), TimeUnit.NANOSECONDS);
+      }
+    }
+    if (full != null) {
+      dispatch(full);
+    }
+    return await(p.result());
+  }
+
+  /** Lotes já cheios passam direto para o delegate: não há o que agrupar. */
+  @Override
+  public List<FraudCheckResponse> checkAll(List<FraudCheckRequest> requests) {
+    return delegate.checkAll(requests);
+  }
+
+  private List<Pending> drain() {
+    List<Pending> batch = pending;
+    pending = new ArrayList<>(maxSize);
+    if (timeout != null) {
+      timeout.cancel(false);
+      timeout = null;
+    }
+    return batch;
+  }
+
+  private void flushOnTimeout(List<Pending> batch) {
+    synchronized (lock) {
+      // o lote já saiu por tamanho; o timer agendado para ele não vale para o próximo
+      if (pending != batch || batch.isEmpty()) {
+        return;
+      }
+      drain();
+      timeFlushes.increment();
+    }
+    dispatch(batch);
+  }
+
+  private void dispatch(List<Pending> batch) {
+    try {
+      flushExecutor.execute(() -> flush(batch));
+    } catch (RejectedExecutionException ex) {
+      IllegalStateException failure = new IllegalStateException("Fraud batcher is closed", ex);
+      batch.forEach(p -> p.result().completeExceptionally(failure));
+    }
+  }
+
+  private void flush(List<Pending> batch) {
+    batchSize.record(batch.size());
+    try {
+      List<FraudCheckResponse> responses =
+          delegate.checkAll(batch.stream().map(Pending::request).toList());
+      if (responses.size() != batch.size()) {
+        throw new IllegalStateException(
+            "Fraud API returned "
+                + responses.size()
+                + " results for "
+                + batch.size()
+                + " requests");
+      }
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).result().complete(responses.get(i));
+      }
+    } catch (RuntimeException ex) {
+      batch.forEach(p -> p.result().completeExceptionally(ex));
+    }
+  }
+
+  private static FraudCheckResponse await(CompletableFuture<FraudCheckResponse> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Failed to call Fraud API", ex.getCause());
+    }
+  }
+
+  int pendingCount() {
+    synchronized (lock) {
+      return pending.size();
+    }
+  }
+
+  private static CustomizableThreadFactory daemon(String prefix) {
+    CustomizableThreadFactory factory = new CustomizableThreadFactory(prefix);
+    factory.setDaemon(true);
+    return factory;
+  }
+
+  @Override
+  public void close() {
+    List<Pending> rest;
+    synchronized (lock) {
+      rest = drain();
+    }
+    if (!rest.isEmpty()) {
+      dispatch(rest);
+    }
+    timer.shutdownNow();
+    flushExecutor.shutdown();
+  }
+}
@@ -0,0 +1,254 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Decorator de {@link FraudClient} que protege a aplicação de uma API de Fraudes degradada.
+ *
+ * Cada tentativa passa por circuit breaker -> bulkhead -> limite AIMD; recusas não tocam a rede e
+ * lançam {@link FraudApiUnavailableException}. Falhas transitórias (I/O, timeout, 5xx) são
+ * repetidas com backoff e jitter enquanto houver saldo no {@link RetryBudget}; erros 4xx não são
+ * repetidos nem contam como falha do remoto. O cliente assíncrono usa as mesmas instâncias via
+ * {@link #executeAsync}.
+ *
+ * Métricas: fraud.client.circuit.state{state}, fraud.client.rejections{reason},
+ * fraud.client.limit, fraud.client.inflight, fraud.client.bulkhead.available,
+ * fraud.client.retries{result} e fraud.client.retry.budget.
+ */
+@Slf4j
+public class ResilientFraudClient implements FraudClient {
+
+  public static final String CIRCUIT_OPEN = "circuit_open";
+  public static final String BULKHEAD_FULL = "bulkhead_full";
+  public static final String CONCURRENCY_LIMIT = "concurrency_limit";
+
+  private final FraudClient delegate;
+  private final CircuitBreaker circuitBreaker;
+  private final Bulkhead bulkhead;
+  private final AimdLimiter limiter;
+  private final RetryBudget retryBudget;
+
+  private final Map<String, Counter> rejections = new LinkedHashMap<>();
+  private final Counter retriesAttempted;
+  private final Counter retriesBudgetExhausted;
+
+  public ResilientFraudClient(
+      FraudClient delegate, FraudApiProperties.Resilience props, MeterRegistry registry) {
+    this(delegate, props, registry, Clock.systemUTC());
+  }
+
+  ResilientFraudClient(
+      FraudClient delegate,
+      FraudApiProperties.Resilience props,
+      MeterRegistry registry,
+      Clock clock) {
+    this.delegate = delegate;
+    this.circuitBreaker = new CircuitBreaker(props.getCircuitBreaker(), clock);
+    this.bulkhead = new Bulkhead(props.getBulkhead());
+    this.limiter = new AimdLimiter(props.getLimiter());
+    this.retryBudget = new RetryBudget(props.getRetry());
+
+    for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+      Gauge.builder(
+              "fraud.client.circuit.state", circuitBreaker, cb -> cb.getState() == state ? 1 : 0)
+          .tag("state", state.name().toLowerCase(Locale.ROOT))
+          .register(registry);
+    }
+    for (String reason : List.of(CIRCUIT_OPEN, BULKHEAD_FULL, CONCURRENCY_LIMIT)) {
+      rejections.put(
+          reason,
+          Counter.builder("fraud.client.rejections").tag("reason", reason).register(registry));
+    }
+    Gauge.builder("fraud.client.limit", limiter, AimdLimiter::getLimit).register(registry);
+    Gauge.builder("fraud.client.inflight", limiter, AimdLimiter::getInFlight).register(registry);
+    Gauge.builder("fraud.client.bulkhead.available", bulkhead, Bulkhead::getAvailable)
+        .register(registry);
+    Gauge.builder("fraud.client.retry.budget", retryBudget, RetryBudget::getBalance)
+        .register(registry);
+    this.retriesAttempted =
+        Counter.builder("fraud.client.retries").tag("result", "attempted").register(registry);
+    this.retriesBudgetExhausted =
+        Counter.builder("fraud.client.retries")
+            .tag("result", "budget_exhausted")
+            .register(registry);
+  }
+
+  @Override
+  public FraudCheckResponse check(FraudCheckRequest request) {
+    return execute(() -> delegate.check(request));
+  }
+
+  @Override
+  public List<FraudCheckResponse> checkAll(List<FraudCheckRequest> requests) {
+    return execute(() -> delegate.checkAll(requests));
+  }
+
+  private <T> T execute(Supplier<T> call) {
+    retryBudget.deposit();
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return attempt(call);
+      } catch (RuntimeException ex) {
+        if (ex instanceof FraudApiUnavailableException
+            || !isTransient(ex)
+            || attempt >= retryBudget.getMaxAttempts()) {
+          throw ex;
+        }
+        if (!retryBudget.tryWithdraw()) {
+          retriesBudgetExhausted.increment();
+          throw ex;
+        }
+        retriesAttempted.increment();
+        log.debug("Retrying Fraud API call (attempt {}): {}", attempt + 1, ex.getMessage());
+        if (!sleep(retryBudget.backoff(attempt).toMillis())) {
+          throw ex;
+        }
+      }
+    }
+  }
+
+  /**
+   * Executa uma chamada assíncrona (ex.: {@link HttpAsyncFraudClient}) sob o mesmo circuit breaker,
+   * bulkhead e limite AIMD dos checks síncronos; a vaga fica ocupada até o future completar. Sem
+   * retry: repetir exigiria agendar a nova tentativa fora da thread de I/O. Recusas e falhas
+   * chegam no próprio future.
+   */
+  public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+    try {
+      admit();
+    } catch (FraudApiUnavailableException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+    long start = System.nanoTime();
+    CompletableFuture<T> future;
+    try {
+      future = call.get();
+    } catch (RuntimeException ex) {
+      finish(ex, start);
+      return CompletableFuture.failedFuture(ex);
+    }
+    return future.whenComplete((result, ex) -> finish(unwrap(ex), start));
+  }
+
+  private <T> T attempt(Supplier<T> call) {
+    admit();
+    long start = System.nanoTime();
+    try {
+      T result = call.get();
+      finish(null, start);
+      return result;
+    } catch (RuntimeException ex) {
+      finish(ex, start);
+      throw ex;
+    }
+  }
+
+  /** Circuit breaker -> bulkhead -> limite AIMD; recusa não fica com nenhuma vaga. */
+  private void admit() {
+    if (!circuitBreaker.tryAcquirePermission()) {
+      throw reject(CIRCUIT_OPEN, "Fraud API circuit breaker is open");
+    }
+    if (!bulkhead.tryAcquire()) {
+      circuitBreaker.releasePermission();
+      throw reject(BULKHEAD_FULL, "Fraud API bulkhead is full");
+    }
+    if (!limiter.tryAcquire()) {
+      circuitBreaker.releasePermission();
+      bulkhead.release();
+      throw reject(CONCURRENCY_LIMIT, "Fraud API concurrency limit reached");
+    }
+  }
+
+  /** Registra o resultado de uma chamada admitida e devolve a vaga do bulkhead. */
+  private void finish(Throwable error, long start) {
+    try {
+      long elapsed = System.nanoTime() - start;
+      if (error == null) {
+        circuitBreaker.onSuccess(elapsed);
+        limiter.onSuccess(elapsed);
+      } else if (causedBy(error, HttpClientErrorException.class)) {
+        circuitBreaker.onSuccess(elapsed);
+        limiter.onIgnored();
+      } else {
+        circuitBreaker.onError();
+        limiter.onDropped();
+      }
+    } finally {
+      bulkhead.release();
+    }
+  }
+
+  private static Throwable unwrap(Throwable ex) {
+    return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+  }
+
+  private FraudApiUnavailableException reject(String reason, String message) {
+    rejections.get(reason).increment();
+    return new FraudApiUnavailableException(reason, message);
+  }
+
+  /** Timeout/I-O ou 5xx: vale repetir. */
+  static boolean isTransient(Throwable ex) {
+    return causedBy(ex, ResourceAccessException.class)
+        || causedBy(ex, HttpServerErrorException.class);
+  }
+
+  private static boolean causedBy(Throwable ex, Class<? extends Throwable> type) {
+    for (Throwable t = ex; t != null; t = t.getCause()) {
+      if (type.isInstance(t)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /** Estado atual, exposto no actuator (/actuator/fraudclient). */
+  public Map<String, Object> snapshot() {
+    Map<String, Object> out = new LinkedHashMap<>();
+    out.put("circuitState", circuitBreaker.getState().name());
+    out.put("failureRate", circuitBreaker.getFailureRate());
+    out.put("concurrencyLimit", limiter.getLimit());
+    out.put("inFlight", limiter.getInFlight());
+    out.put("bulkheadAvailable", bulkhead.getAvailable());
+    out.put("bulkheadMaxConcurrent", bulkhead.getMaxConcurrent());
+    out.put("retryBudget", retryBudget.getBalance());
+    Map<String, Long> rejected = new LinkedHashMap<>();
+    rejections.forEach((reason, counter) -> rejected.put(reason, (long) counter.count()));
+    out.put("rejections", rejected);
+    return out;
+  }
+
+  CircuitBreaker circuitBreaker() {
+    return circuitBreaker;
+  }
+
+  AimdLimiter limiter() {
+    return limiter;
+  }
+}
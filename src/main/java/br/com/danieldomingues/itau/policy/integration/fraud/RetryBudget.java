@@ -0,0 +1,58 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Orçamento de retries: cada chamada deposita {@code budgetRatio} e cada retry consome 1, então
+ * retries ficam limitados a essa fração do tráfego (sem tempestade de retries quando o remoto
+ * está degradado). O backoff é exponencial com jitter completo.
+ */
+public class RetryBudget {
+
+  private final int maxAttempts;
+  private final double ratio;
+  private final double maxTokens;
+  private final long baseBackoffNanos;
+  private final long maxBackoffNanos;
+
+  private double balance;
+
+  public RetryBudget(FraudApiProperties.RetryProps props) {
+    this.maxAttempts = Math.max(1, props.getMaxAttempts());
+    this.ratio = props.getBudgetRatio();
+    this.maxTokens = Math.max(0, props.getBudgetMaxTokens());
+    this.baseBackoffNanos = props.getBaseBackoff().toNanos();
+    this.maxBackoffNanos = props.getMaxBackoff().toNanos();
+    this.balance = maxTokens;
+  }
+
+  public synchronized void deposit() {
+    balance = Math.min(maxTokens, balance + ratio);
+  }
+
+  public synchronized boolean tryWithdraw() {
+    if (balance < 1) {
+      return false;
+    }
+    balance -= 1;
+    return true;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public synchronized double getBalance() {
+    return balance;
+  }
+
+  /** Espera antes da tentativa {@code attempt + 1}: aleatória em [0, min(max, base * 2^(attempt-1))]. */
+  public Duration backoff(int attempt) {
+    long ceiling = baseBackoffNanos << Math.min(20, Math.max(0, attempt - 1));
+    if (ceiling <= 0 || ceiling > maxBackoffNanos) {
+      ceiling = maxBackoffNanos;
+    }
+    return Duration.ofNanos(ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1));
+  }
+}
@@ -0,0 +1,82 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorator de {@link FraudClient} que coalesce chamadas concorrentes idênticas (single-flight).
+ *
+ * O primeiro chamador de um {@link FraudCheckRequest} faz a chamada remota; quem chegar com o
+ * mesmo request enquanto ela está em voo aguarda o mesmo resultado (ou a mesma exceção).
+ * Não há cache: terminada a chamada, a próxima requisição vai ao remoto de novo.
+ *
+ * Métricas: fraud.client.singleflight.calls{role=leader|coalesced} e
+ * fraud.client.singleflight.inflight.
+ */
+public class SingleFlightFraudClient implements FraudClient {
+
+  private final FraudClient delegate;
+  private final ConcurrentHashMap<FraudCheckRequest, CompletableFuture<FraudCheckResponse>>
+      inFlight = new ConcurrentHashMap<>();
+
+  private final Counter leaders;
+  private final Counter coalesced;
+
+  public SingleFlightFraudClient(FraudClient delegate, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.leaders =
+        Counter.builder("fraud.client.singleflight.calls").tag("role", "leader").register(registry);
+    this.coalesced =
+        Counter.builder("fraud.client.singleflight.calls")
+            .tag("role", "coalesced")
+            .register(registry);
+    Gauge.builder("fraud.client.singleflight.inflight", inFlight, ConcurrentHashMap::size)
+        .register(registry);
+  }
+
+  @Override
+  public FraudCheckResponse check(FraudCheckRequest request) {
+    CompletableFuture<FraudCheckResponse> mine = new CompletableFuture<>();
+    CompletableFuture<FraudCheckResponse> existing = inFlight.putIfAbsent(request, mine);
+    if (existing != null) {
+      coalesced.increment();
+      return await(existing);
+    }
+
+    leaders.increment();
+    try {
+      FraudCheckResponse response = delegate.check(request);
+      mine.complete(response);
+      return response;
+    } catch (RuntimeException ex) {
+      mine.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(request, mine);
+    }
+  }
+
+  /** Lotes não são coalescidos: seguem direto para o delegate. */
+  @Override
+  public List<FraudCheckResponse> checkAll(List<FraudCheckRequest> requests) {
+    return delegate.checkAll(requests);
+  }
+
+  private static FraudCheckResponse await(CompletableFuture<FraudCheckResponse> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Failed to call Fraud API", ex.getCause());
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import jakarta.validation.Validator;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Processa um lote de mensagens de pagamento/subscrição (modo batch dos listeners).
+ *
+ * Mesmas regras do caminho por mensagem (payload convertido para o record tipado e validado antes
+ * de qualquer acesso ao banco; reentrega descartada pelo {@link Inbox}; só PENDENTE
+ * transiciona), mas o lote inteiro custa no máximo uma consulta à inbox, uma consulta IN com lock,
+ * um flush em batch e uma transação ({@link SolicitationRepository#transitionAll}); o registro na
+ * inbox e os eventos no outbox vão nessa mesma transação. A conversão é feita aqui, mensagem a
+ * mensagem, para que uma mensagem malformada seja descartada sozinha em vez de derrubar o lote.
+ * Mensagens repetidas para a mesma solicitação: vence a primeira, como no caminho por mensagem.
+ */
+@Component
+class InboundEventBatchHandler {
+
+  /** Fila de origem: chave na inbox, rótulo dos logs, tipo do payload e textos dos eventos. */
+  record Source(
+      String name,
+      String label,
+      Class<? extends InboundMessage> type,
+      String approvedDetails,
+      String rejectedReason) {}
+
+  static final Source PAYMENT =
+      new Source(
+          PaymentEventListener.SOURCE,
+          "pagamento",
+          PaymentMessage.class,
+          "payment-approved",
+          "payment-rejected");
+  static final Source SUBSCRIPTION =
+      new Source(
+          SubscriptionEventListener.SOURCE,
+          "subscricao",
+          SubscriptionMessage.class,
+          "subscription-active",
+          "subscription-rejected");
+
+  /** Mensagem já convertida; {@code messageId} pode ser nulo. */
+  private record Inbound(String messageId, InboundMessage payload) {}
+
+  private static final Logger log = LoggerFactory.getLogger(InboundEventBatchHandler.class);
+  private static final Set<Status> FROM_PENDING = EnumSet.of(Status.PENDENTE);
+
+  private final SolicitationRepository repository;
+  private final PolicyEventPublisher publisher;
+  private final TransactionTemplate transactionTemplate;
+  private final Inbox inbox;
+  private final Jackson2JsonMessageConverter converter;
+  private final Validator validator;
+
+  InboundEventBatchHandler(
+      SolicitationRepository repository,
+      PolicyEventPublisher publisher,
+      TransactionTemplate transactionTemplate,
+      Inbox inbox,
+      Jackson2JsonMessageConverter converter,
+      Validator validator) {
+    this.repository = repository;
+    this.publisher = publisher;
+    this.transactionTemplate = transactionTemplate;
+    this.inbox = inbox;
+    this.converter = converter;
+    this.validator = validator;
+  }
+
+  /** @return quantas solicitações transicionaram */
+  int handle(List<Message> messages, Source source) {
+    List<Inbound> valid = new ArrayList<>(messages.size());
+    for (Message message : messages) {
+      InboundMessage payload = convert(message, source);
+      if (payload != null) {
+        valid.add(new Inbound(message.getMessageProperties().getMessageId(), payload));
+      }
+    }
+    Set<String> seen =
+        inbox.seen(
+            source.name(),
+            valid.stream().map(Inbound::messageId).filter(Objects::nonNull).toList());
+    List<Inbound> pending = new ArrayList<>(valid.size());
+    Set<String> pendingIds = new LinkedHashSet<>();
+    for (Inbound message : valid) {
+      String messageId = message.messageId();
+      // já processada, ou repetida dentro do próprio lote
+      if (messageId != null && (seen.contains(messageId) || !pendingIds.add(messageId))) {
+        continue;
+      }
+      pending.add(message);
+    }
+    if (pending.size() < valid.size()) {
+      log.info(
+          "Lote de {}: {} mensagens duplicadas descartadas",
+          source.label(),
+          valid.size() - pending.size());
+    }
+    if (pending.isEmpty()) {
+      return 0;
+    }
+
+    // inbox, transições e eventos (outbox) na mesma transação; uma falha desfaz tudo e o lote
+    // inteiro volta para a fila sem ack
+    List<Solicitation> moved =
+        transactionTemplate.execute(
+            tx -> {
+              Set<String> fresh = inbox.record(source.name(), pendingIds);
+              List<Solicitation> done =
+                  repository.transitionAll(
+                      targets(pending, fresh), FROM_PENDING, OffsetDateTime.now());
+              done.forEach(s -> publish(s, source));
+              return done;
+            });
+    int n = moved == null ? 0 : moved.size();
+    log.info(
+        "Lote de {} processado: {} mensagens, {} transições", source.label(), messages.size(), n);
+    return n;
+  }
+
+  /** Mesmo caminho do container no modo por mensagem; {@code null} se malformada. */
+  private InboundMessage convert(Message message, Source source) {
+    message.getMessageProperties().setInferredArgumentType(source.type());
+    Object payload;
+    try {
+      payload = converter.fromMessage(message);
+    } catch (MessageConversionException e) {
+      log.warn(
+          "Lote de {}: mensagem malformada descartada (messageId {}): {}",
+          source.label(),
+          message.getMessageProperties().getMessageId(),
+          e.getMessage());
+      return null;
+    }
+    if (!source.type().isInstance(payload)) {
+      log.warn(
+          "Lote de {}: content-type não suportado descartado (messageId {})",
+          source.label(),
+          message.getMessageProperties().getMessageId());
+      return null;
+    }
+    if (!validator.validate(payload).isEmpty()) {
+      log.warn("Lote de {}: payload incompleto {}", source.label(), payload);
+      return null;
+    }
+    return source.type().cast(payload);
+  }
+
+  /** Destino por solicitação; {@code fresh} exclui o que outra réplica registrou nesse meio tempo. */
+  private static Map<UUID, Status> targets(List<Inbound> messages, Set<String> fresh) {
+    Map<UUID, Status> targets = new LinkedHashMap<>();
+    for (Inbound message : messages) {
+      if (message.messageId() != null && !fresh.contains(message.messageId())) {
+        continue;
+      }
+      InboundMessage payload = message.payload();
+      targets.putIfAbsent(
+          payload.solicitationId(), payload.positive() ? Status.APROVADO : Status.REJEITADO);
+    }
+    return targets;
+  }
+
+  private void publish(Solicitation s, Source source) {
+    String id = s.getId().toString();
+    String customer = s.getCustomerId().toString();
+    if (s.getStatus() == Status.APROVADO) {
+      publisher.publishSolicitationApproved(id, customer, source.approvedDetails());
+    } else {
+      publisher.publishSolicitationRejected(id, customer, source.rejectedReason());
+    }
+  }
+}
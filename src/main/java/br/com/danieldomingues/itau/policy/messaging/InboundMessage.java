@@ -0,0 +1,12 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import java.util.UUID;
+
+/** Payload tipado das filas de entrada: a solicitação e o resultado que ela recebe. */
+interface InboundMessage {
+
+  UUID solicitationId();
+
+  /** {@code true} aprova (pagamento aprovado / assinatura ativa), {@code false} rejeita. */
+  boolean positive();
+}
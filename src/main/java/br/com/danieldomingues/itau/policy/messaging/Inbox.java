@@ -0,0 +1,109 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import br.com.danieldomingues.itau.policy.repo.InboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deduplicação das mensagens de entrada por message id, antes de tocar a tabela solicitation.
+ *
+ * Um filtro de Bloom em memória fica na frente da tabela inbox_message: id que o filtro nunca viu
+ * não é consultado; id que ele talvez tenha visto é conferido em uma consulta pela PK (uma por
+ * lote). O filtro é por nó e só serve de atalho: quem decide é o {@link #record}, um INSERT ... ON
+ * CONFLICT DO NOTHING na transação da transição, que também pega a reentrega processada por outra
+ * réplica. Ids ficam {@code ttl} na tabela; o filtro gira a cada {@code ttl}.
+ *
+ * Métricas: policy.inbox.duplicates{source} e policy.inbox.lookups{source} (consultas causadas por
+ * "talvez" do filtro).
+ */
+@Component
+public class Inbox {
+
+  private static final Logger log = LoggerFactory.getLogger(Inbox.class);
+
+  private final InboxRepository repository;
+  private final InboxProperties props;
+  private final RotatingBloomFilter filter;
+  private final MeterRegistry registry;
+  private volatile long lastRotation = System.nanoTime();
+
+  public Inbox(InboxRepository repository, InboxProperties props, MeterRegistry registry) {
+    this.repository = repository;
+    this.props = props;
+    this.registry = registry;
+    this.filter =
+        new RotatingBloomFilter(props.getExpectedInsertions(), props.getFalsePositiveRate());
+  }
+
+  /** Ids de {@code messageIds} já processados (fora de transação; no máximo uma consulta). */
+  public Set<String> seen(String source, Collection<String> messageIds) {
+    List<String> maybe = new ArrayList<>();
+    for (String id : messageIds) {
+      if (filter.mightContain(key(source, id))) {
+        maybe.add(id);
+      }
+    }
+    if (maybe.isEmpty()) {
+      return Set.of();
+    }
+    Counter.builder("policy.inbox.lookups").tag("source", source).register(registry).increment();
+    Set<String> duplicates = repository.findExisting(source, maybe);
+    duplicate(source, duplicates.size());
+    return duplicates;
+  }
+
+  public boolean seen(String source, String messageId) {
+    return !seen(source, List.of(messageId)).isEmpty();
+  }
+
+  /**
+   * Registra os ids na transação de quem chama; se ela for desfeita, a reentrega é processada.
+   *
+   * @return os ids novos; os demais já tinham sido registrados e devem ser descartados
+   */
+  public Set<String> record(String source, Collection<String> messageIds) {
+    Set<String> fresh = repository.insertNew(source, messageIds);
+    // no filtro mesmo se a transação for desfeita: falso positivo só custa uma consulta
+    messageIds.forEach(id -> filter.put(key(source, id)));
+    duplicate(source, messageIds.size() - fresh.size());
+    return fresh;
+  }
+
+  public boolean record(String source, String messageId) {
+    return !record(source, List.of(messageId)).isEmpty();
+  }
+
+  private void duplicate(String source, int count) {
+    if (count > 0) {
+      Counter.builder("policy.inbox.duplicates")
+          .tag("source", source)
+          .register(registry)
+          .increment(count);
+    }
+  }
+
+  private static String key(String source, String messageId) {
+    return source + '\u0000' + messageId;
+  }
+
+  /** Remove ids mais velhos que {@code ttl} e gira o filtro a cada {@code ttl}. */
+  @Scheduled(fixedDelayString = "${policy.messaging.inbox.purge-interval:1h}")
+  public void purge() {
+    if (System.nanoTime() - lastRotation >= props.getTtl().toNanos()) {
+      filter.rotate();
+      lastRotation = System.nanoTime();
+    }
+    int removed = repository.deleteReceivedBefore(props.getTtl().toMillis() / 1000.0);
+    if (removed > 0) {
+      log.info("Inbox purge removed {} message ids", removed);
+    }
+  }
+}
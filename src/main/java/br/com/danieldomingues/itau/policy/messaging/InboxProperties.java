@@ -0,0 +1,37 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deduplicação das mensagens de pagamento/subscrição por message id (Inbox).
+ *
+ * policy:
+ *   messaging:
+ *     inbox:
+ *       ttl: 7d
+ *       expected-insertions: 1000000
+ *       false-positive-rate: 0.01
+ *       purge-interval: 1h
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "policy.messaging.inbox")
+public class InboxProperties {
+
+  /** Por quanto tempo um message id é lembrado; reentrega mais velha que isso é reprocessada. */
+  private Duration ttl = Duration.ofDays(7);
+
+  /** Ids por geração do filtro em memória (dimensiona os bits; ~1,2 MB por milhão a 1%). */
+  private long expectedInsertions = 1_000_000;
+
+  /** Taxa de falso positivo do filtro; falso positivo custa uma consulta à inbox_message. */
+  private double falsePositiveRate = 0.01;
+
+  /** Intervalo da limpeza da tabela (e do giro do filtro a cada ttl). */
+  private Duration purgeInterval = Duration.ofHours(1);
+}
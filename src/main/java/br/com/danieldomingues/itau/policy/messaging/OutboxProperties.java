@@ -0,0 +1,67 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Relay do outbox transacional (OutboxRelay).
+ *
+ * policy:
+ *   messaging:
+ *     outbox:
+ *       enabled: true
+ *       batch-size: 100
+ *       poll-interval: 200ms
+ *       max-batches-per-poll: 20
+ *       confirm-timeout: 5s
+ *       claim-lease: 1m
+ *       max-in-flight: 1000
+ *       max-attempts: 10
+ *       retention: 7d
+ *       purge-interval: 1h
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "policy.messaging.outbox")
+public class OutboxProperties {
+
+  /** Publica periodicamente os eventos pendentes do outbox. */
+  private boolean enabled = false;
+
+  /** Eventos reivindicados (e publicados) por vez. */
+  private int batchSize = 100;
+
+  /** Intervalo entre varreduras do outbox. */
+  private Duration pollInterval = Duration.ofMillis(200);
+
+  /** Lotes por varredura, para não monopolizar a thread do scheduler com um backlog grande. */
+  private int maxBatchesPerPoll = 20;
+
+  /** Espera por cada confirm; o que não confirmou a tempo conta uma tentativa. */
+  private Duration confirmTimeout = Duration.ofSeconds(5);
+
+  /**
+   * Por quanto tempo um evento reivindicado fica reservado ao relay que o publicou; se ele cair
+   * antes do confirm, o evento volta para a fila depois disso. No mínimo 2x confirmTimeout.
+   */
+  private Duration claimLease = Duration.ofMinutes(1);
+
+  /**
+   * Mensagens publicadas e ainda sem confirm, somando todos os lotes; cheia, o relay para de
+   * reivindicar até chegarem confirms.
+   */
+  private int maxInFlight = 1000;
+
+  /** Tentativas (nack, retorno ou timeout) antes de estacionar o evento. */
+  private int maxAttempts = 10;
+
+  /** Por quanto tempo eventos já enviados ficam na tabela (auditoria/reenvio manual). */
+  private Duration retention = Duration.ofDays(7);
+
+  /** Intervalo da limpeza dos eventos enviados há mais de {@code retention}. */
+  private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,336 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import br.com.danieldomingues.itau.policy.domain.OutboxEvent;
+import br.com.danieldomingues.itau.policy.repo.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drena o outbox para o RabbitMQ, tirando a latência do broker do caminho dos listeners.
+ *
+ * Nenhuma chamada ao broker acontece dentro de transação. Cada lote é reivindicado numa transação
+ * curta: SELECT ... FOR UPDATE SKIP LOCKED (réplicas pegam lotes disjuntos) e um lease em {@code
+ * claimed_until}, que reserva o lote depois do commit. Os eventos são então publicados com
+ * publisher confirms correlacionados (o id do evento é a correlação e o messageId), sem esperar
+ * confirm: a janela de {@code maxInFlight} mensagens sem confirm vale para todos os lotes, e o
+ * relay só reivindica o que cabe nela. Os confirms chegam de forma assíncrona e são gravados em
+ * outra transação curta, na varredura seguinte: ack marca {@code sent_at}; nack, retorno
+ * (mandatory, sem fila de destino) ou confirm que não chegou em {@code confirmTimeout} contam uma
+ * tentativa e liberam o lease, e o evento sai de novo ou é estacionado ({@code parked_at}) em
+ * {@code maxAttempts}. Se o relay cair antes do confirm, o evento volta quando o lease expira.
+ * Entrega at-least-once: o consumidor deduplica pelo messageId.
+ *
+ * Métricas: policy.outbox.published, policy.outbox.failed (transações do relay que falharam),
+ * policy.outbox.confirms{result}, policy.outbox.confirm.latency, policy.outbox.parked e
+ * policy.outbox.inflight.
+ */
+@Component
+@ConditionalOnProperty(prefix = "policy.messaging.outbox", name = "enabled", havingValue = "true")
+public class OutboxRelay {
+
+  private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+  private final OutboxEventRepository outbox;
+  private final RabbitTemplate rabbitTemplate;
+  private final String exchange;
+  private final TransactionTemplate transactionTemplate;
+  private final OutboxProperties props;
+  private final double leaseSeconds;
+  private final int maxInFlight;
+  private final Semaphore inFlight;
+
+  // publicados à espera do confirm, e confirms (ou timeouts) à espera de gravação
+  private final Map<UUID, Outstanding> outstanding = new ConcurrentHashMap<>();
+  private final Queue<Outcome> outcomes = new ConcurrentLinkedQueue<>();
+
+  private final Counter published;
+  private final Counter failed;
+  private final Counter acked;
+  private final Counter nacked;
+  private final Counter returned;
+  private final Counter timedOut;
+  private final Counter parked;
+  private final Timer confirmLatency;
+
+  public OutboxRelay(
+      OutboxEventRepository outbox,
+      RabbitTemplate rabbitTemplate,
+      TopicExchange policyExchange,
+      TransactionTemplate transactionTemplate,
+      OutboxProperties props,
+      MeterRegistry registry) {
+    this.outbox = outbox;
+    this.rabbitTemplate = rabbitTemplate;
+    this.exchange = policyExchange.getName();
+    this.transactionTemplate = transactionTemplate;
+    this.props = props;
+    Duration lease = props.getClaimLease();
+    Duration minLease = props.getConfirmTimeout().multipliedBy(2);
+    this.leaseSeconds = (lease.compareTo(minLease) < 0 ? minLease : lease).toMillis() / 1000.0;
+    this.maxInFlight = Math.max(1, props.getMaxInFlight());
+    this.inFlight = new Semaphore(maxInFlight);
+
+    this.published = Counter.builder("policy.outbox.published").register(registry);
+    this.failed = Counter.builder("policy.outbox.failed").register(registry);
+    this.acked = confirms(registry, "ack");
+    this.nacked = confirms(registry, "nack");
+    this.returned = confirms(registry, "returned");
+    this.timedOut = confirms(registry, "timeout");
+    this.parked = Counter.builder("policy.outbox.parked").register(registry);
+    this.confirmLatency = Timer.builder("policy.outbox.confirm.latency").register(registry);
+    Gauge.builder("policy.outbox.inflight", inFlight, s -> maxInFlight - s.availablePermits())
+        .register(registry);
+  }
+
+  private static Counter confirms(MeterRegistry registry, String result) {
+    return Counter.builder("policy.outbox.confirms").tag("result", result).register(registry);
+  }
+
+  private record Outstanding(OutboxEvent event, long deadlineNanos) {}
+
+  private record Outcome(OutboxEvent event, boolean sent) {}
+
+  /**
+   * Grava os confirms recebidos e publica lotes até esvaziar o outbox, encher a janela ou atingir
+   * {@code maxBatchesPerPoll}.
+   */
+  @Scheduled(fixedDelayString = "${policy.messaging.outbox.poll-interval:200ms}")
+  public void poll() {
+    recordConfirms();
+    int batchSize = Math.max(1, props.getBatchSize());
+    for (int i = 0; i < Math.max(1, props.getMaxBatchesPerPoll()); i++) {
+      if (relayBatch(batchSize) < batchSize) {
+        break;
+      }
+    }
+    recordConfirms();
+  }
+
+  /**
+   * Reivindica até {@code limit} eventos (limitado ao que cabe na janela) e publica sem esperar
+   * confirm.
+   *
+   * @return eventos publicados; 0 se não havia pendentes, a janela estava cheia ou o claim falhou
+   */
+  int relayBatch(int limit) {
+    int room = Math.min(limit, inFlight.availablePermits());
+    if (room == 0) {
+      return 0;
+    }
+    List<OutboxEvent> batch;
+    try {
+      batch = transactionTemplate.execute(tx -> claim(room));
+    } catch (RuntimeException ex) {
+      failed.increment();
+      log.warn("Outbox claim failed; retrying on next poll: {}", ex.getMessage());
+      return 0;
+    }
+    if (batch == null || batch.isEmpty()) {
+      return 0;
+    }
+
+    int sent = 0;
+    List<UUID> unsent = new ArrayList<>();
+    for (OutboxEvent event : batch) {
+      // depois da primeira falha (broker fora) o resto do lote volta sem tentar
+      if (unsent.isEmpty() && send(event)) {
+        sent++;
+      } else {
+        unsent.add(event.getId());
+      }
+    }
+    if (!unsent.isEmpty()) {
+      release(unsent);
+    }
+    return sent;
+  }
+
+  private List<OutboxEvent> claim(int limit) {
+    List<OutboxEvent> batch = outbox.lockUnsent(limit);
+    if (!batch.isEmpty()) {
+      outbox.claim(batch.stream().map(OutboxEvent::getId).toList(), leaseSeconds);
+    }
+    return batch;
+  }
+
+  /** Devolve à fila, sem contar tentativa, eventos reivindicados que não foram publicados. */
+  private void release(List<UUID> ids) {
+    try {
+      transactionTemplate.executeWithoutResult(tx -> outbox.releaseClaims(ids));
+    } catch (RuntimeException ex) {
+      failed.increment();
+      log.warn(
+          "Failed to release {} outbox claims; relayed after the lease: {}",
+          ids.size(),
+          ex.getMessage());
+    }
+  }
+
+  /** Publica com correlação; o confirm é tratado em {@link #onConfirm}. */
+  private boolean send(OutboxEvent event) {
+    // só a thread do poll reserva; a janela foi conferida no claim, então aqui não espera
+    if (!inFlight.tryAcquire()) {
+      return false;
+    }
+    AtomicBoolean slot = new AtomicBoolean(true);
+    Runnable freeSlot =
+        () -> {
+          if (slot.compareAndSet(true, false)) {
+            inFlight.release();
+          }
+        };
+    CorrelationData correlation = new CorrelationData(event.getId().toString());
+    long start = System.nanoTime();
+    outstanding.put(
+        event.getId(), new Outstanding(event, start + props.getConfirmTimeout().toNanos()));
+    correlation
+        .getFuture()
+        .whenComplete(
+            (confirm, ex) -> {
+              freeSlot.run();
+              confirmLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+              onConfirm(event, correlation, confirm);
+            });
+    try {
+      rabbitTemplate.send(exchange, event.getRoutingKey(), toMessage(event), correlation);
+    } catch (AmqpException ex) {
+      outstanding.remove(event.getId());
+      freeSlot.run();
+      log.warn("Outbox publish failed for {}: {}", event.getId(), ex.getMessage());
+      return false;
+    }
+    return true;
+  }
+
+  /** Thread do canal AMQP: só classifica e enfileira; a gravação fica para o poll. */
+  private void onConfirm(
+      OutboxEvent event, CorrelationData correlation, CorrelationData.Confirm confirm) {
+    // confirm que chegou depois do timeout: a tentativa já foi contada e o evento sai de novo
+    if (outstanding.remove(event.getId()) == null) {
+      return;
+    }
+    boolean sent;
+    if (confirm == null || !confirm.isAck()) {
+      nacked.increment();
+      log.warn(
+          "Outbox event {} nacked: {}",
+          correlation.getId(),
+          confirm == null ? "channel closed" : confirm.getReason());
+      sent = false;
+    } else if (correlation.getReturned() != null) {
+      returned.increment();
+      log.warn(
+          "Outbox event {} returned as unroutable: {}",
+          correlation.getId(),
+          correlation.getReturned().getReplyText());
+      sent = false;
+    } else {
+      acked.increment();
+      sent = true;
+    }
+    outcomes.add(new Outcome(event, sent));
+  }
+
+  /** Vence os confirms atrasados e grava os resultados pendentes numa transação curta. */
+  void recordConfirms() {
+    long now = System.nanoTime();
+    for (Outstanding o : outstanding.values()) {
+      if (now - o.deadlineNanos() >= 0 && outstanding.remove(o.event().getId(), o)) {
+        timedOut.increment();
+        outcomes.add(new Outcome(o.event(), false));
+      }
+    }
+
+    List<UUID> sent = new ArrayList<>();
+    List<UUID> failures = new ArrayList<>();
+    List<OutboxEvent> parking = new ArrayList<>();
+    for (Outcome outcome; (outcome = outcomes.poll()) != null; ) {
+      OutboxEvent event = outcome.event();
+      if (outcome.sent()) {
+        sent.add(event.getId());
+        continue;
+      }
+      failures.add(event.getId());
+      if (event.getAttempts() + 1 >= props.getMaxAttempts()) {
+        parking.add(event);
+      }
+    }
+    if (sent.isEmpty() && failures.isEmpty()) {
+      return;
+    }
+    try {
+      transactionTemplate.executeWithoutResult(
+          tx -> {
+            if (!sent.isEmpty()) {
+              outbox.markSent(sent);
+            }
+            if (!failures.isEmpty()) {
+              outbox.recordFailures(failures, props.getMaxAttempts());
+            }
+          });
+      published.increment(sent.size());
+      // Só depois do commit: com rollback o parked_at não foi gravado e o evento volta a ser
+      // relayed
+      for (OutboxEvent event : parking) {
+        parked.increment();
+        log.error(
+            "Outbox event {} ({}) parked after {} attempts",
+            event.getId(),
+            event.getRoutingKey(),
+            event.getAttempts() + 1);
+      }
+    } catch (RuntimeException ex) {
+      failed.increment();
+      log.warn(
+          "Failed to record {} outbox confirms; relayed again after the lease: {}",
+          sent.size() + failures.size(),
+          ex.getMessage());
+    }
+  }
+
+  static Message toMessage(OutboxEvent event) {
+    MessageProperties properties = new MessageProperties();
+    properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+    properties.setContentEncoding(StandardCharsets.UTF_8.name());
+    properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, event.getTypeId());
+    properties.setMessageId(event.getId().toString());
+    return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+  }
+
+  /** Remove eventos enviados há mais de {@code retention}. */
+  @Scheduled(fixedDelayString = "${policy.messaging.outbox.purge-interval:1h}")
+  public void purge() {
+    double retention = props.getRetention().toMillis() / 1000.0;
+    Integer removed = transactionTemplate.execute(tx -> outbox.deleteSentBefore(retention));
+    if (removed != null && removed > 0) {
+      log.info("Outbox purge removed {} sent events", removed);
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import java.util.List;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Modo batch de {@link PaymentEventListener} (policy.messaging.batch.enabled=true): recebe até
+ * policy.messaging.batch.size mensagens (ou o que chegar em receive-timeout) e o ack do lote só
+ * sai depois do commit e da publicação. As mensagens chegam cruas: a conversão para {@link
+ * PaymentMessage} é feita no handler, uma a uma.
+ */
+@Component
+@ConditionalOnProperty(prefix = "policy.messaging.batch", name = "enabled", havingValue = "true")
+public class PaymentEventBatchListener {
+
+  private final InboundEventBatchHandler handler;
+
+  PaymentEventBatchListener(InboundEventBatchHandler handler) {
+    this.handler = handler;
+  }
+
+  @RabbitListener(
+      queues = "${amqp.queues.payment}",
+      containerFactory = "batchListenerContainerFactory")
+  public void onPayments(List<Message> messages) {
+    handler.handle(messages, InboundEventBatchHandler.PAYMENT);
+  }
+}
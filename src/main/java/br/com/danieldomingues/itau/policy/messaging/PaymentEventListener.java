@@ -1,99 +1,106 @@
 package br.com.danieldomingues.itau.policy.messaging;
 
-import br.com.danieldomingues.itau.policy.domain.Solicitation;
 import br.com.danieldomingues.itau.policy.domain.Status;
 import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import jakarta.validation.Valid;
 import java.time.OffsetDateTime;
-import java.util.Map;
-import java.util.Optional;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+// Uma mensagem por vez; com policy.messaging.batch.enabled=true quem consome é o
+// PaymentEventBatchListener
 @Component
+@ConditionalOnProperty(
+    prefix = "policy.messaging.batch",
+    name = "enabled",
+    havingValue = "false",
+    matchIfMissing = true)
 public class PaymentEventListener {
 
   private static final Logger log = LoggerFactory.getLogger(PaymentEventListener.class);
+  private static final Set<Status> FROM_PENDING = EnumSet.of(Status.PENDENTE);
+  static final String SOURCE = "payment";
 
   private final SolicitationRepository repository;
   private final PolicyEventPublisher publisher;
+  private final TransactionTemplate transactionTemplate;
+  private final Inbox inbox;
 
-  public PaymentEventListener(SolicitationRepository repository, PolicyEventPublisher publisher) {
+  private enum Outcome {
+    MOVED,
+    NOT_PENDING,
+    DUPLICATE
+  }
+
+  public PaymentEventListener(
+      SolicitationRepository repository,
+      PolicyEventPublisher publisher,
+      TransactionTemplate transactionTemplate,
+      Inbox inbox) {
     this.repository = repository;
     this.publisher = publisher;
+    this.transactionTemplate = transactionTemplate;
+    this.inbox = inbox;
   }
 
   /**
-   * Consome mensagens na fila de pagamento.
-   * Espera payload com campos:
-   *  - solicitationId: String (UUID)
-   *  - approved: boolean
+   * Consome mensagens na fila de pagamento ({@link PaymentMessage}, schema v1). Payload malformado
+   * nem chega aqui: a conversão ou a validação falha e a mensagem é rejeitada sem requeue.
    */
   @RabbitListener(queues = "${amqp.queues.payment}")
-  public void onPayment(@Payload Map<String, Object> payload) {
-    String idStr = (String) payload.get("solicitationId");
-    Object approvedObj = payload.get("approved");
-    if (idStr == null || approvedObj == null) {
-      log.warn("Pagamento inválido: payload incompleto {}", payload);
+  public void onPayment(
+      @Payload @Valid PaymentMessage payment,
+      @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+    // Reentrega (mesmo messageId) é descartada sem tocar solicitation; sem messageId vale só a
+    // regra de status abaixo
+    if (messageId != null && inbox.seen(SOURCE, messageId)) {
+      log.info("Ignorando pagamento duplicado (messageId {})", messageId);
       return;
     }
+    UUID id = payment.solicitationId();
 
-    boolean approved =
-        (approvedObj instanceof Boolean)
-            ? (Boolean) approvedObj
-            : Boolean.parseBoolean(approvedObj.toString());
-
-    UUID id;
-    try {
-      id = UUID.fromString(idStr);
-    } catch (IllegalArgumentException e) {
-      log.warn("Pagamento inválido: solicitationId inválido {}", idStr);
+    // Regra: processa somente quando PENDENTE (idempotência). A transição é condicional, então
+    // um cancelamento ou evento concorrente não é sobrescrito. Transição e evento (outbox) na
+    // mesma transação: uma falha desfaz os dois e a mensagem volta para a fila.
+    Status target = payment.approved() ? Status.APROVADO : Status.REJEITADO;
+    Outcome outcome =
+        transactionTemplate.execute(
+            tx -> {
+              if (messageId != null && !inbox.record(SOURCE, messageId)) {
+                return Outcome.DUPLICATE;
+              }
+              if (!repository.transition(id, FROM_PENDING, target, OffsetDateTime.now())) {
+                return Outcome.NOT_PENDING;
+              }
+              String customer =
+                  repository.findById(id).map(s -> s.getCustomerId().toString()).orElse(null);
+              if (target == Status.APROVADO) {
+                publisher.publishSolicitationApproved(id.toString(), customer, "payment-approved");
+              } else {
+                publisher.publishSolicitationRejected(id.toString(), customer, "payment-rejected");
+              }
+              return Outcome.MOVED;
+            });
+    if (outcome == Outcome.DUPLICATE) {
+      // Outra réplica registrou o mesmo messageId entre o seen e o commit
+      log.info("Ignorando pagamento duplicado (messageId {})", messageId);
       return;
     }
-
-    Optional<Solicitation> opt = repository.findById(id);
-    if (opt.isEmpty()) {
-      log.warn("Pagamento recebido para solicitacao inexistente: {}", id);
+    if (outcome != Outcome.MOVED) {
+      log.info("Ignorando pagamento para {}: inexistente ou status diferente de PENDENTE", id);
       return;
     }
 
-    Solicitation s = opt.get();
-
-    // Regra: processa somente quando PENDENTE (idempotência)
-    if (s.getStatus() != Status.PENDENTE) {
-      log.info("Ignorando pagamento para {} pois status atual é {}", s.getId(), s.getStatus());
-      return;
-    }
-
-    OffsetDateTime now = OffsetDateTime.now();
-
-    if (approved) {
-      s.setStatus(Status.APROVADO);
-      s.addHistory(Status.APROVADO, now);
-      s.setFinishedAt(now);
-      repository.save(s);
-      try {
-        publisher.publishSolicitationApproved(
-            s.getId().toString(), s.getCustomerId().toString(), "payment-approved");
-      } catch (Exception e) {
-        log.error("Falha ao publicar ApprovedEvent para {}: {}", s.getId(), e.getMessage(), e);
-      }
-    } else {
-      s.setStatus(Status.REJEITADO);
-      s.addHistory(Status.REJEITADO, now);
-      s.setFinishedAt(now);
-      repository.save(s);
-      try {
-        publisher.publishSolicitationRejected(
-            s.getId().toString(), s.getCustomerId().toString(), "payment-rejected");
-      } catch (Exception e) {
-        log.error("Falha ao publicar RejectedEvent para {}: {}", s.getId(), e.getMessage(), e);
-      }
-    }
-
-    log.info("Pagamento processado para {} -> {}", s.getId(), s.getStatus());
+    log.info("Pagamento processado para {} -> {}", id, target);
   }
 }
@@ -0,0 +1,24 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+
+/**
+ * Mensagem da fila de pagamento, schema v1 (schemas/payment-message.v1.json).
+ *
+ * Ligada direto pelo Jackson2JsonMessageConverter a partir do tipo do parâmetro do listener; o
+ * produtor não precisa mandar {@code __TypeId__}, mas se mandar usa {@link #TYPE_ID}. Campos
+ * desconhecidos são ignorados (mudanças compatíveis continuam em v1); "true"/"false" em texto
+ * ainda são aceitos. UUID inválido ou campo obrigatório ausente rejeita a mensagem antes de
+ * qualquer acesso ao banco.
+ */
+public record PaymentMessage(@NotNull UUID solicitationId, @NotNull Boolean approved)
+    implements InboundMessage {
+
+  public static final String TYPE_ID = "payment.v1";
+
+  @Override
+  public boolean positive() {
+    return approved;
+  }
+}
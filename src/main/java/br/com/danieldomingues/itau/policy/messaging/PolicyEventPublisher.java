@@ -1,20 +1,31 @@
 package br.com.danieldomingues.itau.policy.messaging;
 
+import br.com.danieldomingues.itau.policy.domain.OutboxEvent;
+import br.com.danieldomingues.itau.policy.repo.OutboxEventRepository;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
-import org.springframework.amqp.core.TopicExchange;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Publica eventos de domínio (Approved/Rejected) no RabbitMQ.
- * Os nomes de exchange e routing keys vêm do application.yml.
+ * Publica eventos de domínio (Approved/Rejected) via outbox transacional.
+ *
+ * O evento é gravado na tabela outbox_event dentro da transação de quem chama (a mesma da mudança
+ * de status; sem transação ativa a chamada falha), já serializado como o RabbitTemplate o
+ * enviaria. O {@link OutboxRelay} publica no RabbitMQ depois do commit. As routing keys vêm do
+ * application.yml.
  */
 @Component
 public class PolicyEventPublisher {
 
-  private final RabbitTemplate rabbitTemplate;
-  private final TopicExchange policyExchange;
+  private final OutboxEventRepository outbox;
+  private final Jackson2JsonMessageConverter messageConverter;
 
   @Value("${amqp.routing.approved}")
   private String approvedRoutingKey;
@@ -22,12 +33,14 @@ public class PolicyEventPublisher {
   @Value("${amqp.routing.rejected}")
   private String rejectedRoutingKey;
 
-  public PolicyEventPublisher(RabbitTemplate rabbitTemplate, TopicExchange policyExchange) {
-    this.rabbitTemplate = rabbitTemplate;
-    this.policyExchange = policyExchange;
+  public PolicyEventPublisher(
+      OutboxEventRepository outbox, Jackson2JsonMessageConverter messageConverter) {
+    this.outbox = outbox;
+    this.messageConverter = messageConverter;
   }
 
   /** Publica evento de aprovação. */
+  @Transactional(propagation = Propagation.MANDATORY)
   public void publishSolicitationApproved(
       String solicitationId, String customerId, String details) {
     ApprovedEvent payload = new ApprovedEvent();
@@ -36,10 +49,11 @@ public class PolicyEventPublisher {
     payload.setDetails(details);
     payload.setOccurredAt(OffsetDateTime.now());
 
-    rabbitTemplate.convertAndSend(policyExchange.getName(), approvedRoutingKey, payload);
+    enqueue(approvedRoutingKey, payload);
   }
 
   /** Publica evento de rejeição. */
+  @Transactional(propagation = Propagation.MANDATORY)
   public void publishSolicitationRejected(String solicitationId, String customerId, String reason) {
     RejectedEvent payload = new RejectedEvent();
     payload.setSolicitationId(solicitationId);
@@ -47,7 +61,20 @@ public class PolicyEventPublisher {
     payload.setReason(reason);
     payload.setOccurredAt(OffsetDateTime.now());
 
-    rabbitTemplate.convertAndSend(policyExchange.getName(), rejectedRoutingKey, payload);
+    enqueue(rejectedRoutingKey, payload);
+  }
+
+  private void enqueue(String routingKey, Object payload) {
+    Message message = messageConverter.toMessage(payload, new MessageProperties());
+    outbox.save(
+        OutboxEvent.builder()
+            .routingKey(routingKey)
+            .typeId(
+                message
+                    .getMessageProperties()
+                    .getHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME))
+            .payload(new String(message.getBody(), StandardCharsets.UTF_8))
+            .build());
   }
 
   // ===== Payloads simples (POJO) =====
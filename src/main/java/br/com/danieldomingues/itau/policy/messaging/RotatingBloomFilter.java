@@ -0,0 +1,90 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de strings com duas gerações, thread-safe e sem lock.
+ *
+ * {@link #mightContain} consulta as duas gerações; {@link #rotate} descarta a mais antiga. Girando
+ * a cada TTL, tudo o que foi inserido no último TTL continua presente. Falso positivo na taxa de
+ * dimensionamento por geração; falso negativo nunca (para chaves inseridas nesta JVM).
+ */
+final class RotatingBloomFilter {
+
+  private final int bits;
+  private final int hashes;
+  private volatile AtomicLongArray current;
+  private volatile AtomicLongArray previous;
+
+  RotatingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+    long n = Math.max(1, expectedInsertions);
+    double p = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+    // m = -n ln p / (ln 2)^2; k = m/n ln 2
+    long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+    this.bits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, m));
+    this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    this.current = new AtomicLongArray(words());
+    this.previous = new AtomicLongArray(words());
+  }
+
+  private int words() {
+    return (bits + 63) >>> 6;
+  }
+
+  void put(String key) {
+    AtomicLongArray target = current;
+    long h = hash(key);
+    int h1 = (int) h;
+    int h2 = (int) (h >>> 32);
+    for (int i = 0; i < hashes; i++) {
+      int bit = index(h1 + i * h2);
+      long mask = 1L << bit;
+      target.accumulateAndGet(bit >>> 6, mask, (word, m) -> word | m);
+    }
+  }
+
+  boolean mightContain(String key) {
+    long h = hash(key);
+    return contains(current, h) || contains(previous, h);
+  }
+
+  void rotate() {
+    previous = current;
+    current = new AtomicLongArray(words());
+  }
+
+  int bitSize() {
+    return bits;
+  }
+
+  private boolean contains(AtomicLongArray array, long h) {
+    int h1 = (int) h;
+    int h2 = (int) (h >>> 32);
+    for (int i = 0; i < hashes; i++) {
+      int bit = index(h1 + i * h2);
+      if ((array.get(bit >>> 6) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int index(int combined) {
+    return (combined & Integer.MAX_VALUE) % bits;
+  }
+
+  // FNV-1a 64 + finalizador do MurmurHash3: as duas metades servem de h1/h2 (double hashing)
+  private static long hash(String key) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      h ^= key.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
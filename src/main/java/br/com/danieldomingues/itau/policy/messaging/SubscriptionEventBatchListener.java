@@ -0,0 +1,26 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import java.util.List;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Modo batch de {@link SubscriptionEventListener}; ver {@link PaymentEventBatchListener}. */
+@Component
+@ConditionalOnProperty(prefix = "policy.messaging.batch", name = "enabled", havingValue = "true")
+public class SubscriptionEventBatchListener {
+
+  private final InboundEventBatchHandler handler;
+
+  SubscriptionEventBatchListener(InboundEventBatchHandler handler) {
+    this.handler = handler;
+  }
+
+  @RabbitListener(
+      queues = "${amqp.queues.subscription}",
+      containerFactory = "batchListenerContainerFactory")
+  public void onSubscriptions(List<Message> messages) {
+    handler.handle(messages, InboundEventBatchHandler.SUBSCRIPTION);
+  }
+}
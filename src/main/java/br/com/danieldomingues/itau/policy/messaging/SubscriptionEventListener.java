@@ -1,100 +1,109 @@
 package br.com.danieldomingues.itau.policy.messaging;
 
-import br.com.danieldomingues.itau.policy.domain.Solicitation;
 import br.com.danieldomingues.itau.policy.domain.Status;
 import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import jakarta.validation.Valid;
 import java.time.OffsetDateTime;
-import java.util.Map;
-import java.util.Optional;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+// Uma mensagem por vez; com policy.messaging.batch.enabled=true quem consome é o
+// SubscriptionEventBatchListener
 @Component
+@ConditionalOnProperty(
+    prefix = "policy.messaging.batch",
+    name = "enabled",
+    havingValue = "false",
+    matchIfMissing = true)
 public class SubscriptionEventListener {
 
   private static final Logger log = LoggerFactory.getLogger(SubscriptionEventListener.class);
+  private static final Set<Status> FROM_PENDING = EnumSet.of(Status.PENDENTE);
+  static final String SOURCE = "subscription";
 
   private final SolicitationRepository repository;
   private final PolicyEventPublisher publisher;
+  private final TransactionTemplate transactionTemplate;
+  private final Inbox inbox;
+
+  private enum Outcome {
+    MOVED,
+    NOT_PENDING,
+    DUPLICATE
+  }
 
   public SubscriptionEventListener(
-      SolicitationRepository repository, PolicyEventPublisher publisher) {
+      SolicitationRepository repository,
+      PolicyEventPublisher publisher,
+      TransactionTemplate transactionTemplate,
+      Inbox inbox) {
     this.repository = repository;
     this.publisher = publisher;
+    this.transactionTemplate = transactionTemplate;
+    this.inbox = inbox;
   }
 
   /**
-   * Consome mensagens da fila de subscrição.
-   * Payload esperado:
-   *  - solicitationId: String (UUID)
-   *  - active: boolean   (true = assinatura ativa/autorizada)
+   * Consome mensagens da fila de subscricao ({@link SubscriptionMessage}, schema v1). Payload
+   * malformado nem chega aqui: a conversao ou a validacao falha e a mensagem e rejeitada sem
+   * requeue.
    */
   @RabbitListener(queues = "${amqp.queues.subscription}")
-  public void onSubscription(@Payload Map<String, Object> payload) {
-    String idStr = (String) payload.get("solicitationId");
-    Object activeObj = payload.get("active");
-    if (idStr == null || activeObj == null) {
-      log.warn("Subscricao invalida: payload incompleto {}", payload);
+  public void onSubscription(
+      @Payload @Valid SubscriptionMessage subscription,
+      @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+    // Reentrega (mesmo messageId) e descartada sem tocar solicitation; sem messageId vale so a
+    // regra de status abaixo
+    if (messageId != null && inbox.seen(SOURCE, messageId)) {
+      log.info("Ignorando subscricao duplicada (messageId {})", messageId);
       return;
     }
+    UUID id = subscription.solicitationId();
 
-    boolean active =
-        (activeObj instanceof Boolean)
-            ? (Boolean) activeObj
-            : Boolean.parseBoolean(activeObj.toString());
-
-    UUID id;
-    try {
-      id = UUID.fromString(idStr);
-    } catch (IllegalArgumentException e) {
-      log.warn("Subscricao invalida: solicitationId invalido {}", idStr);
+    // Regra: processa somente quando PENDENTE (idempotencia). A transicao e condicional, entao
+    // um cancelamento ou evento concorrente nao e sobrescrito. Transicao e evento (outbox) na
+    // mesma transacao: uma falha desfaz os dois e a mensagem volta para a fila.
+    Status target = subscription.active() ? Status.APROVADO : Status.REJEITADO;
+    Outcome outcome =
+        transactionTemplate.execute(
+            tx -> {
+              if (messageId != null && !inbox.record(SOURCE, messageId)) {
+                return Outcome.DUPLICATE;
+              }
+              if (!repository.transition(id, FROM_PENDING, target, OffsetDateTime.now())) {
+                return Outcome.NOT_PENDING;
+              }
+              String customer =
+                  repository.findById(id).map(s -> s.getCustomerId().toString()).orElse(null);
+              if (target == Status.APROVADO) {
+                publisher.publishSolicitationApproved(
+                    id.toString(), customer, "subscription-active");
+              } else {
+                publisher.publishSolicitationRejected(
+                    id.toString(), customer, "subscription-rejected");
+              }
+              return Outcome.MOVED;
+            });
+    if (outcome == Outcome.DUPLICATE) {
+      // Outra replica registrou o mesmo messageId entre o seen e o commit
+      log.info("Ignorando subscricao duplicada (messageId {})", messageId);
       return;
     }
-
-    Optional<Solicitation> opt = repository.findById(id);
-    if (opt.isEmpty()) {
-      log.warn("Subscricao recebida para solicitacao inexistente: {}", id);
+    if (outcome != Outcome.MOVED) {
+      log.info("Ignorando subscricao para {}: inexistente ou status diferente de PENDENTE", id);
       return;
     }
 
-    Solicitation s = opt.get();
-
-    // Regra: processa somente quando PENDENTE (idempotencia)
-    if (s.getStatus() != Status.PENDENTE) {
-      log.info("Ignorando subscricao para {} pois status atual e {}", s.getId(), s.getStatus());
-      return;
-    }
-
-    OffsetDateTime now = OffsetDateTime.now();
-
-    if (active) {
-      s.setStatus(Status.APROVADO);
-      s.addHistory(Status.APROVADO, now);
-      s.setFinishedAt(now);
-      repository.save(s);
-      try {
-        publisher.publishSolicitationApproved(
-            s.getId().toString(), s.getCustomerId().toString(), "subscription-active");
-      } catch (Exception e) {
-        log.error("Falha ao publicar ApprovedEvent para {}: {}", s.getId(), e.getMessage(), e);
-      }
-    } else {
-      s.setStatus(Status.REJEITADO);
-      s.addHistory(Status.REJEITADO, now);
-      s.setFinishedAt(now);
-      repository.save(s);
-      try {
-        publisher.publishSolicitationRejected(
-            s.getId().toString(), s.getCustomerId().toString(), "subscription-rejected");
-      } catch (Exception e) {
-        log.error("Falha ao publicar RejectedEvent para {}: {}", s.getId(), e.getMessage(), e);
-      }
-    }
-
-    log.info("Subscricao processada para {} -> {}", s.getId(), s.getStatus());
+    log.info("Subscricao processada para {} -> {}", id, target);
   }
 }
@@ -0,0 +1,19 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+
+/**
+ * Mensagem da fila de subscrição, schema v1 (schemas/subscription-message.v1.json); mesmas
+ * regras de {@link PaymentMessage}. {@code active} = assinatura ativa/autorizada.
+ */
+public record SubscriptionMessage(@NotNull UUID solicitationId, @NotNull Boolean active)
+    implements InboundMessage {
+
+  public static final String TYPE_ID = "subscription.v1";
+
+  @Override
+  public boolean positive() {
+    return active;
+  }
+}
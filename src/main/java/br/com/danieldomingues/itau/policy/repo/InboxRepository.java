@@ -0,0 +1,89 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tabela inbox_message (deduplicação das mensagens de entrada por message id).
+ *
+ * Sem entidade JPA: as operações são todas em lote por chave e o INSERT precisa do RETURNING para
+ * saber quais ids eram novos.
+ */
+@Repository
+public class InboxRepository {
+
+  @PersistenceContext private EntityManager em;
+
+  /** Ids de {@code messageIds} já registrados para {@code source} (uma consulta pela PK). */
+  @Transactional(readOnly = true)
+  @SuppressWarnings("unchecked")
+  public Set<String> findExisting(String source, Collection<String> messageIds) {
+    if (messageIds.isEmpty()) {
+      return Set.of();
+    }
+    return new HashSet<>(
+        em.createNativeQuery(
+                "SELECT message_id FROM inbox_message"
+                    + " WHERE source = :source AND message_id IN (:ids)")
+            .setParameter("source", source)
+            .setParameter("ids", messageIds)
+            .getResultList());
+  }
+
+  /**
+   * Registra os ids na transação de quem chama, num único INSERT ... ON CONFLICT DO NOTHING.
+   *
+   * @return os ids que ainda não estavam registrados; os demais são duplicatas (inclusive de outra
+   *     réplica que acabou de registrá-los)
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public Set<String> insertNew(String source, Collection<String> messageIds) {
+    if (messageIds.isEmpty()) {
+      return Set.of();
+    }
+    return em.unwrap(Session.class)
+        .doReturningWork(
+            connection -> {
+              Set<String> inserted = new HashSet<>();
+              Array ids = connection.createArrayOf("varchar", messageIds.toArray());
+              try (PreparedStatement ps =
+                  connection.prepareStatement(
+                      """
+                      INSERT INTO inbox_message (source, message_id, received_at)
+                      SELECT ?, id, now() FROM unnest(?) AS id
+                      ON CONFLICT DO NOTHING
+                      RETURNING message_id
+                      """)) {
+                ps.setString(1, source);
+                ps.setArray(2, ids);
+                try (ResultSet rs = ps.executeQuery()) {
+                  while (rs.next()) {
+                    inserted.add(rs.getString(1));
+                  }
+                }
+              } finally {
+                ids.free();
+              }
+              return inserted;
+            });
+  }
+
+  @Transactional
+  public int deleteReceivedBefore(double ageSeconds) {
+    return em.createNativeQuery(
+            "DELETE FROM inbox_message"
+                + " WHERE received_at < now() - make_interval(secs => :ageSeconds)")
+        .setParameter("ageSeconds", ageSeconds)
+        .executeUpdate();
+  }
+}
@@ -0,0 +1,76 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import br.com.danieldomingues.itau.policy.domain.OutboxEvent;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+  // Relay: trava até :limit pendentes e sem lease vigente, na ordem de gravação. O SKIP LOCKED
+  // deixa réplicas do relay pegarem lotes disjuntos; o lock só vale até o claim (transação curta),
+  // depois quem segura o lote é o claimed_until.
+  @Query(
+      value =
+          """
+          SELECT * FROM outbox_event
+          WHERE sent_at IS NULL AND parked_at IS NULL
+            AND (claimed_until IS NULL OR claimed_until < now())
+          ORDER BY created_at
+          LIMIT :limit
+          FOR UPDATE SKIP LOCKED
+          """,
+      nativeQuery = true)
+  List<OutboxEvent> lockUnsent(@Param("limit") int limit);
+
+  // Reivindica o lote travado por lockUnsent: nenhuma réplica o publica até o lease expirar
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value =
+          """
+          UPDATE outbox_event SET claimed_until = now() + make_interval(secs => :leaseSeconds)
+          WHERE id IN (:ids)
+          """,
+      nativeQuery = true)
+  int claim(@Param("ids") Collection<UUID> ids, @Param("leaseSeconds") double leaseSeconds);
+
+  // Reivindicados que não chegaram a ser publicados (janela cheia, broker fora): voltam já
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value = "UPDATE outbox_event SET claimed_until = NULL WHERE id IN (:ids)",
+      nativeQuery = true)
+  int releaseClaims(@Param("ids") Collection<UUID> ids);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(value = "UPDATE outbox_event SET sent_at = now() WHERE id IN (:ids)", nativeQuery = true)
+  int markSent(@Param("ids") Collection<UUID> ids);
+
+  // Nack, retorno ou confirm perdido: conta a tentativa, libera o lease (sai de novo na próxima
+  // varredura) e estaciona ao atingir :maxAttempts
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value =
+          """
+          UPDATE outbox_event
+          SET attempts = attempts + 1,
+              claimed_until = NULL,
+              parked_at = CASE WHEN attempts + 1 >= :maxAttempts THEN now() END
+          WHERE id IN (:ids)
+          """,
+      nativeQuery = true)
+  int recordFailures(@Param("ids") Collection<UUID> ids, @Param("maxAttempts") int maxAttempts);
+
+  @Modifying
+  @Query(
+      value =
+          """
+          DELETE FROM outbox_event
+          WHERE sent_at < now() - make_interval(secs => :retentionSeconds)
+          """,
+      nativeQuery = true)
+  int deleteSentBefore(@Param("retentionSeconds") double retentionSeconds);
+}
@@ -0,0 +1,16 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import java.util.List;
+
+/** Carga em lote das coleções LAZY de uma página de solicitações (fragmento do repositório). */
+public interface SolicitationCollections {
+
+  /**
+   * Inicializa history, coverages e assistances de todas as solicitações da página com uma
+   * consulta por coleção (join fetch com {@code id in (...)}), em vez de uma por entidade: 3
+   * consultas qualquer que seja o tamanho da página. As entidades precisam estar gerenciadas pela
+   * sessão atual (chamar dentro da mesma transação que as carregou).
+   */
+  void fetchCollections(List<Solicitation> page);
+}
@@ -0,0 +1,38 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.transaction.annotation.Transactional;
+
+class SolicitationCollectionsImpl implements SolicitationCollections {
+
+  // Uma coleção por consulta: join fetch de duas bags juntas geraria produto cartesiano (e
+  // MultipleBagFetchException). As três consultas devolvem as mesmas instâncias da sessão, então
+  // cada uma só preenche a sua coleção nas entidades já carregadas.
+  private static final List<String> FETCHES =
+      List.of(
+          "select s from Solicitation s left join fetch s.history where s.id in :ids",
+          "select s from Solicitation s left join fetch s.coverages where s.id in :ids",
+          "select s from Solicitation s left join fetch s.assistances where s.id in :ids");
+
+  @PersistenceContext private EntityManager em;
+
+  @Override
+  @Transactional(readOnly = true)
+  public void fetchCollections(List<Solicitation> page) {
+    fetch(em, page);
+  }
+
+  static void fetch(EntityManager em, List<Solicitation> page) {
+    if (page.isEmpty()) {
+      return;
+    }
+    List<UUID> ids = page.stream().map(Solicitation::getId).toList();
+    for (String jpql : FETCHES) {
+      em.createQuery(jpql, Solicitation.class).setParameter("ids", ids).getResultList();
+    }
+  }
+}
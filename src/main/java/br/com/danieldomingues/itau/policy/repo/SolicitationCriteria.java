@@ -0,0 +1,73 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/** Tradução de {@link SolicitationFilter} para Criteria, comum à busca e à exportação. */
+final class SolicitationCriteria {
+
+  private SolicitationCriteria() {}
+
+  static List<Predicate> where(CriteriaBuilder cb, Root<Solicitation> s, SolicitationFilter f) {
+    List<Predicate> where = new ArrayList<>();
+    if (f.customerId() != null) {
+      where.add(cb.equal(s.get("customerId"), f.customerId()));
+    }
+    if (f.status() != null) {
+      where.add(cb.equal(s.get("status"), f.status()));
+    }
+    if (f.active()) {
+      // literais, não parâmetros: o planner só usa o índice parcial se puder provar o predicado
+      where.add(
+          s.get("status")
+              .in(
+                  cb.literal(Status.RECEBIDO),
+                  cb.literal(Status.VALIDADO),
+                  cb.literal(Status.PENDENTE)));
+    }
+    if (f.category() != null) {
+      where.add(cb.equal(s.get("category"), f.category()));
+    }
+    if (f.salesChannel() != null) {
+      where.add(cb.equal(s.get("salesChannel"), f.salesChannel()));
+    }
+    if (f.paymentMethod() != null) {
+      where.add(cb.equal(s.get("paymentMethod"), f.paymentMethod()));
+    }
+    if (f.productId() != null) {
+      where.add(cb.equal(s.get("productId"), f.productId()));
+    }
+    if (f.createdFrom() != null) {
+      where.add(cb.greaterThanOrEqualTo(s.<OffsetDateTime>get("createdAt"), f.createdFrom()));
+    }
+    if (f.createdTo() != null) {
+      where.add(cb.lessThan(s.<OffsetDateTime>get("createdAt"), f.createdTo()));
+    }
+    return where;
+  }
+
+  /**
+   * Depois da chave (createdAt, id): o {@code createdAt >=} redundante dá ao planner o início do
+   * range nos índices (..., created_at, id).
+   */
+  static Predicate after(
+      CriteriaBuilder cb, Root<Solicitation> s, OffsetDateTime createdAt, UUID id) {
+    return cb.and(
+        cb.greaterThanOrEqualTo(s.<OffsetDateTime>get("createdAt"), createdAt),
+        cb.or(
+            cb.greaterThan(s.<OffsetDateTime>get("createdAt"), createdAt),
+            cb.greaterThan(s.<UUID>get("id"), id)));
+  }
+
+  static List<Order> byCreatedAt(CriteriaBuilder cb, Root<Solicitation> s) {
+    return List.of(cb.asc(s.get("createdAt")), cb.asc(s.get("id")));
+  }
+}
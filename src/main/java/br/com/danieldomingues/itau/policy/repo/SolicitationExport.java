@@ -0,0 +1,20 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import java.util.List;
+import java.util.function.Consumer;
+
+/** Leitura em streaming de grandes volumes para exportação (fragmento do repositório). */
+public interface SolicitationExport {
+
+  /**
+   * Percorre as solicitações do filtro em ordem (createdAt, id) com cursor no servidor (fetch size
+   * do JDBC = {@code chunkSize}) e entrega-as em chunks, já com as coleções carregadas em lote. Após
+   * cada chunk a sessão é limpa: as entidades entregues ficam destacadas e a memória não cresce com
+   * o total de linhas. O consumer roda dentro da transação de leitura.
+   *
+   * @return total de solicitações entregues
+   */
+  long exportInChunks(
+      SolicitationFilter filter, int chunkSize, Consumer<List<Solicitation>> chunkSink);
+}
@@ -0,0 +1,67 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.transaction.annotation.Transactional;
+
+class SolicitationExportImpl implements SolicitationExport {
+
+  @PersistenceContext private EntityManager em;
+
+  @Override
+  @Transactional(readOnly = true)
+  public long exportInChunks(
+      SolicitationFilter filter, int chunkSize, Consumer<List<Solicitation>> chunkSink) {
+    int size = Math.max(1, chunkSize);
+
+    long total = 0;
+    List<Solicitation> chunk = new ArrayList<>(size);
+    try (Stream<Solicitation> rows =
+        em.createQuery(query(filter))
+            .setHint(AvailableHints.HINT_FETCH_SIZE, size)
+            .setHint(AvailableHints.HINT_READ_ONLY, true)
+            .getResultStream()) {
+      Iterator<Solicitation> it = rows.iterator();
+      while (it.hasNext()) {
+        chunk.add(it.next());
+        if (chunk.size() >= size) {
+          total += deliver(chunk, chunkSink);
+        }
+      }
+      total += deliver(chunk, chunkSink);
+    }
+    return total;
+  }
+
+  private int deliver(List<Solicitation> chunk, Consumer<List<Solicitation>> chunkSink) {
+    if (chunk.isEmpty()) {
+      return 0;
+    }
+    int n = chunk.size();
+    SolicitationCollectionsImpl.fetch(em, chunk);
+    chunkSink.accept(List.copyOf(chunk));
+    chunk.clear();
+    em.clear();
+    return n;
+  }
+
+  private CriteriaQuery<Solicitation> query(SolicitationFilter filter) {
+    CriteriaBuilder cb = em.getCriteriaBuilder();
+    CriteriaQuery<Solicitation> q = cb.createQuery(Solicitation.class);
+    Root<Solicitation> s = q.from(Solicitation.class);
+    return q.select(s)
+        .where(SolicitationCriteria.where(cb, s, filter).toArray(Predicate[]::new))
+        .orderBy(SolicitationCriteria.byCreatedAt(cb, s));
+  }
+}
@@ -0,0 +1,30 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.Builder;
+
+/**
+ * Filtros opcionais sobre solicitações (null = sem filtro), combinados com AND. {@code active}
+ * restringe aos status em andamento (RECEBIDO, VALIDADO, PENDENTE), servido pelo índice parcial
+ * idx_solicitation_active_created. O intervalo de criação é semiaberto: {@code createdFrom <=
+ * createdAt < createdTo}.
+ */
+@Builder
+public record SolicitationFilter(
+    UUID customerId,
+    Status status,
+    boolean active,
+    Category category,
+    String salesChannel,
+    String paymentMethod,
+    String productId,
+    OffsetDateTime createdFrom,
+    OffsetDateTime createdTo) {
+
+  public static SolicitationFilter none() {
+    return builder().build();
+  }
+}
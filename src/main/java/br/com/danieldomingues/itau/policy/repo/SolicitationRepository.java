@@ -1,18 +1,108 @@
 package br.com.danieldomingues.itau.policy.repo;
 
 import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface SolicitationRepository extends JpaRepository<Solicitation, UUID> {
+public interface SolicitationRepository
+    extends JpaRepository<Solicitation, UUID>,
+        SolicitationTransitions,
+        SolicitationCollections,
+        SolicitationExport,
+        SolicitationSearch {
 
   // Mantemos apenas o fetch do history para cenários que realmente precisem (ex.: cancelamento).
   @EntityGraph(attributePaths = "history")
   Optional<Solicitation> findWithHistoryById(UUID id);
 
-  // Para listagem por cliente (sem forçar fetch de bags; service poderá inicializar o que precisar)
+  // Para listagem por cliente (sem fetch de bags; coleções em lote via fetchCollections)
   List<Solicitation> findByCustomerId(UUID customerId);
+
+  // Paginação keyset por (createdAt, id), servida pelo índice idx_solicitation_customer_created:
+  // a página N custa o mesmo que a primeira (sem OFFSET). O createdAt >= redundante dá ao planner
+  // o início do range no índice.
+  List<Solicitation> findByCustomerIdOrderByCreatedAtAscIdAsc(UUID customerId, Limit limit);
+
+  @Query(
+      """
+      select s from Solicitation s
+      where s.customerId = :customerId
+        and s.createdAt >= :createdAt
+        and (s.createdAt > :createdAt or s.id > :id)
+      order by s.createdAt, s.id
+      """)
+  List<Solicitation> findByCustomerIdAfter(
+      @Param("customerId") UUID customerId,
+      @Param("createdAt") OffsetDateTime createdAt,
+      @Param("id") UUID id,
+      Limit limit);
+
+  // Só o status, para classificar uma transição que não venceu (sem carregar o agregado)
+  @Query("select s.status from Solicitation s where s.id = :id")
+  Optional<Status> findStatusById(@Param("id") UUID id);
+
+  // Fila de validação multi-nó (ValidationClaimWorker). Usar as três dentro da mesma transação
+  // curta: o SKIP LOCKED faz cada nó pular as linhas que outro nó está reivindicando, e o lease
+  // (claimed_until, relógio do banco) devolve à fila as linhas de um nó que caiu. O claim não é
+  // estado de negócio e não incrementa a versão: não conflita com a validação em andamento.
+  @Query(
+      value =
+          """
+          SELECT id FROM solicitation
+          WHERE status = 'RECEBIDO'
+            AND (claimed_until IS NULL OR claimed_until < now())
+            AND created_at <= now() - make_interval(secs => :minAgeSeconds)
+          ORDER BY created_at
+          LIMIT :limit
+          FOR UPDATE SKIP LOCKED
+          """,
+      nativeQuery = true)
+  List<UUID> findClaimableIds(
+      @Param("limit") int limit, @Param("minAgeSeconds") double minAgeSeconds);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value =
+          """
+          UPDATE solicitation
+          SET claimed_by = :owner, claimed_until = now() + make_interval(secs => :leaseSeconds)
+          WHERE id IN (:ids)
+          """,
+      nativeQuery = true)
+  int claim(
+      @Param("ids") Collection<UUID> ids,
+      @Param("owner") String owner,
+      @Param("leaseSeconds") double leaseSeconds);
+
+  // Só o dono libera: se o lease expirou e outro nó reivindicou, o claim dele é preservado
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value =
+          """
+          UPDATE solicitation SET claimed_by = NULL, claimed_until = NULL
+          WHERE id IN (:ids) AND claimed_by = :owner
+          """,
+      nativeQuery = true)
+  int releaseClaims(@Param("ids") Collection<UUID> ids, @Param("owner") String owner);
+
+  // Decisão gravada: a linha saiu de RECEBIDO e o claim, de qualquer nó, não serve mais
+  @Modifying(flushAutomatically = true)
+  @Query(
+      value =
+          """
+          UPDATE solicitation SET claimed_by = NULL, claimed_until = NULL
+          WHERE id = :id AND status <> 'RECEBIDO'
+          """,
+      nativeQuery = true)
+  int clearClaim(@Param("id") UUID id);
 }
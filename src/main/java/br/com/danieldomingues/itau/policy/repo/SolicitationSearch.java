@@ -0,0 +1,18 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/** Busca filtrada com paginação keyset (fragmento do repositório). */
+public interface SolicitationSearch {
+
+  /**
+   * Até {@code limit} solicitações do filtro em ordem (createdAt, id), depois da chave
+   * {@code afterCreatedAt}/{@code afterId} (nulos = do início). Cada combinação de filtros é
+   * servida por um índice (..., created_at, id) ou pelo parcial dos status em andamento.
+   */
+  List<Solicitation> search(
+      SolicitationFilter filter, OffsetDateTime afterCreatedAt, UUID afterId, int limit);
+}
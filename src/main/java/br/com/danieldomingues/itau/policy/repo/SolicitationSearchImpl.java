@@ -0,0 +1,36 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.transaction.annotation.Transactional;
+
+class SolicitationSearchImpl implements SolicitationSearch {
+
+  @PersistenceContext private EntityManager em;
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<Solicitation> search(
+      SolicitationFilter filter, OffsetDateTime afterCreatedAt, UUID afterId, int limit) {
+    CriteriaBuilder cb = em.getCriteriaBuilder();
+    CriteriaQuery<Solicitation> q = cb.createQuery(Solicitation.class);
+    Root<Solicitation> s = q.from(Solicitation.class);
+
+    List<Predicate> where = SolicitationCriteria.where(cb, s, filter);
+    if (afterCreatedAt != null) {
+      where.add(SolicitationCriteria.after(cb, s, afterCreatedAt, afterId));
+    }
+    q.select(s)
+        .where(where.toArray(Predicate[]::new))
+        .orderBy(SolicitationCriteria.byCreatedAt(cb, s));
+    return em.createQuery(q).setMaxResults(limit).getResultList();
+  }
+}
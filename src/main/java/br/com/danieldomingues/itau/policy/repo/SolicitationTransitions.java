@@ -0,0 +1,39 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/** Transições de status condicionais, sem carregar o agregado (fragmento do repositório). */
+public interface SolicitationTransitions {
+
+  /**
+   * Move a solicitação para {@code to} somente se o status atual estiver em {@code expectedFrom}:
+   * um UPDATE ... WHERE id = ? AND status IN (...) e, se ele vencer, um INSERT no histórico.
+   * Status final também grava finishedAt; a versão (@Version) é incrementada, então um save()
+   * concorrente do agregado carregado antes falha com conflito. Não atualiza instâncias já
+   * carregadas na sessão.
+   *
+   * @return true se a transição venceu; false se a solicitação não existe ou já mudou de status
+   */
+  boolean transition(UUID id, Set<Status> expectedFrom, Status to, OffsetDateTime at);
+
+  /**
+   * Versão em lote de {@link #transition}, numa única transação: um SELECT ... WHERE id IN (...)
+   * AND status IN (...) FOR UPDATE carrega as solicitações ainda em {@code expectedFrom}, as
+   * transições são aplicadas em memória e o flush sai com UPDATEs (com checagem de @Version) e
+   * INSERTs de histórico em batch JDBC. Ids inexistentes ou em outro status são ignorados. As
+   * linhas são travadas em ordem de id (lotes concorrentes não entram em deadlock), mas o retorno
+   * segue a ordem de iteração de {@code targets}: passe um LinkedHashMap para fixá-la.
+   *
+   * @param targets status de destino por id
+   * @return as solicitações que transicionaram, na ordem de iteração de {@code targets} (não na
+   *     ordem de id)
+   */
+  List<Solicitation> transitionAll(
+      Map<UUID, Status> targets, Set<Status> expectedFrom, OffsetDateTime at);
+}
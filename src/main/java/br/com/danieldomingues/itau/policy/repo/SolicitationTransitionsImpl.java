@@ -0,0 +1,92 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.domain.StatusHistory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.transaction.annotation.Transactional;
+
+class SolicitationTransitionsImpl implements SolicitationTransitions {
+
+  @PersistenceContext private EntityManager em;
+
+  @Override
+  @Transactional
+  public boolean transition(UUID id, Set<Status> expectedFrom, Status to, OffsetDateTime at) {
+    if (expectedFrom.isEmpty()) {
+      return false;
+    }
+    Query update =
+        em.createQuery(
+                to.isFinal()
+                    ? "update Solicitation s set s.status = :to, s.finishedAt = :at,"
+                        + " s.version = s.version + 1 where s.id = :id and s.status in :from"
+                    : "update Solicitation s set s.status = :to, s.version = s.version + 1"
+                        + " where s.id = :id and s.status in :from")
+            .setParameter("to", to)
+            .setParameter("id", id)
+            .setParameter("from", expectedFrom);
+    if (to.isFinal()) {
+      update.setParameter("at", at);
+    }
+    if (update.executeUpdate() == 0) {
+      return false;
+    }
+
+    // getReference não consulta a solicitação: só a FK do histórico
+    em.persist(new StatusHistory(null, to, at, em.getReference(Solicitation.class, id)));
+    em.flush();
+    return true;
+  }
+
+  @Override
+  @Transactional
+  public List<Solicitation> transitionAll(
+      Map<UUID, Status> targets, Set<Status> expectedFrom, OffsetDateTime at) {
+    if (targets.isEmpty() || expectedFrom.isEmpty()) {
+      return List.of();
+    }
+    // order by id: lotes concorrentes travam as linhas na mesma ordem (sem deadlock). Uma linha
+    // que muda de status enquanto esperamos o lock é reavaliada pelo Postgres e sai do resultado.
+    Map<UUID, Solicitation> byId = new HashMap<>();
+    for (Solicitation s :
+        em.createQuery(
+                "select s from Solicitation s where s.id in :ids and s.status in :from"
+                    + " order by s.id",
+                Solicitation.class)
+            .setParameter("ids", targets.keySet())
+            .setParameter("from", expectedFrom)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .getResultList()) {
+      byId.put(s.getId(), s);
+    }
+
+    List<Solicitation> moved = new ArrayList<>(byId.size());
+    targets.forEach(
+        (id, to) -> {
+          Solicitation s = byId.get(id);
+          if (s == null) {
+            return;
+          }
+          s.setStatus(to);
+          if (to.isFinal()) {
+            s.setFinishedAt(at);
+          }
+          // persist direto: s.addHistory inicializaria a coleção (uma consulta por solicitação)
+          em.persist(new StatusHistory(null, to, at, s));
+          moved.add(s);
+        });
+    em.flush();
+    return moved;
+  }
+}
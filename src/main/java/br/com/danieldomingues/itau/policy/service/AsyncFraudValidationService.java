@@ -0,0 +1,47 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.integration.fraud.AsyncFraudClient;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Validação de fraude sem thread bloqueada durante o HTTP.
+ *
+ * Reaproveita as etapas de {@link FraudValidationService}: a leitura curta roda na thread do
+ * chamador, a chamada remota usa o {@link AsyncFraudClient} e a escrita (JDBC, bloqueante) é
+ * despachada para o executor da aplicação, nunca para as threads de I/O do cliente HTTP.
+ */
+@Service
+@ConditionalOnProperty(prefix = "fraud.api.async", name = "enabled", havingValue = "true")
+public class AsyncFraudValidationService {
+
+  private final FraudValidationService validationService;
+  private final AsyncFraudClient asyncFraudClient;
+  private final Executor writeExecutor;
+
+  public AsyncFraudValidationService(
+      FraudValidationService validationService,
+      AsyncFraudClient asyncFraudClient,
+      @Qualifier("applicationTaskExecutor") Executor writeExecutor) {
+    this.validationService = validationService;
+    this.asyncFraudClient = asyncFraudClient;
+    this.writeExecutor = writeExecutor;
+  }
+
+  public CompletableFuture<Solicitation> validate(UUID solicitationId) {
+    Solicitation s = validationService.loadForValidation(solicitationId);
+    if (!FraudValidationService.needsFraudCheck(s)) {
+      return CompletableFuture.completedFuture(s);
+    }
+
+    return asyncFraudClient
+        .checkAsync(FraudValidationService.fraudRequestFor(s))
+        .thenApplyAsync(
+            resp -> validationService.applyFraudResult(solicitationId, resp), writeExecutor);
+  }
+}
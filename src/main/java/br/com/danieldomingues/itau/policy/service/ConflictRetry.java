@@ -0,0 +1,71 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repete uma unidade de trabalho quando ela perde para um escritor concorrente
+ * ({@link OptimisticLockingFailureException}, ex.: @Version de Solicitation desatualizado).
+ *
+ * A ação deve abrir a própria transação (ex.: {@code transactionTemplate.execute}) e reler o
+ * agregado, para que cada tentativa decida sobre o estado atual; chamar de dentro de uma transação
+ * já aberta não adianta. Esgotadas as tentativas, o conflito é propagado (409 na API).
+ *
+ * Métrica: policy.concurrency.conflicts{outcome=retried|exhausted}.
+ */
+@Component
+public class ConflictRetry {
+
+  private final RetryTemplate template;
+
+  public ConflictRetry(ConflictRetryProperties props, MeterRegistry registry) {
+    Counter retried = conflicts(registry, "retried");
+    Counter exhausted = conflicts(registry, "exhausted");
+    int maxAttempts = Math.max(1, props.getMaxAttempts());
+    long initial = Math.max(1, props.getInitialBackoff().toMillis());
+    this.template =
+        RetryTemplate.builder()
+            .maxAttempts(maxAttempts)
+            .exponentialBackoff(
+                initial, 2.0, Math.max(initial, props.getMaxBackoff().toMillis()), true)
+            .retryOn(OptimisticLockingFailureException.class)
+            .traversingCauses()
+            .withListener(
+                new RetryListener() {
+                  @Override
+                  public <T, E extends Throwable> void onError(
+                      RetryContext context, RetryCallback<T, E> callback, Throwable error) {
+                    if (isConflict(error)) {
+                      (context.getRetryCount() >= maxAttempts ? exhausted : retried).increment();
+                    }
+                  }
+                })
+            .build();
+  }
+
+  private static Counter conflicts(MeterRegistry registry, String outcome) {
+    return Counter.builder("policy.concurrency.conflicts")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+  private static boolean isConflict(Throwable error) {
+    for (Throwable t = error; t != null; t = t.getCause()) {
+      if (t instanceof OptimisticLockingFailureException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public <T> T execute(Supplier<T> action) {
+    return template.execute(ctx -> action.get());
+  }
+}
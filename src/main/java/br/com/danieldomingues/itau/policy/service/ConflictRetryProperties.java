@@ -0,0 +1,33 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retry de conflitos de concorrência otimista (ConflictRetry).
+ *
+ * policy:
+ *   concurrency:
+ *     retry:
+ *       max-attempts: 3
+ *       initial-backoff: 10ms
+ *       max-backoff: 200ms
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "policy.concurrency.retry")
+public class ConflictRetryProperties {
+
+  /** Tentativas no total (1 = sem retry); esgotadas, o conflito vira 409. */
+  private int maxAttempts = 3;
+
+  /** Backoff da primeira repetição; dobra a cada tentativa, com jitter. */
+  private Duration initialBackoff = Duration.ofMillis(10);
+
+  /** Teto do backoff. */
+  private Duration maxBackoff = Duration.ofMillis(200);
+}
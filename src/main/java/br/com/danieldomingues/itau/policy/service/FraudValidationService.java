@@ -7,12 +7,16 @@ import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckReques
 import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
 import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Orquestra a validação de fraudes e realiza a transição de estado:
@@ -23,6 +27,12 @@ import org.springframework.transaction.annotation.Transactional;
  *  - HIGH_RISK/NO_INFO     -> REJEITADO  (finaliza solicitação)
  *
  * Idempotente: se a solicitação já estiver VALIDADO/REJEITADO, não altera.
+ *
+ * A validação roda em três etapas para não segurar conexão/transação durante o HTTP:
+ *  1. leitura curta (transação read-only do próprio repositório);
+ *  2. chamada à API de Fraudes sem transação aberta;
+ *  3. escrita curta e otimista: relê, checa o status (RECEBIDO) e salva; se outro escritor mudou
+ *     a linha no meio (@Version), {@link ConflictRetry} repete a etapa sobre o estado atual.
  */
 @Slf4j
 @Service
@@ -31,9 +41,79 @@ public class FraudValidationService {
 
   private final SolicitationRepository repository;
   private final FraudClient fraudClient;
+  private final TransactionTemplate transactionTemplate;
+  private final ConflictRetry conflictRetry;
 
-  @Transactional
   public Solicitation validate(UUID solicitationId) {
+    // 1) Leitura curta: a conexão volta ao pool assim que o findById retorna
+    Solicitation s = loadForValidation(solicitationId);
+    if (!needsFraudCheck(s)) {
+      return s;
+    }
+
+    // 2) Chamada remota sem transação: um fraud lento não drena o pool do Hikari
+    FraudCheckResponse resp = fraudClient.check(fraudRequestFor(s));
+
+    // 3) Escrita curta e condicional
+    return applyFraudResult(solicitationId, resp);
+  }
+
+  /**
+   * Valida vários ids com uma única leitura e um único {@link FraudClient#checkAll}.
+   * Ids inexistentes ou fora de RECEBIDO são ignorados; falha da API de Fraudes (inclusive uma
+   * resposta com quantidade de itens diferente do pedido) é propagada e deixa todas as
+   * solicitações do lote em RECEBIDO. Um item que some ou esgota o {@link ConflictRetry} fica
+   * fora do retorno sem interromper os demais.
+   * @return solicitações em RECEBIDO no início, já com o status aplicado
+   */
+  public List<Solicitation> validateAll(Collection<UUID> solicitationIds) {
+    List<Solicitation> pending = new ArrayList<>();
+    for (Solicitation s : repository.findAllById(solicitationIds)) {
+      if (needsFraudCheck(s)) {
+        pending.add(s);
+      } else {
+        log.info("Skipping solicitation {} with status {}", s.getId(), s.getStatus());
+      }
+    }
+    if (pending.isEmpty()) {
+      return List.of();
+    }
+
+    List<FraudCheckResponse> responses =
+        fraudClient.checkAll(
+            pending.stream().map(FraudValidationService::fraudRequestFor).toList());
+    // Respostas casam com os pedidos por posição: lote curto ou longo não tem como ser aplicado
+    if (responses == null || responses.size() != pending.size()) {
+      throw new IllegalStateException(
+          "Fraud API returned "
+              + (responses == null ? 0 : responses.size())
+              + " responses for "
+              + pending.size()
+              + " requests");
+    }
+
+    List<Solicitation> out = new ArrayList<>(pending.size());
+    for (int i = 0; i < pending.size(); i++) {
+      UUID id = pending.get(i).getId();
+      try {
+        out.add(applyFraudResult(id, responses.get(i)));
+      } catch (IllegalArgumentException ex) {
+        log.warn("Solicitation {} disappeared during fraud check: {}", id, ex.getMessage());
+      } catch (OptimisticLockingFailureException ex) {
+        // já contado em policy.concurrency.conflicts{outcome=exhausted}; fica em RECEBIDO
+        log.warn(
+            "Solicitation {} kept conflicting after retries; skipping: {}", id, ex.getMessage());
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Etapa 1: carrega a solicitação e valida o estado de partida.
+   * Não encontrada -> IllegalArgumentException; fora de RECEBIDO e não finalizada ->
+   * IllegalStateException.
+   */
+  public Solicitation loadForValidation(UUID solicitationId) {
     Solicitation s =
         repository
             .findById(solicitationId)
@@ -50,38 +130,71 @@ public class FraudValidationService {
       throw new IllegalStateException(
           "Invalid state to validate: " + s.getStatus() + " (expected RECEBIDO)");
     }
+    return s;
+  }
+
+  /** true quando a solicitação carregada na etapa 1 ainda precisa consultar a API de Fraudes. */
+  public static boolean needsFraudCheck(Solicitation s) {
+    return s.getStatus() == Status.RECEBIDO;
+  }
 
-    FraudCheckRequest req =
-        FraudCheckRequest.builder()
-            .customerId(s.getCustomerId())
-            .productId(s.getProductId())
-            .build();
+  public static FraudCheckRequest fraudRequestFor(Solicitation s) {
+    return FraudCheckRequest.builder()
+        .customerId(s.getCustomerId())
+        .productId(s.getProductId())
+        .build();
+  }
 
-    FraudCheckResponse resp = fraudClient.check(req);
+  /** Etapa 3: aplica a classificação em uma transação curta, se o status ainda for RECEBIDO. */
+  public Solicitation applyFraudResult(UUID solicitationId, FraudCheckResponse resp) {
+    Status target = resolveTarget(resp);
+    return conflictRetry.execute(
+        () -> transactionTemplate.execute(tx -> applyDecision(solicitationId, target)));
+  }
+
+  private Status resolveTarget(FraudCheckResponse resp) {
     String classification =
         resp != null && resp.getClassification() != null
             ? resp.getClassification().trim().toUpperCase(Locale.ROOT)
             : "NO_INFO";
 
-    OffsetDateTime now = OffsetDateTime.now();
-    switch (classification) {
-      case "REGULAR", "PREFERENTIAL" -> {
-        s.setStatus(Status.VALIDADO);
-        s.addHistory(Status.VALIDADO, now);
-      }
-      case "HIGH_RISK", "NO_INFO" -> {
-        s.setStatus(Status.REJEITADO);
-        s.addHistory(Status.REJEITADO, now);
-        s.setFinishedAt(now);
-      }
+    return switch (classification) {
+      case "REGULAR", "PREFERENTIAL" -> Status.VALIDADO;
+      case "HIGH_RISK", "NO_INFO" -> Status.REJEITADO;
       default -> {
         log.warn("Unknown fraud classification '{}', defaulting to REJEITADO", classification);
-        s.setStatus(Status.REJEITADO);
-        s.addHistory(Status.REJEITADO, now);
-        s.setFinishedAt(now);
+        yield Status.REJEITADO;
       }
+    };
+  }
+
+  private Solicitation applyDecision(UUID solicitationId, Status target) {
+    Solicitation s =
+        repository
+            .findById(solicitationId)
+            .orElseThrow(
+                () -> new IllegalArgumentException("Solicitation not found: " + solicitationId));
+
+    // Outra requisição (validação concorrente, cancelamento...) mudou o status durante o HTTP
+    if (s.getStatus() != Status.RECEBIDO) {
+      log.info(
+          "Solicitation {} moved to {} during fraud check; discarding {}",
+          s.getId(),
+          s.getStatus(),
+          target);
+      return s;
+    }
+
+    OffsetDateTime now = OffsetDateTime.now();
+    s.setStatus(target);
+    s.addHistory(target, now);
+    if (target == Status.REJEITADO) {
+      s.setFinishedAt(now);
     }
 
-    return repository.save(s);
+    Solicitation saved = repository.save(s);
+    // Mesma transação: o claim sai junto com a decisão (e o save não o regrava, ver Solicitation)
+    repository.clearClaim(solicitationId);
+    return saved;
   }
 }
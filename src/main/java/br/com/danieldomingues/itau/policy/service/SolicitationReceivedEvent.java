@@ -0,0 +1,6 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import java.util.UUID;
+
+/** Publicado por {@link SolicitationService#create} para cada solicitação nova (RECEBIDO). */
+public record SolicitationReceivedEvent(UUID solicitationId) {}
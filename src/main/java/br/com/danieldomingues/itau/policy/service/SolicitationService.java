@@ -4,28 +4,69 @@ import br.com.danieldomingues.itau.policy.api.dto.CreateSolicitationRequest;
 import br.com.danieldomingues.itau.policy.domain.Solicitation;
 import br.com.danieldomingues.itau.policy.domain.Status;
 import br.com.danieldomingues.itau.policy.factory.SolicitationFactory;
+import br.com.danieldomingues.itau.policy.repo.SolicitationFilter;
 import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class SolicitationService {
 
+  private static final Set<Status> CANCELLABLE =
+      EnumSet.of(Status.RECEBIDO, Status.VALIDADO, Status.PENDENTE);
+
   private final SolicitationRepository repository;
+  private final ApplicationEventPublisher events;
 
-  public SolicitationService(SolicitationRepository repository) {
+  public SolicitationService(SolicitationRepository repository, ApplicationEventPublisher events) {
     this.repository = repository;
+    this.events = events;
   }
 
+  /**
+   * Cria a solicitação em RECEBIDO e publica {@link SolicitationReceivedEvent}
+   * (consumido pelo ValidationPipeline após o commit, quando habilitado).
+   */
   @Transactional
   public Solicitation create(CreateSolicitationRequest req) {
+    Solicitation saved = repository.save(newReceived(req, OffsetDateTime.now(ZoneOffset.UTC)));
+    events.publishEvent(new SolicitationReceivedEvent(saved.getId()));
+    return saved;
+  }
+
+  /**
+   * Cria um lote (chunk do POST /solicitations/batch) numa única transação: os INSERTs saem em
+   * batch JDBC. Falha em qualquer item desfaz o lote inteiro.
+   */
+  @Transactional
+  public List<Solicitation> createAll(List<CreateSolicitationRequest> reqs) {
     OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+    List<Solicitation> saved =
+        repository.saveAll(reqs.stream().map(req -> newReceived(req, now)).toList());
+    repository.flush();
+    saved.forEach(s -> events.publishEvent(new SolicitationReceivedEvent(s.getId())));
+    return saved;
+  }
 
+  private static Solicitation newReceived(CreateSolicitationRequest req, OffsetDateTime now) {
     Solicitation entity = SolicitationFactory.from(req);
 
     if (entity.getCreatedAt() == null) {
@@ -33,8 +74,7 @@ public class SolicitationService {
     }
     entity.setStatus(Status.RECEBIDO);
     entity.addHistory(Status.RECEBIDO, now);
-
-    return repository.save(entity);
+    return entity;
   }
 
   /**
@@ -58,47 +98,109 @@ public class SolicitationService {
   /**
    * Lista por customerId inicializando coleções necessárias para o DTO,
    * evitando LazyInitializationException no mapeamento no controller.
+   *
+   * As coleções saem em lote (uma consulta IN por coleção): 4 consultas no total, em vez de 1 + 3N
+   * com a inicialização entidade a entidade.
    */
   @Transactional(readOnly = true)
   public List<Solicitation> findByCustomerId(UUID customerId) {
     List<Solicitation> list = repository.findByCustomerId(customerId);
-    for (Solicitation s : list) {
-      if (s.getHistory() != null) s.getHistory().size();
-      if (s.getAssistances() != null) s.getAssistances().size();
-      if (s.getCoverages() != null) s.getCoverages().size();
+    if (!list.isEmpty()) {
+      repository.fetchCollections(list);
     }
     return list;
   }
 
+  /**
+   * Busca várias solicitações por id com número constante de consultas (uma IN para as entidades e
+   * uma por coleção), na ordem dos ids pedidos; ids repetidos contam uma vez e inexistentes ficam
+   * de fora do resultado.
+   */
+  @Transactional(readOnly = true)
+  public List<Solicitation> findAllByIds(Collection<UUID> ids) {
+    Set<UUID> distinct = new LinkedHashSet<>(ids);
+    if (distinct.isEmpty()) {
+      return List.of();
+    }
+    Map<UUID, Solicitation> byId = new HashMap<>();
+    repository.findAllById(distinct).forEach(s -> byId.put(s.getId(), s));
+
+    List<Solicitation> found = distinct.stream().map(byId::get).filter(Objects::nonNull).toList();
+    repository.fetchCollections(found);
+    return found;
+  }
+
+  /**
+   * Página da listagem por cliente em ordem (createdAt, id), a partir da chave do último item da
+   * página anterior ({@code afterCreatedAt}/{@code afterId} nulos = primeira página). Lê limit + 1
+   * linhas para saber se há próxima página sem COUNT; coleções carregadas em lote só para a página.
+   */
+  @Transactional(readOnly = true)
+  public Slice<Solicitation> findPageByCustomerId(
+      UUID customerId, OffsetDateTime afterCreatedAt, UUID afterId, int limit) {
+    Limit probe = Limit.of(limit + 1);
+    List<Solicitation> rows =
+        afterCreatedAt == null
+            ? repository.findByCustomerIdOrderByCreatedAtAscIdAsc(customerId, probe)
+            : repository.findByCustomerIdAfter(customerId, afterCreatedAt, afterId, probe);
+    return toSlice(rows, limit);
+  }
+
+  /**
+   * Busca filtrada (GET /solicitations/search) com a mesma paginação keyset da listagem por
+   * cliente: ordem (createdAt, id), limit + 1 para saber se há próxima, coleções em lote.
+   */
+  @Transactional(readOnly = true)
+  public Slice<Solicitation> search(
+      SolicitationFilter filter, OffsetDateTime afterCreatedAt, UUID afterId, int limit) {
+    return toSlice(repository.search(filter, afterCreatedAt, afterId, limit + 1), limit);
+  }
+
+  private Slice<Solicitation> toSlice(List<Solicitation> rows, int limit) {
+    boolean hasNext = rows.size() > limit;
+    List<Solicitation> page = hasNext ? rows.subList(0, limit) : rows;
+    if (!page.isEmpty()) {
+      repository.fetchCollections(page);
+    }
+    return new SliceImpl<>(page, Pageable.ofSize(limit), hasNext);
+  }
+
+  /**
+   * Exportação em streaming (GET /solicitations/export): entrega as solicitações do filtro em
+   * chunks de {@code fetchSize}, lidas por cursor no servidor e destacadas da sessão a cada chunk.
+   */
+  @Transactional(readOnly = true)
+  public long export(
+      SolicitationFilter filter, int fetchSize, Consumer<List<Solicitation>> chunkSink) {
+    return repository.exportInChunks(filter, fetchSize, chunkSink);
+  }
+
   /**
    * Cancela a solicitação com regras:
    * - Não permite cancelar APROVADO/REJEITADO (terminais) -> IllegalStateException (400).
    * - Idempotente para CANCELADA.
    * - Ao cancelar, define finishedAt e registra histórico.
    * - Se não existir -> IllegalArgumentException (404 pelo ApiExceptionHandler).
+   *
+   * A transição é condicional (UPDATE ... WHERE status IN canceláveis + INSERT do histórico): um
+   * pagamento concorrente não é sobrescrito. Só quando ela não vence o status é lido para decidir
+   * entre 404, 400 e idempotência.
    */
   @Transactional
   public void cancel(UUID id) {
-    Solicitation s =
+    OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+    if (repository.transition(id, CANCELLABLE, Status.CANCELADA, now)) {
+      return;
+    }
+
+    Status current =
         repository
-            // Para cancelar, só precisamos do history; evita multiple-bag fetch
-            .findWithHistoryById(id)
+            .findStatusById(id)
             .orElseThrow(() -> new IllegalArgumentException("Solicitation not found: " + id));
-
-    Status current = s.getStatus();
-    if (current == Status.APROVADO || current == Status.REJEITADO) {
-      throw new IllegalStateException(
-          "Cannot cancel a solicitation with terminal status: " + current);
-    }
     if (current == Status.CANCELADA) {
       return; // Idempotente
     }
-
-    OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-    s.setStatus(Status.CANCELADA);
-    s.setFinishedAt(now);
-    s.addHistory(Status.CANCELADA, now);
-
-    repository.save(s);
+    throw new IllegalStateException(
+        "Cannot cancel a solicitation with terminal status: " + current);
   }
 }
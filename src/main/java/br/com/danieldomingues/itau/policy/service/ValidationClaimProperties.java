@@ -0,0 +1,52 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fila de validação multi-nó no Postgres (ValidationClaimWorker).
+ *
+ * policy:
+ *   validation:
+ *     claim:
+ *       enabled: true
+ *       node-id: policy-service-1   # opcional; padrão pid@host
+ *       batch-size: 50
+ *       lease: 60s
+ *       min-age: 30s
+ *       poll-interval: 1s
+ *       max-batches-per-poll: 20
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "policy.validation.claim")
+public class ValidationClaimProperties {
+
+  /** Reivindica e valida periodicamente as solicitações em RECEBIDO da tabela. */
+  private boolean enabled = false;
+
+  /** Identifica o nó dono do claim; vazio usa o nome da JVM (pid@host). */
+  private String nodeId;
+
+  /** Linhas reivindicadas por lote (um checkAll por lote). */
+  private int batchSize = 50;
+
+  /** Validade do claim; expirado (nó caiu ou lote falhou), a linha volta a ser reivindicável. */
+  private Duration lease = Duration.ofSeconds(60);
+
+  /**
+   * Idade mínima da solicitação para entrar na fila; dá tempo ao ValidationPipeline em memória de
+   * validar as recém-criadas, deixando para o claim o backlog e as perdidas em crash.
+   */
+  private Duration minAge = Duration.ofSeconds(30);
+
+  /** Intervalo entre varreduras da tabela. */
+  private Duration pollInterval = Duration.ofSeconds(1);
+
+  /** Lotes por varredura, para não monopolizar a thread do scheduler com um backlog grande. */
+  private int maxBatchesPerPoll = 20;
+}
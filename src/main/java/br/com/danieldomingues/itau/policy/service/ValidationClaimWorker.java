@@ -0,0 +1,134 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Espalha o backlog de RECEBIDO entre as réplicas usando a própria tabela solicitation como fila.
+ *
+ * A cada varredura o nó reivindica até {@code batchSize} linhas com SELECT ... FOR UPDATE SKIP
+ * LOCKED e grava dono + lease (claimed_by/claimed_until) na mesma transação curta; dois nós nunca
+ * pegam a mesma linha. O lote é validado fora da transação por {@link
+ * FraudValidationService#validateAll} e o claim é liberado. Se o lote falhar (ex.: API de Fraudes
+ * fora), o claim não é liberado e o lease funciona como backoff; se o nó cair, as linhas voltam a
+ * ser reivindicáveis quando o lease expira. A escrita final continua condicional a RECEBIDO, então
+ * uma corrida com o ValidationPipeline ou com o POST /validate não duplica a transição.
+ *
+ * Métricas: policy.validation.claim.claimed e policy.validation.claim.processed{outcome}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "policy.validation.claim", name = "enabled", havingValue = "true")
+public class ValidationClaimWorker {
+
+  private final SolicitationRepository repository;
+  private final FraudValidationService validationService;
+  private final TransactionTemplate transactionTemplate;
+  private final ValidationClaimProperties props;
+  private final String nodeId;
+
+  private final Counter claimed;
+  private final Counter validated;
+  private final Counter refused;
+  private final Counter skipped;
+  private final Counter failed;
+
+  public ValidationClaimWorker(
+      SolicitationRepository repository,
+      FraudValidationService validationService,
+      TransactionTemplate transactionTemplate,
+      ValidationClaimProperties props,
+      MeterRegistry registry) {
+    this.repository = repository;
+    this.validationService = validationService;
+    this.transactionTemplate = transactionTemplate;
+    this.props = props;
+    this.nodeId =
+        props.getNodeId() == null || props.getNodeId().isBlank()
+            ? ManagementFactory.getRuntimeMXBean().getName()
+            : props.getNodeId();
+
+    this.claimed = Counter.builder("policy.validation.claim.claimed").register(registry);
+    this.validated = processed(registry, "validated");
+    this.refused = processed(registry, "rejected");
+    this.skipped = processed(registry, "skipped");
+    this.failed = processed(registry, "failed");
+  }
+
+  private static Counter processed(MeterRegistry registry, String outcome) {
+    return Counter.builder("policy.validation.claim.processed")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+  /** Drena o backlog em lotes até esvaziar ou atingir {@code maxBatchesPerPoll}. */
+  @Scheduled(fixedDelayString = "${policy.validation.claim.poll-interval:1s}")
+  public void poll() {
+    int batchSize = Math.max(1, props.getBatchSize());
+    for (int i = 0; i < Math.max(1, props.getMaxBatchesPerPoll()); i++) {
+      List<UUID> ids = claimBatch(batchSize);
+      if (ids.isEmpty() || !process(ids) || ids.size() < batchSize) {
+        return;
+      }
+    }
+  }
+
+  /** Reivindica até {@code limit} ids em RECEBIDO sem claim válido; vazio se não houver. */
+  public List<UUID> claimBatch(int limit) {
+    double minAge = props.getMinAge().toMillis() / 1000.0;
+    double lease = props.getLease().toMillis() / 1000.0;
+    List<UUID> ids =
+        transactionTemplate.execute(
+            tx -> {
+              List<UUID> found = repository.findClaimableIds(limit, minAge);
+              if (!found.isEmpty()) {
+                repository.claim(found, nodeId, lease);
+              }
+              return found;
+            });
+    if (ids == null) {
+      return List.of();
+    }
+    claimed.increment(ids.size());
+    return ids;
+  }
+
+  /** @return false se o lote falhou (claim mantido até o lease expirar) */
+  boolean process(List<UUID> ids) {
+    List<Solicitation> done;
+    try {
+      done = validationService.validateAll(ids);
+    } catch (RuntimeException ex) {
+      failed.increment(ids.size());
+      log.warn(
+          "Claimed batch of {} failed; retrying after lease ({}): {}",
+          ids.size(),
+          props.getLease(),
+          ex.getMessage());
+      return false;
+    }
+    long ok = done.stream().filter(s -> s.getStatus() == Status.VALIDADO).count();
+    long ko = done.stream().filter(s -> s.getStatus() == Status.REJEITADO).count();
+    validated.increment(ok);
+    refused.increment(ko);
+    skipped.increment(ids.size() - ok - ko);
+
+    transactionTemplate.executeWithoutResult(tx -> repository.releaseClaims(ids, nodeId));
+    return true;
+  }
+
+  String nodeId() {
+    return nodeId;
+  }
+}
@@ -0,0 +1,247 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Valida automaticamente as solicitações recém-criadas, sem round trip do cliente.
+ *
+ * {@link SolicitationService#create} publica {@link SolicitationReceivedEvent}; após o commit o id
+ * entra numa fila limitada. Workers drenam a fila em lotes (até {@code batchSize} ids ou {@code
+ * batchWait}) e chamam {@link FraudValidationService#validateAll}. Fila cheia não bloqueia a
+ * criação: o id fica em RECEBIDO e o POST /solicitations/{id}/validate continua valendo.
+ * Recusas são logadas agregadas (no máximo uma linha a cada {@link #REJECTION_LOG_INTERVAL}): um
+ * POST /solicitations/batch grande enche a fila de uma vez.
+ *
+ * Métricas: policy.validation.queue.depth, policy.validation.queue.oldest.age,
+ * policy.validation.queue.wait, policy.validation.pipeline.enqueued/rejected,
+ * policy.validation.pipeline.batch.size e policy.validation.pipeline.processed{outcome}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    prefix = "policy.validation.pipeline",
+    name = "enabled",
+    havingValue = "true")
+public class ValidationPipeline implements SmartLifecycle {
+
+  static final Duration REJECTION_LOG_INTERVAL = Duration.ofSeconds(10);
+
+  private final FraudValidationService validationService;
+  private final ValidationPipelineProperties props;
+  private final BlockingQueue<Entry> queue;
+  private final List<Thread> workers = new ArrayList<>();
+  private volatile boolean running;
+
+  // recusas desde o último log e instante dele (0 = nenhum ainda)
+  private final AtomicLong rejectedSinceLog = new AtomicLong();
+  private final AtomicLong lastRejectionLogNanos = new AtomicLong();
+
+  private final Counter enqueued;
+  private final Counter rejected;
+  private final Counter validated;
+  private final Counter refused;
+  private final Counter skipped;
+  private final Counter failed;
+  private final Timer queueWait;
+  private final DistributionSummary batchSizes;
+
+  private record Entry(UUID id, long enqueuedAtNanos) {}
+
+  public ValidationPipeline(
+      FraudValidationService validationService,
+      ValidationPipelineProperties props,
+      MeterRegistry registry) {
+    this.validationService = validationService;
+    this.props = props;
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, props.getCapacity()));
+
+    Gauge.builder("policy.validation.queue.depth", queue, BlockingQueue::size).register(registry);
+    Gauge.builder("policy.validation.queue.oldest.age", this, ValidationPipeline::oldestAgeMillis)
+        .baseUnit("milliseconds")
+        .register(registry);
+    this.queueWait = Timer.builder("policy.validation.queue.wait").register(registry);
+    this.enqueued = Counter.builder("policy.validation.pipeline.enqueued").register(registry);
+    this.rejected = Counter.builder("policy.validation.pipeline.rejected").register(registry);
+    this.batchSizes =
+        DistributionSummary.builder("policy.validation.pipeline.batch.size").register(registry);
+    this.validated = processed(registry, "validated");
+    this.refused = processed(registry, "rejected");
+    this.skipped = processed(registry, "skipped");
+    this.failed = processed(registry, "failed");
+  }
+
+  private static Counter processed(MeterRegistry registry, String outcome) {
+    return Counter.builder("policy.validation.pipeline.processed")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+  /** Enfileira após o commit da criação (ou na hora, se publicado fora de transação). */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onSolicitationReceived(SolicitationReceivedEvent event) {
+    enqueue(event.solicitationId());
+  }
+
+  /** @return false se a fila estiver cheia (backpressure): o id fica em RECEBIDO */
+  public boolean enqueue(UUID solicitationId) {
+    Entry entry = new Entry(solicitationId, System.nanoTime());
+    boolean accepted;
+    try {
+      long timeout = props.getOfferTimeout().toNanos();
+      accepted =
+          timeout <= 0 ? queue.offer(entry) : queue.offer(entry, timeout, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      accepted = false;
+    }
+    if (accepted) {
+      enqueued.increment();
+    } else {
+      rejected.increment();
+      logRejection();
+    }
+    return accepted;
+  }
+
+  private void logRejection() {
+    rejectedSinceLog.incrementAndGet();
+    long now = System.nanoTime();
+    long last = lastRejectionLogNanos.get();
+    if (last != 0 && now - last < REJECTION_LOG_INTERVAL.toNanos()) {
+      return;
+    }
+    if (!lastRejectionLogNanos.compareAndSet(last, now)) {
+      return;
+    }
+    long count = rejectedSinceLog.getAndSet(0);
+    log.warn(
+        "Validation queue full; {} solicitation(s) stay RECEBIDO for the claim worker"
+            + " (logged at most every {}s)",
+        count,
+        REJECTION_LOG_INTERVAL.toSeconds());
+  }
+
+  private void runWorker() {
+    int batchSize = Math.max(1, props.getBatchSize());
+    long batchWaitNanos = props.getBatchWait().toNanos();
+    List<Entry> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        Entry first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + batchWaitNanos;
+        while (batch.size() < batchSize) {
+          queue.drainTo(batch, batchSize - batch.size());
+          long left = deadline - System.nanoTime();
+          if (batch.size() >= batchSize || left <= 0) {
+            break;
+          }
+          Entry next = queue.poll(left, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+        process(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void process(List<Entry> batch) {
+    long now = System.nanoTime();
+    batch.forEach(e -> queueWait.record(now - e.enqueuedAtNanos(), TimeUnit.NANOSECONDS));
+    batchSizes.record(batch.size());
+
+    try {
+      List<Solicitation> done =
+          validationService.validateAll(batch.stream().map(Entry::id).toList());
+      long ok = done.stream().filter(s -> s.getStatus() == Status.VALIDADO).count();
+      long ko = done.stream().filter(s -> s.getStatus() == Status.REJEITADO).count();
+      validated.increment(ok);
+      refused.increment(ko);
+      skipped.increment(batch.size() - ok - ko);
+    } catch (RuntimeException ex) {
+      failed.increment(batch.size());
+      log.warn(
+          "Validation batch of {} failed; solicitations stay RECEBIDO: {}",
+          batch.size(),
+          ex.getMessage());
+    }
+  }
+
+  private double oldestAgeMillis() {
+    Entry head = queue.peek();
+    return head == null ? 0 : (System.nanoTime() - head.enqueuedAtNanos()) / 1_000_000.0;
+  }
+
+  int queueDepth() {
+    return queue.size();
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    CustomizableThreadFactory threads = new CustomizableThreadFactory("validation-worker-");
+    threads.setDaemon(true);
+    for (int i = 0; i < Math.max(1, props.getWorkers()); i++) {
+      Thread t = threads.newThread(this::runWorker);
+      workers.add(t);
+      t.start();
+    }
+    log.info("Validation pipeline started with {} workers", workers.size());
+  }
+
+  @Override
+  public synchronized void stop() {
+    running = false;
+    workers.forEach(Thread::interrupt);
+    for (Thread t : workers) {
+      try {
+        t.join(5_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    workers.clear();
+    if (!queue.isEmpty()) {
+      log.info("Validation pipeline stopped; {} solicitations left in RECEBIDO", queue.size());
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+}
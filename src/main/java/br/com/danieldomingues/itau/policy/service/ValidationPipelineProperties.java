@@ -0,0 +1,44 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pipeline de validação automática (ValidationPipeline).
+ *
+ * policy:
+ *   validation:
+ *     pipeline:
+ *       enabled: true
+ *       capacity: 10000
+ *       workers: 4
+ *       batch-size: 20
+ *       batch-wait: 20ms
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "policy.validation.pipeline")
+public class ValidationPipelineProperties {
+
+  /** Valida automaticamente as solicitações criadas, sem esperar o POST /validate. */
+  private boolean enabled = false;
+
+  /** Capacidade da fila; cheia, novos ids ficam em RECEBIDO (validação manual continua valendo). */
+  private int capacity = 10_000;
+
+  /** Workers consumindo a fila. */
+  private int workers = 4;
+
+  /** Ids por lote enviado ao FraudValidationService.validateAll. */
+  private int batchSize = 20;
+
+  /** Espera máxima, após o primeiro id, para completar o lote. */
+  private Duration batchWait = Duration.ofMillis(20);
+
+  /** Espera máxima por vaga na fila ao enfileirar; zero não bloqueia a criação. */
+  private Duration offerTimeout = Duration.ZERO;
+}
@@ -0,0 +1,92 @@
+-- Esquema base de solicitation e filhas. Idempotente (IF NOT EXISTS): em bancos criados pelo
+-- antigo ddl-auto=update, o Flyway faz baseline na versão 0 e esta migração completa o que
+-- faltar. O CREATE TABLE IF NOT EXISTS pula a tabela inteira quando ela já existe, então as
+-- colunas que o mapeamento antigo não tinha (version, claimed_by, claimed_until) entram por
+-- ALTER TABLE logo abaixo, antes dos índices que dependem delas.
+
+CREATE TABLE IF NOT EXISTS solicitation (
+    id                           uuid                     NOT NULL,
+    version                      bigint                   NOT NULL DEFAULT 0,
+    customer_id                  uuid                     NOT NULL,
+    product_id                   varchar(64)              NOT NULL,
+    category                     varchar(255)             NOT NULL
+        CHECK (category IN ('AUTO', 'LIFE', 'HOME', 'CORPORATE', 'OTHER')),
+    sales_channel                varchar(255)             NOT NULL,
+    payment_method               varchar(255)             NOT NULL,
+    total_monthly_premium_amount numeric(14, 2)           NOT NULL,
+    insured_amount               numeric(14, 2)           NOT NULL,
+    status                       varchar(255)             NOT NULL
+        CHECK (status IN ('RECEBIDO', 'VALIDADO', 'PENDENTE', 'APROVADO', 'REJEITADO', 'CANCELADA')),
+    created_at                   timestamp(6) with time zone NOT NULL,
+    finished_at                  timestamp(6) with time zone,
+    claimed_by                   varchar(128),
+    claimed_until                timestamp(6) with time zone,
+    CONSTRAINT pk_solicitation PRIMARY KEY (id)
+);
+
+ALTER TABLE solicitation ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE solicitation ADD COLUMN IF NOT EXISTS claimed_by varchar(128);
+ALTER TABLE solicitation ADD COLUMN IF NOT EXISTS claimed_until timestamp(6) with time zone;
+
+CREATE TABLE IF NOT EXISTS solicitation_coverages (
+    solicitation_id uuid           NOT NULL,
+    name            varchar(255)   NOT NULL,
+    amount          numeric(14, 2) NOT NULL,
+    CONSTRAINT pk_solicitation_coverages PRIMARY KEY (solicitation_id, name),
+    CONSTRAINT fk_coverages_solicitation FOREIGN KEY (solicitation_id) REFERENCES solicitation (id)
+);
+
+CREATE TABLE IF NOT EXISTS solicitation_assistances (
+    solicitation_id uuid         NOT NULL,
+    assistance      varchar(255) NOT NULL,
+    CONSTRAINT fk_assistances_solicitation FOREIGN KEY (solicitation_id) REFERENCES solicitation (id)
+);
+
+CREATE TABLE IF NOT EXISTS status_history (
+    id              uuid                        NOT NULL,
+    solicitation_id uuid                        NOT NULL,
+    status          varchar(255)                NOT NULL
+        CHECK (status IN ('RECEBIDO', 'VALIDADO', 'PENDENTE', 'APROVADO', 'REJEITADO', 'CANCELADA')),
+    timestamp       timestamp(6) with time zone NOT NULL,
+    CONSTRAINT pk_status_history PRIMARY KEY (id),
+    CONSTRAINT fk_history_solicitation FOREIGN KEY (solicitation_id) REFERENCES solicitation (id)
+);
+
+-- Listagem por cliente (keyset em created_at, id; mais recentes primeiro por varredura direta,
+-- mais antigos primeiro pela reversa)
+CREATE INDEX IF NOT EXISTS idx_solicitation_customer_created
+    ON solicitation (customer_id, created_at DESC, id DESC);
+
+-- Busca filtrada: um (filtro, created_at, id) por campo, que serve o filtro e a ordem keyset
+CREATE INDEX IF NOT EXISTS idx_solicitation_status_created
+    ON solicitation (status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_solicitation_category_created
+    ON solicitation (category, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_solicitation_channel_created
+    ON solicitation (sales_channel, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_solicitation_payment_created
+    ON solicitation (payment_method, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_solicitation_product_created
+    ON solicitation (product_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_solicitation_created
+    ON solicitation (created_at, id);
+
+-- Status em andamento: busca com active=true e fila de validação (status = 'RECEBIDO' ORDER BY
+-- created_at) leem só a fatia viva, que não cresce com o histórico de finalizadas
+CREATE INDEX IF NOT EXISTS idx_solicitation_active_created
+    ON solicitation (created_at, id)
+    WHERE status IN ('RECEBIDO', 'VALIDADO', 'PENDENTE');
+
+-- Fila de validação multi-nó: claims expirados
+CREATE INDEX IF NOT EXISTS idx_solicitation_status_claim
+    ON solicitation (status, claimed_until);
+
+-- Filhas por solicitação (carga em lote das coleções; sem elas cada IN varre a tabela)
+CREATE INDEX IF NOT EXISTS idx_status_history_solicitation_ts
+    ON status_history (solicitation_id, timestamp);
+CREATE INDEX IF NOT EXISTS idx_solicitation_assistances_solicitation
+    ON solicitation_assistances (solicitation_id);
+
+-- Índices dos mapeamentos anteriores, cobertos pelos compostos acima
+DROP INDEX IF EXISTS idx_solicitation_customer;
+DROP INDEX IF EXISTS idx_solicitation_status;
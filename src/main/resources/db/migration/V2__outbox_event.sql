@@ -0,0 +1,22 @@
+-- Outbox transacional: eventos de domínio gravados na mesma transação da mudança de status e
+-- publicados depois pelo OutboxRelay (SKIP LOCKED + publisher confirms).
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id          uuid                        NOT NULL,
+    routing_key varchar(128)                NOT NULL,
+    type_id     varchar(255)                NOT NULL,
+    payload     text                        NOT NULL,
+    created_at  timestamp(6) with time zone NOT NULL,
+    sent_at     timestamp(6) with time zone,
+    CONSTRAINT pk_outbox_event PRIMARY KEY (id)
+);
+
+-- Fila do relay: só as pendentes, na ordem de gravação
+CREATE INDEX IF NOT EXISTS idx_outbox_event_unsent
+    ON outbox_event (created_at)
+    WHERE sent_at IS NULL;
+
+-- Limpeza das já enviadas
+CREATE INDEX IF NOT EXISTS idx_outbox_event_sent
+    ON outbox_event (sent_at)
+    WHERE sent_at IS NOT NULL;
@@ -0,0 +1,11 @@
+-- Confirms por mensagem no OutboxRelay: nack, retorno (mandatory) ou timeout contam tentativa;
+-- esgotadas as tentativas o evento é estacionado (parked_at) e sai da fila do relay. Para
+-- reenviar: UPDATE outbox_event SET parked_at = NULL, attempts = 0 WHERE id = ...
+
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS attempts integer NOT NULL DEFAULT 0;
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS parked_at timestamp(6) with time zone;
+
+DROP INDEX IF EXISTS idx_outbox_event_unsent;
+CREATE INDEX IF NOT EXISTS idx_outbox_event_unsent
+    ON outbox_event (created_at)
+    WHERE sent_at IS NULL AND parked_at IS NULL;
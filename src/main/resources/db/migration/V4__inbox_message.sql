@@ -0,0 +1,13 @@
+-- Inbox: ids das mensagens de entrada já processadas, por fila de origem. A linha entra na mesma
+-- transação da transição, então uma reentrega depois do commit é descartada sem tocar
+-- solicitation. Linhas mais velhas que policy.messaging.inbox.ttl são removidas pelo Inbox.
+
+CREATE TABLE IF NOT EXISTS inbox_message (
+    source      varchar(32)                 NOT NULL,
+    message_id  varchar(255)                NOT NULL,
+    received_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT pk_inbox_message PRIMARY KEY (source, message_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_inbox_message_received
+    ON inbox_message (received_at);
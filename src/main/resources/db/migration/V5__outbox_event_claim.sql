@@ -0,0 +1,6 @@
+-- Lease do OutboxRelay: o lote é reivindicado (claimed_until) numa transação curta e publicado
+-- fora dela; os confirms são gravados depois, em outras transações curtas. Enquanto o lease vale
+-- nenhuma réplica publica o evento de novo; se o relay cair antes do confirm, o evento volta para
+-- a fila quando o lease expira (at-least-once).
+
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS claimed_until timestamp(6) with time zone;
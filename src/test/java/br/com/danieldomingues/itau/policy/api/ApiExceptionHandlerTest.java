@@ -13,6 +13,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -86,4 +87,14 @@ class ApiExceptionHandlerTest {
     assertThat(resp.getStatusCode().value()).isEqualTo(400);
     assertThat(resp.getBody().get("error")).isEqualTo("Invalid state");
   }
+
+  @Test
+  @DisplayName("handleConflict -> 409 quando a concorrência otimista esgota o retry")
+  void handleConflict_shouldReturn409() {
+    ResponseEntity<Map<String, Object>> resp =
+        handler.handleConflict(
+            new ObjectOptimisticLockingFailureException(Object.class, "id", null));
+    assertThat(resp.getStatusCode().value()).isEqualTo(409);
+    assertThat(resp.getBody().get("status")).isEqualTo(409);
+  }
 }
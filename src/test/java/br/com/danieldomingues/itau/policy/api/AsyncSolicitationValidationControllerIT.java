@@ -0,0 +1,96 @@
+package br.com.danieldomingues.itau.policy.api;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.service.AsyncFraudValidationService;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(
+    controllers = AsyncSolicitationValidationController.class,
+    properties = "fraud.api.async.enabled=true")
+@Import(ApiExceptionHandler.class)
+class AsyncSolicitationValidationControllerIT {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private AsyncFraudValidationService asyncFraudValidationService;
+
+  private static final UUID ID = UUID.randomUUID();
+
+  private Solicitation validated() {
+    Solicitation s =
+        Solicitation.builder()
+            .id(ID)
+            .customerId(UUID.randomUUID())
+            .productId("p1")
+            .category(Category.AUTO)
+            .salesChannel("MOBILE")
+            .paymentMethod("CREDIT_CARD")
+            .totalMonthlyPremiumAmount(new BigDecimal("75.25"))
+            .insuredAmount(new BigDecimal("275000.50"))
+            .status(Status.VALIDADO)
+            .createdAt(OffsetDateTime.now())
+            .build();
+    s.addHistory(Status.RECEBIDO, s.getCreatedAt());
+    s.addHistory(Status.VALIDADO, OffsetDateTime.now());
+    return s;
+  }
+
+  @Test
+  @DisplayName("POST /solicitations/{id}/validate (async) -> inicia async e responde 200 VALIDADO")
+  void validate_async_ok() throws Exception {
+    when(asyncFraudValidationService.validate(ID))
+        .thenReturn(CompletableFuture.completedFuture(validated()));
+
+    MvcResult started =
+        mockMvc
+            .perform(
+                post("/solicitations/{id}/validate", ID).contentType(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id", is(ID.toString())))
+        .andExpect(jsonPath("$.status", is("VALIDADO")));
+  }
+
+  @Test
+  @DisplayName("Falha assíncrona IllegalStateException -> 400 pelo ApiExceptionHandler")
+  void validate_async_failure() throws Exception {
+    when(asyncFraudValidationService.validate(ID))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Failed")));
+
+    MvcResult started =
+        mockMvc
+            .perform(
+                post("/solicitations/{id}/validate", ID).contentType(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(started))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error", notNullValue()));
+  }
+}
@@ -0,0 +1,141 @@
+package br.com.danieldomingues.itau.policy.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import br.com.danieldomingues.itau.policy.api.dto.CreateSolicitationRequest;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.service.SolicitationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(
+    controllers = SolicitationBatchController.class,
+    properties = "policy.solicitations.batch.chunk-size=2")
+class SolicitationBatchControllerIT {
+
+  private static final String NDJSON = "application/x-ndjson";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+
+  @MockBean private SolicitationService service;
+
+  private static String item(String customerId) {
+    return """
+        {"customerId": %s, "productId": "p1", "category": "AUTO", "salesChannel": "MOBILE",\
+         "paymentMethod": "CREDIT_CARD", "totalMonthlyPremiumAmount": 75.25,\
+         "insuredAmount": 275000.50, "coverages": {"Roubo": 100000.25},\
+         "assistances": ["Guincho 250km"]}"""
+        .formatted(customerId == null ? "null" : "\"" + customerId + "\"");
+  }
+
+  private static Solicitation saved() {
+    return Solicitation.builder().id(UUID.randomUUID()).createdAt(OffsetDateTime.now()).build();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void createAllSucceeds() {
+    when(service.createAll(anyList()))
+        .thenAnswer(
+            inv -> {
+              List<Solicitation> out = new ArrayList<>();
+              for (Object ignored : (List<CreateSolicitationRequest>) inv.getArgument(0)) {
+                out.add(saved());
+              }
+              return out;
+            });
+  }
+
+  private List<JsonNode> sendBatch(String contentType, String body) throws Exception {
+    String out =
+        mockMvc
+            .perform(post("/solicitations/batch").contentType(contentType).content(body))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    List<JsonNode> lines = new ArrayList<>();
+    for (String line : out.split("\n")) {
+      lines.add(objectMapper.readTree(line));
+    }
+    return lines;
+  }
+
+  @Test
+  @DisplayName("NDJSON -> um resultado por item, em ordem; inválido não vai ao banco")
+  void ndjson_perItemResults() throws Exception {
+    createAllSucceeds();
+    String c = UUID.randomUUID().toString();
+    String body = item(c) + "\n" + item(null) + "\n" + item(c) + "\n";
+
+    List<JsonNode> results = sendBatch(NDJSON, body);
+
+    assertThat(results).hasSize(3);
+    assertThat(results.get(0).get("index").asLong()).isZero();
+    assertThat(results.get(0).hasNonNull("id")).isTrue();
+    assertThat(results.get(1).get("error").asText()).contains("customerId");
+    assertThat(results.get(1).has("id")).isFalse();
+    assertThat(results.get(2).get("index").asLong()).isEqualTo(2);
+    assertThat(results.get(2).hasNonNull("id")).isTrue();
+    // chunk-size=2: [válido, inválido] e [válido]
+    verify(service, times(2)).createAll(argThat(l -> l.size() == 1));
+  }
+
+  @Test
+  @DisplayName("Array JSON também é aceito e persistido em chunks")
+  void jsonArray_accepted() throws Exception {
+    createAllSucceeds();
+    String c = UUID.randomUUID().toString();
+    String body = "[" + item(c) + "," + item(c) + "," + item(c) + "]";
+
+    List<JsonNode> results = sendBatch(MediaType.APPLICATION_JSON_VALUE, body);
+
+    assertThat(results).hasSize(3).allMatch(r -> r.hasNonNull("id"));
+    verify(service).createAll(argThat(l -> l.size() == 2));
+    verify(service).createAll(argThat(l -> l.size() == 1));
+  }
+
+  @Test
+  @DisplayName("Chunk que falha no banco é refeito item a item")
+  void failedChunk_retriedPerItem() throws Exception {
+    when(service.createAll(anyList())).thenThrow(new IllegalStateException("constraint"));
+    when(service.create(any())).thenReturn(saved()).thenThrow(new IllegalStateException("bad"));
+    String c = UUID.randomUUID().toString();
+
+    List<JsonNode> results = sendBatch(NDJSON, item(c) + "\n" + item(c) + "\n");
+
+    assertThat(results.get(0).hasNonNull("id")).isTrue();
+    assertThat(results.get(1).get("error").asText()).isEqualTo("bad");
+  }
+
+  @Test
+  @DisplayName("JSON malformado -> itens anteriores persistidos e erro como última linha")
+  void malformedJson_stopsWithError() throws Exception {
+    createAllSucceeds();
+    String c = UUID.randomUUID().toString();
+
+    List<JsonNode> results = sendBatch(NDJSON, item(c) + "\n{\"customerId\": ");
+
+    assertThat(results).hasSize(2);
+    assertThat(results.get(0).hasNonNull("id")).isTrue();
+    assertThat(results.get(1).get("index").asLong()).isEqualTo(1);
+    assertThat(results.get(1).get("error").asText()).startsWith("Malformed JSON");
+  }
+}
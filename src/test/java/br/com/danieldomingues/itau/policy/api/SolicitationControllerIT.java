@@ -1,6 +1,8 @@
 package br.com.danieldomingues.itau.policy.api;
 
 import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -8,6 +10,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import br.com.danieldomingues.itau.policy.domain.Category;
 import br.com.danieldomingues.itau.policy.domain.Solicitation;
 import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.repo.SolicitationFilter;
 import br.com.danieldomingues.itau.policy.service.SolicitationService;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -22,6 +25,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -149,17 +154,153 @@ class SolicitationControllerIT {
   void listByCustomer_shouldReturn200AndList() throws Exception {
     OffsetDateTime createdAt = OffsetDateTime.now();
     Solicitation s = fullEntity(UUID.randomUUID(), createdAt);
-    when(service.findByCustomerId(CUSTOMER_ID)).thenReturn(List.of(s));
+    when(service.findPageByCustomerId(CUSTOMER_ID, null, null, 50))
+        .thenReturn(new SliceImpl<>(List.of(s), Pageable.ofSize(50), false));
 
     mockMvc
         .perform(get("/solicitations").param("customerId", CUSTOMER_ID.toString()))
         .andExpect(status().isOk())
         .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(header().doesNotExist("X-Next-Cursor"))
         .andExpect(jsonPath("$", hasSize(1)))
         .andExpect(jsonPath("$[0].customerId", is(CUSTOMER_ID.toString())))
         .andExpect(jsonPath("$[0].history", hasSize(1)));
   }
 
+  @Test
+  @DisplayName(
+      "GET /solicitations?customerId=...&limit=2 -> próxima página via X-Next-Cursor e Link")
+  void listByCustomer_shouldReturnNextCursor_andAcceptItBack() throws Exception {
+    OffsetDateTime createdAt = OffsetDateTime.parse("2025-01-01T10:00:00.123456Z");
+    UUID lastId = UUID.randomUUID();
+    Solicitation first = fullEntity(UUID.randomUUID(), createdAt.minusSeconds(1));
+    Solicitation last = fullEntity(lastId, createdAt);
+    when(service.findPageByCustomerId(CUSTOMER_ID, null, null, 2))
+        .thenReturn(new SliceImpl<>(List.of(first, last), Pageable.ofSize(2), true));
+
+    String cursor =
+        mockMvc
+            .perform(
+                get("/solicitations")
+                    .param("customerId", CUSTOMER_ID.toString())
+                    .param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(header().string("Link", containsString("rel=\"next\"")))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Next-Cursor");
+
+    when(service.findPageByCustomerId(CUSTOMER_ID, createdAt, lastId, 2))
+        .thenReturn(new SliceImpl<>(List.of(), Pageable.ofSize(2), false));
+
+    mockMvc
+        .perform(
+            get("/solicitations")
+                .param("customerId", CUSTOMER_ID.toString())
+                .param("cursor", cursor)
+                .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(0)))
+        .andExpect(header().doesNotExist("X-Next-Cursor"));
+  }
+
+  @Test
+  @DisplayName("GET /solicitations com limit acima do máximo -> ajustado para max-size")
+  void listByCustomer_shouldClampLimit() throws Exception {
+    when(service.findPageByCustomerId(CUSTOMER_ID, null, null, 200))
+        .thenReturn(new SliceImpl<>(List.of(), Pageable.ofSize(200), false));
+
+    mockMvc
+        .perform(
+            get("/solicitations")
+                .param("customerId", CUSTOMER_ID.toString())
+                .param("limit", "100000"))
+        .andExpect(status().isOk());
+    verify(service).findPageByCustomerId(CUSTOMER_ID, null, null, 200);
+  }
+
+  @Test
+  @DisplayName("GET /solicitations com cursor inválido -> 400")
+  void listByCustomer_shouldReturn400_whenCursorInvalid() throws Exception {
+    mockMvc
+        .perform(
+            get("/solicitations")
+                .param("customerId", CUSTOMER_ID.toString())
+                .param("cursor", "not-a-cursor"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error", startsWith("Invalid cursor")));
+  }
+
+  @Test
+  @DisplayName("GET /solicitations?ids=... -> encontradas em ordem e inexistentes em missing")
+  void getByIds_shouldReturnFoundAndMissing() throws Exception {
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    UUID missing = UUID.randomUUID();
+    when(service.findAllByIds(List.of(b, missing, a, b)))
+        .thenReturn(
+            List.of(fullEntity(b, OffsetDateTime.now()), fullEntity(a, OffsetDateTime.now())));
+
+    mockMvc
+        .perform(get("/solicitations").param("ids", b + "," + missing + "," + a + "," + b))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items", hasSize(2)))
+        .andExpect(jsonPath("$.items[0].id", is(b.toString())))
+        .andExpect(jsonPath("$.items[1].id", is(a.toString())))
+        .andExpect(jsonPath("$.items[0].history", hasSize(1)))
+        .andExpect(jsonPath("$.missing", contains(missing.toString())));
+  }
+
+  @Test
+  @DisplayName("GET /solicitations?ids=... acima do máximo -> 400 sem consultar")
+  void getByIds_shouldReturn400_whenTooManyIds() throws Exception {
+    String[] ids = new String[101];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = UUID.randomUUID().toString();
+    }
+
+    mockMvc
+        .perform(get("/solicitations").param("ids", ids))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error", startsWith("Too many ids")));
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  @DisplayName(
+      "GET /solicitations/search -> filtros viram SolicitationFilter e a página volta com cursor")
+  void search_shouldBindFilters_andReturnPage() throws Exception {
+    SolicitationFilter filter =
+        SolicitationFilter.builder()
+            .status(Status.PENDENTE)
+            .active(true)
+            .category(Category.AUTO)
+            .salesChannel("MOBILE")
+            .paymentMethod("PIX")
+            .productId(PRODUCT_ID)
+            .createdFrom(OffsetDateTime.parse("2025-01-01T00:00:00Z"))
+            .build();
+    Solicitation s = fullEntity(UUID.randomUUID(), OffsetDateTime.now());
+    when(service.search(filter, null, null, 1))
+        .thenReturn(new SliceImpl<>(List.of(s), Pageable.ofSize(1), true));
+
+    mockMvc
+        .perform(
+            get("/solicitations/search")
+                .param("status", "PENDENTE")
+                .param("active", "true")
+                .param("category", "AUTO")
+                .param("salesChannel", "MOBILE")
+                .param("paymentMethod", "PIX")
+                .param("productId", PRODUCT_ID)
+                .param("createdFrom", "2025-01-01T00:00:00Z")
+                .param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(header().exists("X-Next-Cursor"));
+  }
+
   @Test
   @DisplayName("GET /solicitations sem customerId -> 400")
   void listByCustomer_shouldReturn400_whenMissingParam() throws Exception {
@@ -0,0 +1,144 @@
+package br.com.danieldomingues.itau.policy.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.repo.SolicitationFilter;
+import br.com.danieldomingues.itau.policy.service.SolicitationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(
+    controllers = SolicitationExportController.class,
+    properties = "policy.solicitations.export.fetch-size=2")
+class SolicitationExportControllerIT {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+
+  @MockBean private SolicitationService service;
+
+  private static Solicitation row(Status status) {
+    Solicitation s =
+        Solicitation.builder()
+            .id(UUID.randomUUID())
+            .customerId(UUID.randomUUID())
+            .productId("p1")
+            .category(Category.AUTO)
+            .status(status)
+            .createdAt(OffsetDateTime.parse("2025-01-01T10:00:00Z"))
+            .build();
+    s.getAssistances().add("Guincho 250km");
+    return s;
+  }
+
+  /** Simula o cursor do repositório: entrega os chunks em sequência ao consumer do controller. */
+  @SuppressWarnings("unchecked")
+  private void exportReturns(SolicitationFilter filter, List<List<Solicitation>> chunks) {
+    when(service.export(eq(filter), eq(2), any()))
+        .thenAnswer(
+            inv -> {
+              Consumer<List<Solicitation>> sink = inv.getArgument(2);
+              chunks.forEach(sink);
+              return (long) chunks.stream().mapToInt(List::size).sum();
+            });
+  }
+
+  private List<JsonNode> lines(String body) throws Exception {
+    return body.lines().map(this::readTree).toList();
+  }
+
+  private JsonNode readTree(String line) {
+    try {
+      return objectMapper.readTree(line);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Test
+  @DisplayName("GET /solicitations/export -> NDJSON, uma linha por solicitação, filtros repassados")
+  void export_streamsNdjson_withFilters() throws Exception {
+    SolicitationFilter filter =
+        SolicitationFilter.builder()
+            .status(Status.APROVADO)
+            .category(Category.AUTO)
+            .createdFrom(OffsetDateTime.parse("2025-01-01T00:00:00Z"))
+            .createdTo(OffsetDateTime.parse("2025-02-01T00:00:00Z"))
+            .build();
+    exportReturns(
+        filter,
+        List.of(
+            List.of(row(Status.APROVADO), row(Status.APROVADO)), List.of(row(Status.APROVADO))));
+
+    String body =
+        mockMvc
+            .perform(
+                get("/solicitations/export")
+                    .param("status", "APROVADO")
+                    .param("category", "AUTO")
+                    .param("createdFrom", "2025-01-01T00:00:00Z")
+                    .param("createdTo", "2025-02-01T00:00:00Z"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    List<JsonNode> rows = lines(body);
+    assertThat(rows).hasSize(3);
+    assertThat(rows).allMatch(r -> r.get("status").asText().equals("APROVADO"));
+    assertThat(rows.get(0).get("assistances").get(0).asText()).isEqualTo("Guincho 250km");
+  }
+
+  @Test
+  @DisplayName("Accept-Encoding: gzip -> corpo comprimido com Content-Encoding: gzip")
+  void export_gzip() throws Exception {
+    exportReturns(SolicitationFilter.none(), List.of(List.of(row(Status.RECEBIDO))));
+
+    byte[] gz =
+        mockMvc
+            .perform(get("/solicitations/export").header("Accept-Encoding", "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    String body;
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gz))) {
+      body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    assertThat(lines(body)).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("GET /solicitations/export com status inválido -> 400")
+  void export_invalidStatus_returns400() throws Exception {
+    mockMvc
+        .perform(get("/solicitations/export").param("status", "XPTO"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Invalid value for parameter 'status': XPTO"));
+  }
+}
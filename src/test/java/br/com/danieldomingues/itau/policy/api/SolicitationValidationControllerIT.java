@@ -8,6 +8,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import br.com.danieldomingues.itau.policy.domain.Category;
 import br.com.danieldomingues.itau.policy.domain.Solicitation;
 import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.integration.fraud.FraudApiUnavailableException;
 import br.com.danieldomingues.itau.policy.service.FraudValidationService;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -137,4 +138,19 @@ class SolicitationValidationControllerIT {
         .andExpect(jsonPath("$.status", is(400)))
         .andExpect(jsonPath("$.error", notNullValue()));
   }
+
+  @Test
+  @DisplayName(
+      "POST /solicitations/{id}/validate -> 503 quando o circuito da API de Fraudes está aberto")
+  void validate_shouldReturn503_whenFraudApiUnavailable() throws Exception {
+    when(fraudValidationService.validate(ArgumentMatchers.eq(ID)))
+        .thenThrow(
+            new FraudApiUnavailableException("circuit_open", "Fraud API circuit breaker is open"));
+
+    mockMvc
+        .perform(post("/solicitations/{id}/validate", ID).contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(jsonPath("$.status", is(503)))
+        .andExpect(jsonPath("$.reason", is("circuit_open")));
+  }
 }
@@ -17,6 +17,7 @@ import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 class SolicitationServiceCoverageTest {
 
@@ -26,7 +27,7 @@ class SolicitationServiceCoverageTest {
   @BeforeEach
   void setup() {
     repository = mock(SolicitationRepository.class);
-    service = new SolicitationService(repository);
+    service = new SolicitationService(repository, mock(ApplicationEventPublisher.class));
   }
 
   private static Solicitation newEntityBase() {
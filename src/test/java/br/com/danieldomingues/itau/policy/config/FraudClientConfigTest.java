@@ -0,0 +1,61 @@
+package br.com.danieldomingues.itau.policy.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.FraudApiProperties;
+import br.com.danieldomingues.itau.policy.integration.fraud.FraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.HttpFraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.ResilientFraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class FraudClientConfigTest {
+
+  @Test
+  @DisplayName("Shutdown fecha os decorators internos com pool próprio (micro-batch e hedge)")
+  @SuppressWarnings("unchecked")
+  void destroy_closesInnerDecorators() throws Exception {
+    FraudApiProperties props = new FraudApiProperties();
+    props.getBatch().setEnabled(true);
+    props.getHedge().setEnabled(true);
+    props.getCache().setEnabled(true);
+    HttpFraudClient http = mock(HttpFraudClient.class);
+    when(http.checkAll(anyList()))
+        .thenAnswer(
+            inv ->
+                ((List<FraudCheckRequest>) inv.getArgument(0))
+                    .stream()
+                        .map(r -> FraudCheckResponse.builder().classification("REGULAR").build())
+                        .toList());
+    ObjectProvider<ResilientFraudClient> none = mock(ObjectProvider.class);
+    FraudClientConfig config = new FraudClientConfig();
+
+    FraudClient client = config.fraudClient(http, none, props, new SimpleMeterRegistry());
+    client.check(FraudCheckRequest.builder().customerId(UUID.randomUUID()).productId("p1").build());
+    assertThat(threads("fraud-batch-")).isPositive();
+    assertThat(threads("fraud-hedge-")).isPositive();
+
+    config.destroy();
+
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    while (threads("fraud-batch-") + threads("fraud-hedge-") > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(threads("fraud-batch-") + threads("fraud-hedge-")).isZero();
+  }
+
+  private static long threads(String prefix) {
+    return Thread.getAllStackTraces().keySet().stream()
+        .filter(t -> t.isAlive() && t.getName().startsWith(prefix))
+        .count();
+  }
+}
@@ -0,0 +1,66 @@
+package br.com.danieldomingues.itau.policy.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.UUID;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.generator.EventType;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IdStrategyTest {
+
+  /** Estratégia plugada por nome de classe. */
+  public static class Fixed implements IdStrategy {
+    static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000042");
+
+    @Override
+    public UUID next() {
+      return ID;
+    }
+  }
+
+  private static IdStrategyGenerator generator(Map<String, Object> settings) {
+    ConfigurationService config = mock(ConfigurationService.class);
+    when(config.getSettings()).thenReturn(settings);
+    ServiceRegistry registry = mock(ServiceRegistry.class);
+    when(registry.requireService(ConfigurationService.class)).thenReturn(config);
+    CustomIdGeneratorCreationContext context = mock(CustomIdGeneratorCreationContext.class);
+    when(context.getServiceRegistry()).thenReturn(registry);
+    return new IdStrategyGenerator(null, null, context);
+  }
+
+  @Test
+  @DisplayName("Padrão e uuid-v7 -> UUIDv7; random -> UUID v4")
+  void builtIns() {
+    assertThat(IdStrategy.of(null).next().version()).isEqualTo(7);
+    assertThat(IdStrategy.of(IdStrategy.UUID_V7).next().version()).isEqualTo(7);
+    assertThat(IdStrategy.of(IdStrategy.RANDOM).next().version()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Nome de classe -> estratégia plugada; nome desconhecido falha no boot")
+  void customAndUnknown() {
+    assertThat(IdStrategy.of(Fixed.class.getName()).next()).isEqualTo(Fixed.ID);
+    assertThatThrownBy(() -> IdStrategy.of("uuid-v9"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Unknown id strategy: uuid-v9");
+  }
+
+  @Test
+  @DisplayName("Gerador lê policy.id.strategy das propriedades do Hibernate")
+  void generator_usesConfiguredStrategy() {
+    assertThat(generator(Map.of()).generate(null, null, null, EventType.INSERT))
+        .isInstanceOfSatisfying(UUID.class, id -> assertThat(id.version()).isEqualTo(7));
+    assertThat(
+            generator(Map.of(IdStrategy.SETTING, Fixed.class.getName()))
+                .generate(null, null, null, EventType.INSERT))
+        .isEqualTo(Fixed.ID);
+  }
+}
@@ -0,0 +1,79 @@
+package br.com.danieldomingues.itau.policy.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Inserts em uma tabela com PK uuid: UUID v4 (aleatório, o @GeneratedValue anterior) x {@link
+ * UuidV7}. Mede inserts/s e o tamanho final do índice da PK (páginas meio vazias por splits
+ * aleatórios inflam o índice).
+ *
+ * Fora da suíte padrão (não termina em Test) e precisa de Docker; rode com:
+ * mvn test -Dtest=UuidV7InsertBenchmark -Djacoco.skip=true
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UuidV7InsertBenchmark {
+
+  private static final int ROWS = 500_000;
+  private static final int BATCH = 1_000;
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Test
+  void randomVsTimeOrdered() throws Exception {
+    try (Connection c =
+        DriverManager.getConnection(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+      Result v4 = run(c, "ids_v4", UUID::randomUUID);
+      Result v7 = run(c, "ids_v7", UuidV7::next);
+
+      System.out.printf(
+          "uuid pk inserts -> v4: %.0f/s, index %d kB | v7: %.0f/s, index %d kB%n",
+          v4.perSecond, v4.indexBytes / 1024, v7.perSecond, v7.indexBytes / 1024);
+      assertThat(v7.indexBytes).isLessThan(v4.indexBytes);
+    }
+  }
+
+  private record Result(double perSecond, long indexBytes) {}
+
+  private static Result run(Connection c, String table, Supplier<UUID> ids) throws Exception {
+    try (Statement st = c.createStatement()) {
+      st.execute(
+          "CREATE TABLE "
+              + table
+              + " (id uuid PRIMARY KEY, created_at timestamptz NOT NULL DEFAULT now())");
+    }
+    c.setAutoCommit(false);
+    long start = System.nanoTime();
+    try (PreparedStatement ps = c.prepareStatement("INSERT INTO " + table + " (id) VALUES (?)")) {
+      for (int i = 1; i <= ROWS; i++) {
+        ps.setObject(1, ids.get());
+        ps.addBatch();
+        if (i % BATCH == 0) {
+          ps.executeBatch();
+          c.commit();
+        }
+      }
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    c.setAutoCommit(true);
+
+    try (Statement st = c.createStatement();
+        ResultSet rs = st.executeQuery("SELECT pg_relation_size('" + table + "_pkey'::regclass)")) {
+      rs.next();
+      return new Result(ROWS / seconds, rs.getLong(1));
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package br.com.danieldomingues.itau.policy.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UuidV7Test {
+
+  @Test
+  @DisplayName("Versão 7, variante RFC e timestamp do instante da geração")
+  void layout() {
+    long before = System.currentTimeMillis();
+    UUID id = UuidV7.next();
+    long after = System.currentTimeMillis();
+
+    assertThat(id.version()).isEqualTo(7);
+    assertThat(id.variant()).isEqualTo(2);
+    assertThat(UuidV7.timestampOf(id))
+        .isBetween(Instant.ofEpochMilli(before), Instant.ofEpochMilli(after + 1));
+  }
+
+  @Test
+  @DisplayName("Ids em sequência são estritamente crescentes, inclusive no mesmo ms")
+  void monotonic() {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 20_000; i++) {
+      ids.add(UuidV7.next());
+    }
+    for (int i = 1; i < ids.size(); i++) {
+      assertThat(ids.get(i)).isGreaterThan(ids.get(i - 1));
+    }
+  }
+
+  @Test
+  @DisplayName("Relógio parado ou voltando não quebra a ordem")
+  void clockGoingBack_staysOrdered() {
+    long now = System.currentTimeMillis() + 60_000;
+    UUID first = UuidV7.next(now);
+    UUID second = UuidV7.next(now - 5_000);
+    UUID third = UuidV7.next(now);
+
+    assertThat(second).isGreaterThan(first);
+    assertThat(third).isGreaterThan(second);
+  }
+
+  @Test
+  @DisplayName("timestampOf rejeita UUID que não é v7")
+  void timestampOf_rejectsOtherVersions() {
+    assertThatThrownBy(() -> UuidV7.timestampOf(UUID.randomUUID()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
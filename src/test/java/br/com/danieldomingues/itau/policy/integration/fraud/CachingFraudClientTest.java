@@ -0,0 +1,180 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CachingFraudClientTest {
+
+  private FraudClient delegate;
+  private SimpleMeterRegistry registry;
+  private MutableClock clock;
+  private FraudApiProperties.Cache props;
+
+  @BeforeEach
+  void setUp() {
+    delegate = mock(FraudClient.class);
+    registry = new SimpleMeterRegistry();
+    clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    props = new FraudApiProperties.Cache();
+    props.setEnabled(true);
+    props.setMaxSize(2);
+    props.setDefaultTtl(Duration.ofMinutes(1));
+    props.setTtl(Map.of("regular", Duration.ofMinutes(10), "NO_INFO", Duration.ofSeconds(30)));
+  }
+
+  private CachingFraudClient newClient() {
+    return new CachingFraudClient(delegate, props, registry, clock);
+  }
+
+  private static FraudCheckRequest req(UUID customerId, String productId) {
+    return FraudCheckRequest.builder().customerId(customerId).productId(productId).build();
+  }
+
+  private static FraudCheckResponse resp(String classification) {
+    return FraudCheckResponse.builder().classification(classification).build();
+  }
+
+  @Test
+  @DisplayName("Mesma chave (customerId, productId) -> 1 chamada remota; hit ratio atualizado")
+  void repeatedKey_shouldHitCache() {
+    UUID customer = UUID.randomUUID();
+    when(delegate.check(any())).thenReturn(resp("REGULAR"));
+    CachingFraudClient client = newClient();
+
+    client.check(req(customer, "p1"));
+    FraudCheckResponse second = client.check(req(customer, "p1"));
+
+    assertThat(second.getClassification()).isEqualTo("REGULAR");
+    verify(delegate, times(1)).check(any());
+    assertThat(registry.get("fraud.client.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    assertThat(registry.get("fraud.client.cache.requests").tag("result", "hit").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("TTL por classificação: NO_INFO expira antes de REGULAR")
+  void ttlPerClassification() {
+    FraudCheckRequest regular = req(UUID.randomUUID(), "p1");
+    FraudCheckRequest noInfo = req(UUID.randomUUID(), "p2");
+    when(delegate.check(regular)).thenReturn(resp("REGULAR"));
+    when(delegate.check(noInfo)).thenReturn(resp("NO_INFO"));
+    CachingFraudClient client = newClient();
+
+    client.check(regular);
+    client.check(noInfo);
+    clock.advance(Duration.ofMinutes(1));
+    client.check(regular);
+    client.check(noInfo);
+
+    verify(delegate, times(1)).check(regular);
+    verify(delegate, times(2)).check(noInfo);
+  }
+
+  @Test
+  @DisplayName("Classificação sem TTL específico usa default-ttl")
+  void unknownClassification_usesDefaultTtl() {
+    FraudCheckRequest key = req(UUID.randomUUID(), "p1");
+    when(delegate.check(key)).thenReturn(resp("HIGH_RISK"));
+    CachingFraudClient client = newClient();
+
+    client.check(key);
+    clock.advance(Duration.ofSeconds(59));
+    client.check(key);
+    clock.advance(Duration.ofSeconds(2));
+    client.check(key);
+
+    verify(delegate, times(2)).check(key);
+  }
+
+  @Test
+  @DisplayName("Acima de max-size remove a entrada menos usada recentemente (LRU)")
+  void lruEviction() {
+    FraudCheckRequest a = req(UUID.randomUUID(), "a");
+    FraudCheckRequest b = req(UUID.randomUUID(), "b");
+    FraudCheckRequest c = req(UUID.randomUUID(), "c");
+    when(delegate.check(any())).thenReturn(resp("REGULAR"));
+    CachingFraudClient client = newClient();
+
+    client.check(a);
+    client.check(b);
+    client.check(a); // 'a' passa a ser a mais recente
+    client.check(c); // despeja 'b'
+    client.check(a);
+    client.check(b);
+
+    verify(delegate, times(1)).check(a);
+    verify(delegate, times(2)).check(b);
+    assertThat(client.size()).isEqualTo(2);
+    assertThat(registry.get("fraud.client.cache.evictions").counter().count()).isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("Resposta nula/sem classificação e falhas não são cacheadas")
+  void nullAndFailures_areNotCached() {
+    FraudCheckRequest nullResp = req(UUID.randomUUID(), "n");
+    FraudCheckRequest failing = req(UUID.randomUUID(), "f");
+    when(delegate.check(nullResp)).thenReturn(null);
+    when(delegate.check(failing)).thenThrow(new IllegalStateException("Failed to call Fraud API"));
+    CachingFraudClient client = newClient();
+
+    client.check(nullResp);
+    client.check(nullResp);
+    assertThatThrownBy(() -> client.check(failing)).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> client.check(failing)).isInstanceOf(IllegalStateException.class);
+
+    verify(delegate, times(2)).check(nullResp);
+    verify(delegate, times(2)).check(failing);
+    assertThat(client.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("max-size inválido -> IllegalArgumentException")
+  void invalidMaxSize() {
+    props.setMaxSize(0);
+    assertThatThrownBy(this::newClient).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Relógio controlável para exercitar expiração sem sleep. */
+  static final class MutableClock extends Clock {
+    private Instant now;
+
+    MutableClock(Instant start) {
+      this.now = start;
+    }
+
+    void advance(Duration d) {
+      now = now.plus(d);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
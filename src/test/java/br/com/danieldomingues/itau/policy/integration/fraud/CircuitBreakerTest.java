@@ -0,0 +1,104 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.CachingFraudClientTest.MutableClock;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  private MutableClock clock;
+  private CircuitBreaker breaker;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    FraudApiProperties.CircuitBreakerProps props = new FraudApiProperties.CircuitBreakerProps();
+    props.setWindowSize(10);
+    props.setMinimumCalls(4);
+    props.setFailureRateThreshold(50);
+    props.setSlowCallThreshold(Duration.ofMillis(100));
+    props.setOpenDuration(Duration.ofSeconds(10));
+    props.setHalfOpenProbes(2);
+    breaker = new CircuitBreaker(props, clock);
+  }
+
+  private void fail(int n) {
+    for (int i = 0; i < n; i++) {
+      assertThat(breaker.tryAcquirePermission()).isTrue();
+      breaker.onError();
+    }
+  }
+
+  private void succeed(int n) {
+    for (int i = 0; i < n; i++) {
+      assertThat(breaker.tryAcquirePermission()).isTrue();
+      breaker.onSuccess(Duration.ofMillis(1).toNanos());
+    }
+  }
+
+  @Test
+  @DisplayName("Abaixo de minimum-calls não abre, mesmo com 100% de falhas")
+  void belowMinimumCalls_staysClosed() {
+    fail(3);
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  @DisplayName("Taxa de falhas >= limiar abre e recusa até open-duration")
+  void failureRate_opensAndRejects() {
+    succeed(2);
+    fail(2);
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquirePermission()).isFalse();
+
+    clock.advance(Duration.ofSeconds(9));
+    assertThat(breaker.tryAcquirePermission()).isFalse();
+  }
+
+  @Test
+  @DisplayName("Chamadas lentas contam como falha")
+  void slowCalls_countAsFailures() {
+    for (int i = 0; i < 4; i++) {
+      breaker.tryAcquirePermission();
+      breaker.onSuccess(Duration.ofMillis(500).toNanos());
+    }
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  @Test
+  @DisplayName("HALF_OPEN: libera só as sondas; todas com sucesso fecham o circuito")
+  void halfOpen_probesSucceed_closes() {
+    fail(4);
+    clock.advance(Duration.ofSeconds(10));
+
+    assertThat(breaker.tryAcquirePermission()).isTrue();
+    assertThat(breaker.tryAcquirePermission()).isTrue();
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThat(breaker.tryAcquirePermission()).isFalse();
+
+    breaker.onSuccess(0);
+    breaker.onSuccess(0);
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertThat(breaker.getFailureRate()).isZero();
+  }
+
+  @Test
+  @DisplayName("HALF_OPEN: uma sonda com falha reabre o circuito")
+  void halfOpen_probeFails_reopens() {
+    fail(4);
+    clock.advance(Duration.ofSeconds(10));
+
+    assertThat(breaker.tryAcquirePermission()).isTrue();
+    breaker.onError();
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquirePermission()).isFalse();
+  }
+}
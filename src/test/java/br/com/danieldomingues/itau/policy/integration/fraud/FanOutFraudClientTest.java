@@ -0,0 +1,128 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FanOutFraudClientTest {
+
+  private final AtomicInteger singleCalls = new AtomicInteger();
+  private final AtomicInteger bulkCalls = new AtomicInteger();
+  private FanOutFraudClient client;
+
+  @AfterEach
+  void tearDown() {
+    client.close();
+  }
+
+  private static FraudCheckRequest req(String productId) {
+    return FraudCheckRequest.builder().customerId(UUID.randomUUID()).productId(productId).build();
+  }
+
+  private static List<FraudCheckRequest> requests(int n) {
+    return IntStream.range(0, n).mapToObj(i -> req("p" + i)).toList();
+  }
+
+  /** Responde com o productId como classificação, para conferir a ordem. */
+  private FraudClient echo() {
+    return new FraudClient() {
+      @Override
+      public FraudCheckResponse check(FraudCheckRequest r) {
+        singleCalls.incrementAndGet();
+        return FraudCheckResponse.builder().classification(r.getProductId()).build();
+      }
+
+      @Override
+      public List<FraudCheckResponse> checkAll(List<FraudCheckRequest> rs) {
+        bulkCalls.incrementAndGet();
+        return rs.stream()
+            .map(r -> FraudCheckResponse.builder().classification(r.getProductId()).build())
+            .toList();
+      }
+    };
+  }
+
+  @Test
+  @DisplayName("Com bulk -> lote segue inteiro para o delegate")
+  void bulkSupported_passesThrough() {
+    client = new FanOutFraudClient(echo(), () -> true, 4);
+
+    List<FraudCheckResponse> out = client.checkAll(requests(3));
+
+    assertThat(out)
+        .extracting(FraudCheckResponse::getClassification)
+        .containsExactly("p0", "p1", "p2");
+    assertThat(bulkCalls).hasValue(1);
+    assertThat(singleCalls).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("Sem bulk -> um check por item, respostas na ordem dos requests")
+  void noBulk_fansOutInOrder() {
+    client = new FanOutFraudClient(echo(), () -> false, 4);
+
+    List<FraudCheckResponse> out = client.checkAll(requests(10));
+
+    assertThat(out)
+        .extracting(FraudCheckResponse::getClassification)
+        .containsExactlyElementsOf(
+            requests(10).stream().map(FraudCheckRequest::getProductId).toList());
+    assertThat(singleCalls).hasValue(10);
+    assertThat(bulkCalls).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("Sem bulk, acima da resiliência -> cada item ocupa uma vaga do bulkhead")
+  void noBulk_eachItemTakesABulkheadPermit() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger started = new AtomicInteger();
+    FraudClient slow =
+        r -> {
+          started.incrementAndGet();
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return FraudCheckResponse.builder().classification("REGULAR").build();
+        };
+    FraudApiProperties.Resilience props = new FraudApiProperties.Resilience();
+    props.getBulkhead().setMaxConcurrent(2);
+    props.getBulkhead().setMaxWait(Duration.ZERO);
+    ResilientFraudClient resilient =
+        new ResilientFraudClient(slow, props, new SimpleMeterRegistry());
+    client = new FanOutFraudClient(resilient, () -> false, 8);
+
+    Thread releaser =
+        new Thread(
+            () -> {
+              try {
+                Thread.sleep(200);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              release.countDown();
+            });
+    releaser.start();
+
+    assertThatThrownBy(() -> client.checkAll(requests(5)))
+        .isInstanceOf(FraudApiUnavailableException.class)
+        .hasMessageContaining("bulkhead");
+    releaser.join();
+    assertThat(started.get()).isLessThanOrEqualTo(2);
+    assertThat(resilient.snapshot().get("bulkheadAvailable")).isEqualTo(2);
+  }
+}
@@ -0,0 +1,177 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HedgingFraudClientTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AtomicInteger calls = new AtomicInteger();
+  private HedgingFraudClient client;
+
+  private static final FraudCheckRequest REQ =
+      FraudCheckRequest.builder().customerId(UUID.randomUUID()).productId("p1").build();
+
+  @AfterEach
+  void tearDown() {
+    client.close();
+  }
+
+  private static FraudApiProperties.Hedge props(double ratio) {
+    FraudApiProperties.Hedge props = new FraudApiProperties.Hedge();
+    props.setEnabled(true);
+    props.setInitialDelay(Duration.ofMillis(20));
+    props.setMaxHedgeRatio(ratio);
+    return props;
+  }
+
+  private static FraudCheckResponse resp(String classification) {
+    return FraudCheckResponse.builder().classification(classification).build();
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("interrupted", e);
+    }
+  }
+
+  private double count(String name, String tag, String value) {
+    return registry.get(name).tag(tag, value).counter().count();
+  }
+
+  @Test
+  @DisplayName("Primária lenta -> hedge responde primeiro e a primária é cancelada")
+  void slowPrimary_hedgeWins_andLoserCancelled() {
+    CountDownLatch primaryInterrupted = new CountDownLatch(1);
+    FraudClient tail =
+        r -> {
+          if (calls.incrementAndGet() == 1) {
+            try {
+              Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+              primaryInterrupted.countDown();
+              throw new IllegalStateException("cancelled", e);
+            }
+            return resp("PRIMARY");
+          }
+          return resp("HEDGE");
+        };
+    client = new HedgingFraudClient(tail, props(1.0), registry);
+
+    long start = System.nanoTime();
+    FraudCheckResponse out = client.check(REQ);
+    long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+    assertThat(out.getClassification()).isEqualTo("HEDGE");
+    assertThat(elapsedMs).isLessThan(2_000);
+    assertThat(calls).hasValue(2);
+    assertThat(registry.get("fraud.client.hedge.wins").counter().count()).isEqualTo(1.0);
+    assertThat(count("fraud.client.hedge.requests", "type", "hedge")).isEqualTo(1.0);
+    assertThat(registry.get("fraud.client.hedge.rate").gauge().value()).isEqualTo(1.0);
+    assertThat(awaitQuietly(primaryInterrupted)).isTrue();
+  }
+
+  @Test
+  @DisplayName("Primária rápida -> nenhum hedge")
+  void fastPrimary_noHedge() {
+    client =
+        new HedgingFraudClient(
+            r -> {
+              calls.incrementAndGet();
+              return resp("REGULAR");
+            },
+            props(1.0),
+            registry);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(client.check(REQ).getClassification()).isEqualTo("REGULAR");
+    }
+    assertThat(calls).hasValue(5);
+    assertThat(count("fraud.client.hedge.requests", "type", "hedge")).isZero();
+  }
+
+  @Test
+  @DisplayName("Sem orçamento -> não hedgeia e espera a primária")
+  void noBudget_waitsForPrimary() {
+    client =
+        new HedgingFraudClient(
+            r -> {
+              calls.incrementAndGet();
+              sleep(60);
+              return resp("REGULAR");
+            },
+            props(0.0),
+            registry);
+
+    assertThat(client.check(REQ).getClassification()).isEqualTo("REGULAR");
+    assertThat(calls).hasValue(1);
+    assertThat(count("fraud.client.hedge.skipped", "reason", "budget")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Falha rápida da primária é propagada sem hedge")
+  void primaryFailure_propagatedWithoutHedge() {
+    client =
+        new HedgingFraudClient(
+            r -> {
+              calls.incrementAndGet();
+              throw new IllegalStateException("Failed to call Fraud API");
+            },
+            props(1.0),
+            registry);
+
+    assertThatThrownBy(() -> client.check(REQ))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Failed to call Fraud API");
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Atraso do hedge acompanha o percentil das latências observadas")
+  void delay_followsObservedPercentile() {
+    FraudApiProperties.Hedge props = props(0.0);
+    props.setMinSamples(10);
+    props.setWindowSize(10);
+    props.setInitialDelay(Duration.ofSeconds(1));
+    client =
+        new HedgingFraudClient(
+            r -> {
+              sleep(15);
+              return resp("REGULAR");
+            },
+            props,
+            registry);
+
+    for (int i = 0; i < 10; i++) {
+      client.check(REQ);
+    }
+
+    assertThat(client.currentDelay())
+        .isGreaterThanOrEqualTo(Duration.ofMillis(15))
+        .isLessThan(Duration.ofSeconds(1));
+  }
+
+  private static boolean awaitQuietly(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
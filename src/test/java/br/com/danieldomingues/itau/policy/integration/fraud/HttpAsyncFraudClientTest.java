@@ -0,0 +1,144 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+/** Exercita o cliente assíncrono contra um servidor HTTP local (sem WireMock/Docker). */
+class HttpAsyncFraudClientTest {
+
+  private HttpServer server;
+  private HttpAsyncFraudClient client;
+  private final AtomicInteger status = new AtomicInteger(200);
+  private final AtomicReference<String> body =
+      new AtomicReference<>("{\"classification\":\"REGULAR\",\"occurrences\":[]}");
+  private final AtomicReference<String> lastRequest = new AtomicReference<>();
+  private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/fraud/check",
+        exchange -> {
+          clientPorts.add(exchange.getRemoteAddress().getPort());
+          lastRequest.set(
+              new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+          byte[] out = body.get().getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.sendResponseHeaders(status.get(), out.length);
+          try (OutputStream os = exchange.getResponseBody()) {
+            os.write(out);
+          }
+        });
+    server.start();
+    client = new HttpAsyncFraudClient(props(server.getAddress().getPort()), new ObjectMapper());
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.destroy();
+    server.stop(0);
+  }
+
+  private static FraudApiProperties props(int port) {
+    FraudApiProperties props = new FraudApiProperties();
+    props.setBaseUrl("http://127.0.0.1:" + port);
+    props.setConnectTimeout(Duration.ofSeconds(1));
+    props.setReadTimeout(Duration.ofSeconds(2));
+    props.getAsync().setEnabled(true);
+    props.getAsync().setMaxConnections(2);
+    props.getAsync().setMaxConnectionsPerRoute(2);
+    props.getAsync().setIoThreads(1);
+    return props;
+  }
+
+  private static FraudCheckRequest req() {
+    return FraudCheckRequest.builder().customerId(UUID.randomUUID()).productId("p1").build();
+  }
+
+  @Test
+  @DisplayName("200 -> completa com a classificação; body enviado como JSON")
+  void success() throws Exception {
+    FraudCheckRequest request = req();
+
+    FraudCheckResponse resp = client.checkAsync(request).get(5, TimeUnit.SECONDS);
+
+    assertThat(resp.getClassification()).isEqualTo("REGULAR");
+    assertThat(lastRequest.get()).contains(request.getCustomerId().toString()).contains("p1");
+  }
+
+  @Test
+  @DisplayName("Várias chamadas reaproveitam conexões keep-alive (limitadas ao pool por rota)")
+  void keepAlive_reusesPooledConnections() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      client.checkAsync(req()).get(5, TimeUnit.SECONDS);
+    }
+    assertThat(clientPorts).hasSizeLessThanOrEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Status não-2xx -> IllegalStateException")
+  void non2xx_failsFuture() {
+    status.set(503);
+    body.set("{\"error\":\"down\"}");
+
+    CompletableFuture<FraudCheckResponse> f = client.checkAsync(req());
+
+    assertThatThrownBy(() -> f.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("503")
+        .hasRootCauseInstanceOf(HttpServerErrorException.class);
+  }
+
+  @Test
+  @DisplayName("4xx -> causa HttpClientErrorException, como no RestTemplate (não conta como falha)")
+  void clientError_carriesHttpClientErrorException() {
+    status.set(400);
+    body.set("{\"error\":\"bad\"}");
+
+    CompletableFuture<FraudCheckResponse> f = client.checkAsync(req());
+
+    assertThatThrownBy(() -> f.get(5, TimeUnit.SECONDS))
+        .hasRootCauseInstanceOf(HttpClientErrorException.class);
+  }
+
+  @Test
+  @DisplayName("Servidor indisponível -> IllegalStateException('Failed to call Fraud API')")
+  void connectionRefused_failsFuture() throws Exception {
+    server.stop(0);
+    HttpAsyncFraudClient offline = new HttpAsyncFraudClient(props(1), new ObjectMapper());
+    try {
+      CompletableFuture<FraudCheckResponse> f = offline.checkAsync(req());
+      assertThatThrownBy(() -> f.get(5, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("Failed to call Fraud API");
+    } finally {
+      offline.destroy();
+    }
+  }
+}
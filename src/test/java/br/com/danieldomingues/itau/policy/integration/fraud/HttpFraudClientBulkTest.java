@@ -0,0 +1,110 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+/** checkAll do HttpFraudClient: endpoint bulk e fallback por item (servidor HTTP local). */
+class HttpFraudClientBulkTest {
+
+  private HttpServer server;
+  private HttpFraudClient client;
+  private final AtomicInteger singleCalls = new AtomicInteger();
+  private final AtomicInteger bulkCalls = new AtomicInteger();
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  private void start(boolean withBulk) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.setExecutor(Executors.newFixedThreadPool(8));
+    server.createContext(
+        "/fraud/check",
+        exchange -> {
+          String path = exchange.getRequestURI().getPath();
+          exchange.getRequestBody().readAllBytes();
+          if (path.equals("/fraud/check/bulk")) {
+            if (!withBulk) {
+              respond(exchange, 404, "{}");
+              return;
+            }
+            bulkCalls.incrementAndGet();
+            respond(
+                exchange,
+                200,
+                "[{\"classification\":\"REGULAR\"},{\"classification\":\"HIGH_RISK\"},"
+                    + "{\"classification\":\"NO_INFO\"}]");
+            return;
+          }
+          singleCalls.incrementAndGet();
+          respond(exchange, 200, "{\"classification\":\"REGULAR\"}");
+        });
+    server.start();
+
+    FraudApiProperties props = new FraudApiProperties();
+    props.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+    client = new HttpFraudClient(new RestTemplateBuilder(), props);
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] out = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, out.length);
+    try (OutputStream os = exchange.getResponseBody()) {
+      os.write(out);
+    }
+  }
+
+  private static List<FraudCheckRequest> threeRequests() {
+    return List.of(req("p1"), req("p2"), req("p3"));
+  }
+
+  private static FraudCheckRequest req(String productId) {
+    return FraudCheckRequest.builder().customerId(UUID.randomUUID()).productId(productId).build();
+  }
+
+  @Test
+  @DisplayName("Com endpoint bulk -> um único POST e respostas na ordem dos requests")
+  void bulkEndpoint_singleRoundTrip() throws Exception {
+    start(true);
+
+    List<FraudCheckResponse> out = client.checkAll(threeRequests());
+
+    assertThat(out)
+        .extracting(FraudCheckResponse::getClassification)
+        .containsExactly("REGULAR", "HIGH_RISK", "NO_INFO");
+    assertThat(bulkCalls).hasValue(1);
+    assertThat(singleCalls).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("Sem endpoint bulk (404) -> um check por item e não tenta bulk de novo")
+  void noBulkEndpoint_fallsBackToSingleChecks() throws Exception {
+    start(false);
+
+    List<FraudCheckResponse> first = client.checkAll(threeRequests());
+    List<FraudCheckResponse> second = client.checkAll(threeRequests());
+
+    assertThat(first).hasSize(3);
+    assertThat(second).hasSize(3);
+    assertThat(singleCalls).hasValue(6);
+    assertThat(client.isBulkSupported()).isFalse();
+  }
+}
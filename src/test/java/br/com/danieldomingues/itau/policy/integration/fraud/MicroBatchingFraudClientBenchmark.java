@@ -0,0 +1,103 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Throughput de checks com e sem micro-batching contra um remoto simulado: cada round trip custa
+ * {@link #ROUND_TRIP} e o remoto aceita no máximo {@link #REMOTE_CONNECTIONS} chamadas simultâneas.
+ *
+ * Fora da suíte padrão (não termina em Test); rode com:
+ * mvn test -Dtest=MicroBatchingFraudClientBenchmark -Djacoco.skip=true
+ */
+class MicroBatchingFraudClientBenchmark {
+
+  private static final Duration ROUND_TRIP = Duration.ofMillis(5);
+  private static final int REMOTE_CONNECTIONS = 8;
+  private static final int CALLERS = 64;
+  private static final int CHECKS_PER_CALLER = 50;
+
+  /** Remoto simulado: custo fixo por round trip, seja single ou bulk. */
+  static class SimulatedRemote implements FraudClient {
+    private final Semaphore connections = new Semaphore(REMOTE_CONNECTIONS);
+
+    @Override
+    public FraudCheckResponse check(FraudCheckRequest request) {
+      return checkAll(List.of(request)).get(0);
+    }
+
+    @Override
+    public List<FraudCheckResponse> checkAll(List<FraudCheckRequest> requests) {
+      connections.acquireUninterruptibly();
+      try {
+        LockSupport.parkNanos(ROUND_TRIP.toNanos());
+        return requests.stream()
+            .map(r -> FraudCheckResponse.builder().classification("REGULAR").build())
+            .toList();
+      } finally {
+        connections.release();
+      }
+    }
+  }
+
+  @Test
+  void batchedVsUnbatched() throws Exception {
+    double unbatched = run(new SimulatedRemote());
+
+    FraudApiProperties.Batch props = new FraudApiProperties.Batch();
+    props.setMaxSize(32);
+    props.setMaxWait(Duration.ofMillis(2));
+    props.setFlushThreads(REMOTE_CONNECTIONS);
+    double batched;
+    try (MicroBatchingFraudClient client =
+        new MicroBatchingFraudClient(new SimulatedRemote(), props, new SimpleMeterRegistry())) {
+      batched = run(client);
+    }
+
+    System.out.printf(
+        "fraud checks/s -> unbatched: %.0f | batched: %.0f (x%.1f)%n",
+        unbatched, batched, batched / unbatched);
+    assertThat(batched).isGreaterThan(unbatched);
+  }
+
+  private static double run(FraudClient client) throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+    try {
+      long start = System.nanoTime();
+      List<Future<?>> futures = new ArrayList<>();
+      for (int c = 0; c < CALLERS; c++) {
+        futures.add(
+            pool.submit(
+                () -> {
+                  for (int i = 0; i < CHECKS_PER_CALLER; i++) {
+                    client.check(
+                        FraudCheckRequest.builder()
+                            .customerId(UUID.randomUUID())
+                            .productId("p" + i)
+                            .build());
+                  }
+                }));
+      }
+      for (Future<?> f : futures) {
+        f.get();
+      }
+      double seconds = (System.nanoTime() - start) / 1e9;
+      return CALLERS * CHECKS_PER_CALLER / seconds;
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MicroBatchingFraudClientTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+  private MicroBatchingFraudClient client;
+
+  /** Delegate que responde a classificação = productId, para conferir o roteamento. */
+  private final FraudClient echo =
+      new FraudClient() {
+        @Override
+        public FraudCheckResponse check(FraudCheckRequest request) {
+          throw new AssertionError("batcher deve usar checkAll");
+        }
+
+        @Override
+        public List<FraudCheckResponse> checkAll(List<FraudCheckRequest> requests) {
+          batchSizes.add(requests.size());
+          return requests.stream()
+              .map(r -> FraudCheckResponse.builder().classification(r.getProductId()).build())
+              .toList();
+        }
+      };
+
+  @AfterEach
+  void tearDown() {
+    if (client != null) {
+      client.close();
+    }
+  }
+
+  private static FraudApiProperties.Batch props(int maxSize, Duration maxWait) {
+    FraudApiProperties.Batch props = new FraudApiProperties.Batch();
+    props.setEnabled(true);
+    props.setMaxSize(maxSize);
+    props.setMaxWait(maxWait);
+    return props;
+  }
+
+  private static FraudCheckRequest req(String productId) {
+    return FraudCheckRequest.builder().customerId(UUID.randomUUID()).productId(productId).build();
+  }
+
+  @Test
+  @DisplayName(
+      "N checks concorrentes -> um checkAll de N itens; cada chamador recebe a sua resposta")
+  void fullBatch_flushesBySize_andRoutesResults() throws Exception {
+    client = new MicroBatchingFraudClient(echo, props(16, Duration.ofSeconds(30)), registry);
+    ExecutorService pool = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<FraudCheckResponse>> futures = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        String productId = "p" + i;
+        futures.add(pool.submit(() -> client.check(req(productId))));
+      }
+      for (int i = 0; i < 16; i++) {
+        assertThat(futures.get(i).get(5, TimeUnit.SECONDS).getClassification()).isEqualTo("p" + i);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(batchSizes).containsExactly(16);
+    assertThat(registry.get("fraud.client.batch.flushes").tag("trigger", "size").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Lote incompleto é enviado ao atingir max-wait")
+  void partialBatch_flushesByTime() {
+    client = new MicroBatchingFraudClient(echo, props(50, Duration.ofMillis(20)), registry);
+
+    FraudCheckResponse resp = client.check(req("solo"));
+
+    assertThat(resp.getClassification()).isEqualTo("solo");
+    assertThat(batchSizes).containsExactly(1);
+    assertThat(registry.get("fraud.client.batch.flushes").tag("trigger", "time").counter().count())
+        .isEqualTo(1.0);
+    assertThat(client.pendingCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("Falha do checkAll é propagada a todos os chamadores do lote")
+  void batchFailure_propagatesToAllCallers() throws Exception {
+    FraudClient failing =
+        new FraudClient() {
+          @Override
+          public FraudCheckResponse check(FraudCheckRequest request) {
+            throw new AssertionError();
+          }
+
+          @Override
+          public List<FraudCheckResponse> checkAll(List<FraudCheckRequest> requests) {
+            throw new IllegalStateException("Failed to call Fraud API");
+          }
+        };
+    client = new MicroBatchingFraudClient(failing, props(2, Duration.ofSeconds(30)), registry);
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      Future<FraudCheckResponse> a = pool.submit(() -> client.check(req("a")));
+      Future<FraudCheckResponse> b = pool.submit(() -> client.check(req("b")));
+
+      for (Future<FraudCheckResponse> f : List.of(a, b)) {
+        assertThatThrownBy(() -> f.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Failed to call Fraud API");
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+}
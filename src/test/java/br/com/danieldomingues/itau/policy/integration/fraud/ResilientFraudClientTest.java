@@ -0,0 +1,240 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.CachingFraudClientTest.MutableClock;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+class ResilientFraudClientTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+  private final AtomicInteger calls = new AtomicInteger();
+
+  private static final FraudCheckRequest REQ =
+      FraudCheckRequest.builder().customerId(UUID.randomUUID()).productId("p1").build();
+  private static final FraudCheckResponse REGULAR =
+      FraudCheckResponse.builder().classification("REGULAR").build();
+
+  private static FraudApiProperties.Resilience props() {
+    FraudApiProperties.Resilience props = new FraudApiProperties.Resilience();
+    props.getCircuitBreaker().setMinimumCalls(4);
+    props.getCircuitBreaker().setWindowSize(4);
+    props.getRetry().setBaseBackoff(Duration.ofMillis(1));
+    props.getRetry().setMaxBackoff(Duration.ofMillis(2));
+    return props;
+  }
+
+  private static IllegalStateException ioFailure() {
+    return new IllegalStateException(
+        "Failed to call Fraud API", new ResourceAccessException("Read timed out"));
+  }
+
+  private double counter(String name, String tag, String value) {
+    return registry.get(name).tag(tag, value).counter().count();
+  }
+
+  @Test
+  @DisplayName("Falha transitória é repetida e a segunda tentativa responde")
+  void transientFailure_isRetried() {
+    FraudClient flaky =
+        r -> {
+          if (calls.incrementAndGet() == 1) {
+            throw ioFailure();
+          }
+          return REGULAR;
+        };
+    ResilientFraudClient client = new ResilientFraudClient(flaky, props(), registry, clock);
+
+    assertThat(client.check(REQ)).isEqualTo(REGULAR);
+    assertThat(calls).hasValue(2);
+    assertThat(counter("fraud.client.retries", "result", "attempted")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("4xx não é repetido nem conta como falha do remoto")
+  void clientError_notRetried() {
+    FraudClient badRequest =
+        r -> {
+          calls.incrementAndGet();
+          throw new IllegalStateException(
+              "Failed to call Fraud API", new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        };
+    ResilientFraudClient client = new ResilientFraudClient(badRequest, props(), registry, clock);
+
+    for (int i = 0; i < 5; i++) {
+      assertThatThrownBy(() -> client.check(REQ))
+          .isNotInstanceOf(FraudApiUnavailableException.class);
+    }
+    assertThat(calls).hasValue(5);
+    assertThat(client.circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  @DisplayName("Orçamento esgotado -> sem retry")
+  void retryBudget_exhausted() {
+    FraudApiProperties.Resilience props = props();
+    props.getRetry().setBudgetMaxTokens(1);
+    props.getRetry().setBudgetRatio(0);
+    props.getCircuitBreaker().setMinimumCalls(100);
+    props.getCircuitBreaker().setWindowSize(100);
+    FraudClient down =
+        r -> {
+          calls.incrementAndGet();
+          throw ioFailure();
+        };
+    ResilientFraudClient client = new ResilientFraudClient(down, props, registry, clock);
+
+    assertThatThrownBy(() -> client.check(REQ)).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> client.check(REQ)).isInstanceOf(IllegalStateException.class);
+
+    // 1ª chamada: 2 tentativas (usa o único token); 2ª: 1 tentativa
+    assertThat(calls).hasValue(3);
+    assertThat(counter("fraud.client.retries", "result", "budget_exhausted")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Remoto degradado abre o circuito: chamadas seguintes falham rápido com 503")
+  void degradedRemote_opensCircuit_andFailsFast() {
+    FraudClient down =
+        r -> {
+          calls.incrementAndGet();
+          throw ioFailure();
+        };
+    FraudApiProperties.Resilience props = props();
+    props.getRetry().setMaxAttempts(1);
+    ResilientFraudClient client = new ResilientFraudClient(down, props, registry, clock);
+
+    for (int i = 0; i < 4; i++) {
+      assertThatThrownBy(() -> client.check(REQ)).isInstanceOf(IllegalStateException.class);
+    }
+
+    assertThatThrownBy(() -> client.check(REQ))
+        .isInstanceOf(FraudApiUnavailableException.class)
+        .hasMessageContaining("circuit breaker is open");
+    assertThat(calls).hasValue(4);
+    assertThat(counter("fraud.client.rejections", "reason", "circuit_open")).isEqualTo(1.0);
+    assertThat(registry.get("fraud.client.circuit.state").tag("state", "open").gauge().value())
+        .isEqualTo(1.0);
+    assertThat(client.snapshot()).containsEntry("circuitState", "OPEN");
+
+    // após open-duration o circuito libera uma sonda (HALF_OPEN)
+    clock.advance(Duration.ofSeconds(10));
+    assertThatThrownBy(() -> client.check(REQ)).isNotInstanceOf(FraudApiUnavailableException.class);
+    assertThat(calls).hasValue(5);
+  }
+
+  @Test
+  @DisplayName("Bulkhead cheio recusa na hora, sem chamar o remoto")
+  void bulkheadFull_rejects() throws Exception {
+    FraudApiProperties.Resilience props = props();
+    props.getBulkhead().setMaxConcurrent(1);
+    props.getBulkhead().setMaxWait(Duration.ZERO);
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    FraudClient slow =
+        r -> {
+          entered.countDown();
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return REGULAR;
+        };
+    ResilientFraudClient client = new ResilientFraudClient(slow, props, registry, clock);
+    ExecutorService pool = Executors.newSingleThreadExecutor();
+    try {
+      pool.submit(() -> client.check(REQ));
+      assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+      assertThatThrownBy(() -> client.check(REQ))
+          .isInstanceOf(FraudApiUnavailableException.class)
+          .extracting(ex -> ((FraudApiUnavailableException) ex).getReason())
+          .isEqualTo(ResilientFraudClient.BULKHEAD_FULL);
+    } finally {
+      release.countDown();
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "Assíncrono: vaga do bulkhead ocupada até o future completar; cheio recusa no future")
+  void async_holdsBulkheadUntilCompletion() {
+    FraudApiProperties.Resilience props = props();
+    props.getBulkhead().setMaxConcurrent(1);
+    props.getBulkhead().setMaxWait(Duration.ZERO);
+    ResilientFraudClient client = new ResilientFraudClient(r -> REGULAR, props, registry, clock);
+    CompletableFuture<FraudCheckResponse> inFlight = new CompletableFuture<>();
+
+    CompletableFuture<FraudCheckResponse> first = client.executeAsync(() -> inFlight);
+    CompletableFuture<FraudCheckResponse> second =
+        client.executeAsync(
+            () -> {
+              calls.incrementAndGet();
+              return CompletableFuture.completedFuture(REGULAR);
+            });
+
+    assertThat(second).isCompletedExceptionally();
+    assertThatThrownBy(second::join).hasCauseInstanceOf(FraudApiUnavailableException.class);
+    assertThat(calls).hasValue(0);
+
+    inFlight.complete(REGULAR);
+    assertThat(first.join()).isEqualTo(REGULAR);
+    assertThat(client.snapshot()).containsEntry("bulkheadAvailable", 1);
+  }
+
+  @Test
+  @DisplayName("Assíncrono: falhas do remoto abrem o mesmo circuito dos checks síncronos")
+  void async_failuresOpenSharedCircuit() {
+    ResilientFraudClient client = new ResilientFraudClient(r -> REGULAR, props(), registry, clock);
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(client.executeAsync(() -> CompletableFuture.failedFuture(ioFailure())))
+          .isCompletedExceptionally();
+    }
+
+    assertThatThrownBy(() -> client.check(REQ))
+        .isInstanceOf(FraudApiUnavailableException.class)
+        .hasMessageContaining("circuit breaker is open");
+  }
+
+  @Test
+  @DisplayName("AIMD: falhas reduzem o limite; sucessos com o limite em uso voltam a aumentar")
+  void aimdLimiter_adaptsToFailures() {
+    FraudApiProperties.LimiterProps props = new FraudApiProperties.LimiterProps();
+    props.setInitialLimit(10);
+    props.setBackoffRatio(0.5);
+    AimdLimiter limiter = new AimdLimiter(props);
+
+    assertThat(limiter.tryAcquire()).isTrue();
+    limiter.onDropped();
+    assertThat(limiter.getLimit()).isEqualTo(5);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(limiter.tryAcquire()).isTrue();
+    }
+    assertThat(limiter.tryAcquire()).isFalse();
+
+    limiter.onSuccess(0);
+    assertThat(limiter.getLimit()).isEqualTo(6);
+  }
+}
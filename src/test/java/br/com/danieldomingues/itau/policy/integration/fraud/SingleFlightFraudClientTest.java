@@ -0,0 +1,152 @@
+package br.com.danieldomingues.itau.policy.integration.fraud;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightFraudClientTest {
+
+  private static final int BURST = 64;
+
+  private FraudClient delegate;
+  private SimpleMeterRegistry registry;
+  private SingleFlightFraudClient client;
+
+  @BeforeEach
+  void setUp() {
+    delegate = mock(FraudClient.class);
+    registry = new SimpleMeterRegistry();
+    client = new SingleFlightFraudClient(delegate, registry);
+  }
+
+  private static FraudCheckRequest req(UUID customerId) {
+    return FraudCheckRequest.builder().customerId(customerId).productId("p1").build();
+  }
+
+  private double coalesced() {
+    return registry
+        .get("fraud.client.singleflight.calls")
+        .tag("role", "coalesced")
+        .counter()
+        .count();
+  }
+
+  /** Dispara BURST chamadas idênticas e segura o "HTTP" até todos estarem aguardando. */
+  private List<Future<FraudCheckResponse>> burst(FraudCheckRequest request, ExecutorService pool)
+      throws InterruptedException {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<FraudCheckResponse>> futures = new ArrayList<>();
+    for (int i = 0; i < BURST; i++) {
+      futures.add(
+          pool.submit(
+              () -> {
+                start.await();
+                return client.check(request);
+              }));
+    }
+    start.countDown();
+    return futures;
+  }
+
+  private void awaitCoalesced(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (coalesced() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+
+  @Test
+  @DisplayName("Burst de chamadas idênticas -> exatamente 1 chamada remota")
+  void burst_shouldIssueExactlyOneDownstreamCall() throws Exception {
+    FraudCheckRequest request = req(UUID.randomUUID());
+    CountDownLatch release = new CountDownLatch(1);
+    when(delegate.check(request))
+        .thenAnswer(
+            inv -> {
+              release.await(10, TimeUnit.SECONDS);
+              return FraudCheckResponse.builder().classification("REGULAR").build();
+            });
+
+    ExecutorService pool = Executors.newFixedThreadPool(BURST);
+    try {
+      List<Future<FraudCheckResponse>> futures = burst(request, pool);
+      awaitCoalesced(BURST - 1);
+      release.countDown();
+
+      for (Future<FraudCheckResponse> f : futures) {
+        assertThat(f.get(10, TimeUnit.SECONDS).getClassification()).isEqualTo("REGULAR");
+      }
+    } finally {
+      release.countDown();
+      pool.shutdownNow();
+    }
+
+    verify(delegate, times(1)).check(any());
+    assertThat(coalesced()).isEqualTo(BURST - 1);
+    assertThat(registry.get("fraud.client.singleflight.inflight").gauge().value()).isZero();
+  }
+
+  @Test
+  @DisplayName("Falha do líder é propagada a todos os coalescidos")
+  void leaderFailure_isSharedWithFollowers() throws Exception {
+    FraudCheckRequest request = req(UUID.randomUUID());
+    CountDownLatch release = new CountDownLatch(1);
+    when(delegate.check(request))
+        .thenAnswer(
+            inv -> {
+              release.await(10, TimeUnit.SECONDS);
+              throw new IllegalStateException("Failed to call Fraud API");
+            });
+
+    ExecutorService pool = Executors.newFixedThreadPool(BURST);
+    try {
+      List<Future<FraudCheckResponse>> futures = burst(request, pool);
+      awaitCoalesced(BURST - 1);
+      release.countDown();
+
+      for (Future<FraudCheckResponse> f : futures) {
+        assertThatThrownBy(() -> f.get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+      }
+    } finally {
+      release.countDown();
+      pool.shutdownNow();
+    }
+    verify(delegate, times(1)).check(any());
+  }
+
+  @Test
+  @DisplayName("Requests diferentes não são coalescidos; chamada concluída não é reaproveitada")
+  void distinctOrSequentialRequests_goDownstream() {
+    FraudCheckRequest a = req(UUID.randomUUID());
+    FraudCheckRequest b = req(UUID.randomUUID());
+    when(delegate.check(any()))
+        .thenReturn(FraudCheckResponse.builder().classification("REGULAR").build());
+
+    client.check(a);
+    client.check(a);
+    client.check(b);
+
+    verify(delegate, times(2)).check(a);
+    verify(delegate, times(1)).check(b);
+    assertThat(coalesced()).isZero();
+  }
+}
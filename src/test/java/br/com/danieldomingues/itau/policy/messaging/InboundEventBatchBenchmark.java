@@ -0,0 +1,185 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import br.com.danieldomingues.itau.policy.config.PolicyEventsConfig;
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.repo.InboxRepository;
+import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Mensagens de pagamento por vez ({@link PaymentEventListener#onPayment}) x em lote ({@link
+ * InboundEventBatchHandler}) contra um Postgres real, com o publisher (outbox) mockado:
+ * statements JDBC por mensagem (estatísticas do Hibernate) e mensagens/s. Cada modo roda duas
+ * vezes sobre as mesmas mensagens; a segunda passada é uma reentrega em massa, descartada pelo
+ * {@link Inbox}.
+ *
+ * Fora da suíte padrão (não termina em Test) e precisa de Docker; rode com:
+ * mvn test -Dtest=InboundEventBatchBenchmark -Djacoco.skip=true
+ */
+@DataJpaTest
+@Import(InboxRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class InboundEventBatchBenchmark {
+
+  private static final int MESSAGES = 5_000;
+  private static final int BATCH_SIZE = 100;
+  private static final Jackson2JsonMessageConverter CONVERTER =
+      new PolicyEventsConfig().jackson2JsonMessageConverter();
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withDatabaseName("policydb")
+          .withUsername("policy")
+          .withPassword("policy");
+
+  @Autowired private SolicitationRepository repo;
+  @Autowired private InboxRepository inboxRepository;
+  @Autowired private EntityManagerFactory emf;
+  @Autowired private PlatformTransactionManager txManager;
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    r.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+  }
+
+  @Test
+  void perMessageVsBatch() {
+    PolicyEventPublisher publisher = mock(PolicyEventPublisher.class);
+    TransactionTemplate tx = new TransactionTemplate(txManager);
+    Inbox inbox = new Inbox(inboxRepository, new InboxProperties(), new SimpleMeterRegistry());
+    PaymentEventListener perMessage = new PaymentEventListener(repo, publisher, tx, inbox);
+    InboundEventBatchHandler batch =
+        new InboundEventBatchHandler(
+            repo,
+            publisher,
+            tx,
+            inbox,
+            CONVERTER,
+            Validation.buildDefaultValidatorFactory().getValidator());
+    Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+
+    // por mensagem: converte como o container faria e chama o listener
+    Consumer<List<Message>> single =
+        messages ->
+            messages.forEach(
+                m -> {
+                  m.getMessageProperties().setInferredArgumentType(PaymentMessage.class);
+                  perMessage.onPayment(
+                      (PaymentMessage) CONVERTER.fromMessage(m),
+                      m.getMessageProperties().getMessageId());
+                });
+    Consumer<List<Message>> batched =
+        messages -> batch.handle(messages, InboundEventBatchHandler.PAYMENT);
+
+    List<Message> first = messages();
+    Result singleRun = run(stats, single, first, 1);
+    Result singleRedelivery = run(stats, single, first, 1);
+    List<Message> second = messages();
+    Result batchedRun = run(stats, batched, second, BATCH_SIZE);
+    Result batchedRedelivery = run(stats, batched, second, BATCH_SIZE);
+
+    System.out.printf(
+        "payments -> per-message: %.2f stmts, %.0f msg/s | batch(%d): %.2f stmts, %.0f msg/s%n",
+        singleRun.statements,
+        singleRun.perSecond,
+        BATCH_SIZE,
+        batchedRun.statements,
+        batchedRun.perSecond);
+    System.out.printf(
+        "redelivery -> per-message: %.2f stmts, %.0f msg/s | batch(%d): %.2f stmts, %.0f msg/s%n",
+        singleRedelivery.statements,
+        singleRedelivery.perSecond,
+        BATCH_SIZE,
+        batchedRedelivery.statements,
+        batchedRedelivery.perSecond);
+    assertThat(batchedRun.statements).isLessThan(singleRun.statements);
+    assertThat(singleRedelivery.statements).isLessThanOrEqualTo(1.0);
+    assertThat(batchedRedelivery.statements).isLessThan(singleRedelivery.statements);
+  }
+
+  private record Result(double statements, double perSecond) {}
+
+  private Result run(
+      Statistics stats, Consumer<List<Message>> consume, List<Message> messages, int size) {
+    stats.clear();
+    long start = System.nanoTime();
+    for (int i = 0; i < messages.size(); i += size) {
+      consume.accept(messages.subList(i, Math.min(messages.size(), i + size)));
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    Message first = messages.get(0);
+    first.getMessageProperties().setInferredArgumentType(PaymentMessage.class);
+    UUID firstId = ((PaymentMessage) CONVERTER.fromMessage(first)).solicitationId();
+    assertThat(repo.findStatusById(firstId)).contains(Status.APROVADO);
+    return new Result((double) stats.getPrepareStatementCount() / MESSAGES, MESSAGES / seconds);
+  }
+
+  private List<Message> messages() {
+    List<Message> messages = new ArrayList<>(MESSAGES);
+    for (UUID id : seed()) {
+      MessageProperties props = new MessageProperties();
+      props.setMessageId(UUID.randomUUID().toString());
+      props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+      String body = "{\"solicitationId\":\"" + id + "\",\"approved\":true}";
+      messages.add(new Message(body.getBytes(StandardCharsets.UTF_8), props));
+    }
+    return messages;
+  }
+
+  private List<UUID> seed() {
+    List<Solicitation> batch = new ArrayList<>(MESSAGES);
+    for (int i = 0; i < MESSAGES; i++) {
+      batch.add(
+          Solicitation.builder()
+              .customerId(UUID.randomUUID())
+              .productId("p" + i)
+              .category(Category.AUTO)
+              .salesChannel("WEB")
+              .paymentMethod("PIX")
+              .totalMonthlyPremiumAmount(BigDecimal.TEN)
+              .insuredAmount(BigDecimal.valueOf(1000))
+              .status(Status.PENDENTE)
+              .build());
+    }
+    return repo.saveAll(batch).stream().map(Solicitation::getId).toList();
+  }
+}
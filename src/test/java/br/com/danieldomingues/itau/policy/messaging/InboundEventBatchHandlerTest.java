@@ -0,0 +1,227 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import br.com.danieldomingues.itau.policy.config.PolicyEventsConfig;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import jakarta.validation.Validation;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class InboundEventBatchHandlerTest {
+
+  private final SolicitationRepository repository = mock(SolicitationRepository.class);
+  private final PolicyEventPublisher publisher = mock(PolicyEventPublisher.class);
+  private final Inbox inbox = mock(Inbox.class);
+  private static final Jackson2JsonMessageConverter CONVERTER =
+      new PolicyEventsConfig().jackson2JsonMessageConverter();
+  private final InboundEventBatchHandler handler =
+      new InboundEventBatchHandler(
+          repository,
+          publisher,
+          new TransactionTemplate(mock(PlatformTransactionManager.class)),
+          inbox,
+          CONVERTER,
+          Validation.buildDefaultValidatorFactory().getValidator());
+
+  @BeforeEach
+  void setUp() {
+    // por padrão nenhum id visto antes e todos novos no registro
+    when(inbox.seen(anyString(), anyCollection())).thenReturn(Set.of());
+    when(inbox.record(anyString(), anyCollection()))
+        .thenAnswer(inv -> new HashSet<>(inv.<Collection<String>>getArgument(1)));
+  }
+
+  private static Message message(String messageId, Map<String, Object> p) {
+    MessageProperties props = new MessageProperties();
+    props.setMessageId(messageId);
+    return CONVERTER.toMessage(p, props);
+  }
+
+  private static Solicitation moved(UUID id, Status status) {
+    return Solicitation.builder().id(id).customerId(UUID.randomUUID()).status(status).build();
+  }
+
+  private int handle(List<Map<String, Object>> payloads) {
+    return handleMessages(payloads.stream().map(p -> message(null, p)).toList());
+  }
+
+  private int handleMessages(List<Message> messages) {
+    return handler.handle(messages, InboundEventBatchHandler.PAYMENT);
+  }
+
+  @Test
+  @DisplayName("Lote -> uma transição em lote; inválidos descartados; repetido: vence o primeiro")
+  @SuppressWarnings("unchecked")
+  void batch_singleTransitionCall() {
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    when(repository.transitionAll(anyMap(), anySet(), any()))
+        .thenReturn(List.of(moved(a, Status.APROVADO), moved(b, Status.REJEITADO)));
+
+    int n =
+        handle(
+            List.of(
+                Map.of("solicitationId", a.toString(), "approved", true),
+                Map.of("solicitationId", "not-a-uuid", "approved", true),
+                Map.of("approved", true),
+                Map.of("solicitationId", b.toString(), "approved", "false"),
+                Map.of("solicitationId", a.toString(), "approved", false)));
+
+    assertThat(n).isEqualTo(2);
+    ArgumentCaptor<Map<UUID, Status>> targets = ArgumentCaptor.forClass(Map.class);
+    verify(repository).transitionAll(targets.capture(), eq(Set.of(Status.PENDENTE)), any());
+    assertThat(targets.getValue())
+        .containsExactly(Map.entry(a, Status.APROVADO), Map.entry(b, Status.REJEITADO));
+    verify(publisher).publishSolicitationApproved(eq(a.toString()), any(), eq("payment-approved"));
+    verify(publisher).publishSolicitationRejected(eq(b.toString()), any(), eq("payment-rejected"));
+  }
+
+  @Test
+  @DisplayName("Nenhuma transição -> nada publicado")
+  void noTransition_nothingPublished() {
+    when(repository.transitionAll(anyMap(), anySet(), any())).thenReturn(List.of());
+
+    assertThat(
+            handle(
+                List.of(Map.of("solicitationId", UUID.randomUUID().toString(), "approved", true))))
+        .isZero();
+    verifyNoInteractions(publisher);
+  }
+
+  @Test
+  @DisplayName("Falha ao gravar um evento no outbox propaga: transações desfeitas, lote sem ack")
+  void outboxFailure_propagates() {
+    UUID a = UUID.randomUUID();
+    when(repository.transitionAll(anyMap(), anySet(), any()))
+        .thenReturn(List.of(moved(a, Status.APROVADO)));
+    doThrow(new IllegalStateException("db down"))
+        .when(publisher)
+        .publishSolicitationApproved(eq(a.toString()), any(), any());
+
+    assertThatThrownBy(
+            () -> handle(List.of(Map.of("solicitationId", a.toString(), "approved", true))))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("Falha no banco propaga: o lote volta para a fila sem ack")
+  void repositoryFailure_propagates() {
+    when(repository.transitionAll(anyMap(), anySet(), any()))
+        .thenThrow(new IllegalStateException("db down"));
+
+    assertThatThrownBy(
+            () ->
+                handle(
+                    List.of(
+                        Map.of("solicitationId", UUID.randomUUID().toString(), "approved", true))))
+        .isInstanceOf(IllegalStateException.class);
+    verifyNoInteractions(publisher);
+  }
+
+  @Test
+  @DisplayName("Reentrega já na inbox ou repetida no lote é descartada antes da transação")
+  @SuppressWarnings("unchecked")
+  void duplicates_droppedBeforeTransition() {
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    when(inbox.seen(eq("payment"), anyCollection())).thenReturn(Set.of("m-old"));
+    when(repository.transitionAll(anyMap(), anySet(), any()))
+        .thenReturn(List.of(moved(b, Status.APROVADO)));
+
+    handleMessages(
+        List.of(
+            message("m-old", Map.of("solicitationId", a.toString(), "approved", true)),
+            message("m-new", Map.of("solicitationId", b.toString(), "approved", true)),
+            message("m-new", Map.of("solicitationId", b.toString(), "approved", false))));
+
+    verify(inbox).record("payment", Set.of("m-new"));
+    ArgumentCaptor<Map<UUID, Status>> targets = ArgumentCaptor.forClass(Map.class);
+    verify(repository).transitionAll(targets.capture(), anySet(), any());
+    assertThat(targets.getValue()).containsExactly(Map.entry(b, Status.APROVADO));
+  }
+
+  @Test
+  @DisplayName("Id registrado por outra réplica no meio tempo não transiciona")
+  @SuppressWarnings("unchecked")
+  void concurrentDuplicate_excludedByRecord() {
+    UUID a = UUID.randomUUID();
+    when(inbox.record(anyString(), anyCollection())).thenReturn(Set.of());
+    when(repository.transitionAll(anyMap(), anySet(), any())).thenReturn(List.of());
+
+    handleMessages(
+        List.of(message("m-1", Map.of("solicitationId", a.toString(), "approved", true))));
+
+    ArgumentCaptor<Map<UUID, Status>> targets = ArgumentCaptor.forClass(Map.class);
+    verify(repository).transitionAll(targets.capture(), anySet(), any());
+    assertThat(targets.getValue()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Lote só de duplicatas -> nem transação nem solicitation")
+  void allDuplicates_noTransaction() {
+    when(inbox.seen(anyString(), anyCollection())).thenReturn(Set.of("m-1"));
+
+    assertThat(
+            handleMessages(
+                List.of(
+                    message(
+                        "m-1",
+                        Map.of("solicitationId", UUID.randomUUID().toString(), "approved", true)))))
+        .isZero();
+    verify(inbox, never()).record(anyString(), anyCollection());
+    verifyNoInteractions(repository, publisher);
+  }
+
+  @Test
+  @DisplayName("Mensagem malformada é descartada sozinha, antes da inbox e do banco")
+  void malformed_droppedBeforeDatabase() {
+    UUID a = UUID.randomUUID();
+    MessageProperties text = new MessageProperties();
+    text.setContentType(MessageProperties.CONTENT_TYPE_TEXT_PLAIN);
+    when(repository.transitionAll(anyMap(), anySet(), any()))
+        .thenReturn(List.of(moved(a, Status.APROVADO)));
+
+    int n =
+        handleMessages(
+            List.of(
+                message("m-1", Map.of("solicitationId", "not-a-uuid", "approved", true)),
+                message("m-2", Map.of("solicitationId", a.toString())),
+                message("m-3", Map.of("solicitationId", a.toString(), "approved", "talvez")),
+                new Message("{".getBytes(StandardCharsets.UTF_8)),
+                new Message("oi".getBytes(StandardCharsets.UTF_8), text),
+                message("m-4", Map.of("solicitationId", a.toString(), "approved", true))));
+
+    assertThat(n).isEqualTo(1);
+    verify(inbox).seen("payment", List.of("m-4"));
+    verify(inbox).record("payment", Set.of("m-4"));
+  }
+
+  @Test
+  @DisplayName("Lote só de mensagens malformadas -> nem inbox nem solicitation")
+  void allMalformed_noDatabase() {
+    assertThat(handleMessages(List.of(message("m-1", Map.of("approved", true))))).isZero();
+
+    verify(inbox, never()).record(anyString(), anyCollection());
+    verifyNoInteractions(repository, publisher);
+  }
+}
@@ -0,0 +1,109 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.config.PolicyEventsConfig;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+/**
+ * Desserialização de mensagens de pagamento: {@link PaymentMessage} tipado x Map + casts à mão (o
+ * caminho antigo dos listeners), com o mesmo Jackson2JsonMessageConverter e tipo inferido como no
+ * container. Mede ns e bytes alocados por mensagem (alocação da thread, HotSpot).
+ *
+ * Fora da suíte padrão (não termina em Test) e não precisa de Docker; rode com:
+ * mvn test -Dtest=InboundMessageConversionBenchmark -Djacoco.skip=true
+ */
+class InboundMessageConversionBenchmark {
+
+  private static final int MESSAGES = 10_000;
+  private static final int WARMUP_ROUNDS = 20;
+  private static final int ROUNDS = 20;
+
+  private final Jackson2JsonMessageConverter converter =
+      new PolicyEventsConfig().jackson2JsonMessageConverter();
+
+  @Test
+  void typedVsMap() {
+    List<Message> messages = messages();
+
+    Function<Message, UUID> typed =
+        m -> {
+          m.getMessageProperties().setInferredArgumentType(PaymentMessage.class);
+          PaymentMessage payment = (PaymentMessage) converter.fromMessage(m);
+          return payment.approved() ? payment.solicitationId() : null;
+        };
+    Function<Message, UUID> map =
+        m -> {
+          m.getMessageProperties().setInferredArgumentType(Map.class);
+          @SuppressWarnings("unchecked")
+          Map<String, Object> payload = (Map<String, Object>) converter.fromMessage(m);
+          Object approved = payload.get("approved");
+          boolean ok =
+              approved instanceof Boolean b ? b : Boolean.parseBoolean(approved.toString());
+          return ok ? UUID.fromString((String) payload.get("solicitationId")) : null;
+        };
+
+    Result typedResult = run(messages, typed);
+    Result mapResult = run(messages, map);
+
+    System.out.printf(
+        "payment deserialization -> typed: %.0f ns/msg, %.0f B/msg | map: %.0f ns/msg, %.0f B/msg%n",
+        typedResult.nanos, typedResult.bytes, mapResult.nanos, mapResult.bytes);
+    assertThat(typedResult.checksum).isEqualTo(mapResult.checksum);
+  }
+
+  private record Result(double nanos, double bytes, long checksum) {}
+
+  private static Result run(List<Message> messages, Function<Message, UUID> convert) {
+    long checksum = 0;
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      checksum += consume(messages, convert);
+    }
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+    long allocated = threads.getThreadAllocatedBytes(thread);
+    long start = System.nanoTime();
+    checksum = 0;
+    for (int i = 0; i < ROUNDS; i++) {
+      checksum += consume(messages, convert);
+    }
+    long elapsed = System.nanoTime() - start;
+    allocated = threads.getThreadAllocatedBytes(thread) - allocated;
+    double total = (double) MESSAGES * ROUNDS;
+    return new Result(elapsed / total, allocated / total, checksum);
+  }
+
+  private static long consume(List<Message> messages, Function<Message, UUID> convert) {
+    long sum = 0;
+    for (Message message : messages) {
+      UUID id = convert.apply(message);
+      if (id != null) {
+        sum += id.getLeastSignificantBits();
+      }
+    }
+    return sum;
+  }
+
+  private static List<Message> messages() {
+    List<Message> messages = new ArrayList<>(MESSAGES);
+    for (int i = 0; i < MESSAGES; i++) {
+      MessageProperties props = new MessageProperties();
+      props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+      String body =
+          "{\"solicitationId\":\"" + UUID.randomUUID() + "\",\"approved\":" + (i % 4 != 0) + "}";
+      messages.add(new Message(body.getBytes(StandardCharsets.UTF_8), props));
+    }
+    return messages;
+  }
+}
@@ -0,0 +1,110 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.danieldomingues.itau.policy.config.PolicyEventsConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.io.InputStream;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+class InboundMessageTest {
+
+  private final Jackson2JsonMessageConverter converter =
+      new PolicyEventsConfig().jackson2JsonMessageConverter();
+  private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+  /** Como o container converte: tipo inferido do parâmetro do listener. */
+  private Object convert(String json, Class<?> type) {
+    Message message = new Message(json.getBytes(StandardCharsets.UTF_8), new MessageProperties());
+    message.getMessageProperties().setInferredArgumentType(type);
+    return converter.fromMessage(message);
+  }
+
+  @Test
+  @DisplayName("JSON v1 -> record tipado; texto true/false e campos extras são aceitos")
+  void v1_bindsToRecord() {
+    UUID id = UUID.randomUUID();
+
+    Object payment =
+        convert(
+            "{\"solicitationId\":\"" + id + "\",\"approved\":\"false\",\"extra\":1}",
+            PaymentMessage.class);
+    Object subscription =
+        convert("{\"solicitationId\":\"" + id + "\",\"active\":true}", SubscriptionMessage.class);
+
+    assertThat(payment).isEqualTo(new PaymentMessage(id, false));
+    assertThat(subscription).isEqualTo(new SubscriptionMessage(id, true));
+    assertThat(((InboundMessage) subscription).positive()).isTrue();
+  }
+
+  @Test
+  @DisplayName("UUID ou booleano inválido falha na conversão; campo ausente falha na validação")
+  void malformed_rejected() {
+    assertThatThrownBy(
+            () -> convert("{\"solicitationId\":\"x\",\"approved\":true}", PaymentMessage.class))
+        .isInstanceOf(MessageConversionException.class);
+    assertThatThrownBy(
+            () ->
+                convert(
+                    "{\"solicitationId\":\"" + UUID.randomUUID() + "\",\"approved\":\"talvez\"}",
+                    PaymentMessage.class))
+        .isInstanceOf(MessageConversionException.class);
+
+    Object incomplete = convert("{\"approved\":true}", PaymentMessage.class);
+    assertThat(validator.validate(incomplete)).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("__TypeId__ versionado resolve o record mesmo sem tipo inferido")
+  void versionedTypeId_resolves() {
+    MessageProperties props = new MessageProperties();
+    props.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, SubscriptionMessage.TYPE_ID);
+    UUID id = UUID.randomUUID();
+    String json = "{\"solicitationId\":\"" + id + "\",\"active\":false}";
+
+    Object out = converter.fromMessage(new Message(json.getBytes(StandardCharsets.UTF_8), props));
+
+    assertThat(out).isEqualTo(new SubscriptionMessage(id, false));
+  }
+
+  @Test
+  @DisplayName("Schemas v1 publicados batem com os campos obrigatórios dos records")
+  void schemas_matchRecords() throws Exception {
+    assertSchemaMatches("/schemas/payment-message.v1.json", PaymentMessage.class);
+    assertSchemaMatches("/schemas/subscription-message.v1.json", SubscriptionMessage.class);
+  }
+
+  private static void assertSchemaMatches(String path, Class<? extends Record> type)
+      throws Exception {
+    JsonNode schema;
+    try (InputStream in = InboundMessageTest.class.getResourceAsStream(path)) {
+      schema = new ObjectMapper().readTree(in);
+    }
+    List<String> required = new ArrayList<>();
+    schema.get("required").forEach(n -> required.add(n.asText()));
+    List<String> components =
+        Arrays.stream(type.getRecordComponents()).map(RecordComponent::getName).toList();
+
+    assertThat(schema.get("$id").asText())
+        .isEqualTo(
+            type == PaymentMessage.class ? PaymentMessage.TYPE_ID : SubscriptionMessage.TYPE_ID);
+    assertThat(required).containsExactlyInAnyOrderElementsOf(components);
+    assertThat(schema.get("properties").fieldNames()).toIterable().containsAll(components);
+  }
+}
@@ -0,0 +1,102 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import br.com.danieldomingues.itau.policy.repo.InboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InboxTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final InboxRepository repository = mock(InboxRepository.class);
+
+  private Inbox inbox(InboxProperties props) {
+    return new Inbox(repository, props, registry);
+  }
+
+  private Inbox inbox() {
+    InboxProperties props = new InboxProperties();
+    props.setExpectedInsertions(10_000);
+    return inbox(props);
+  }
+
+  @Test
+  @DisplayName("Id que o filtro nunca viu não consulta a tabela")
+  void unseenId_noLookup() {
+    assertThat(inbox().seen("payment", List.of("m-1", "m-2"))).isEmpty();
+
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  @DisplayName("Id registrado -> reentrega conferida em uma consulta e descartada")
+  void recordedId_confirmedAsDuplicate() {
+    Inbox inbox = inbox();
+    when(repository.insertNew("payment", List.of("m-1"))).thenReturn(Set.of("m-1"));
+    when(repository.findExisting(eq("payment"), anyCollection())).thenReturn(Set.of("m-1"));
+
+    assertThat(inbox.record("payment", "m-1")).isTrue();
+    assertThat(inbox.seen("payment", "m-1")).isTrue();
+    assertThat(inbox.seen("subscription", List.of("m-1"))).isEmpty();
+
+    verify(repository).findExisting("payment", List.of("m-1"));
+    assertThat(registry.get("policy.inbox.duplicates").tag("source", "payment").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Registro que perde o INSERT (outra réplica) conta como duplicata")
+  void conflictingInsert_isDuplicate() {
+    when(repository.insertNew(anyString(), anyCollection())).thenReturn(Set.of());
+
+    assertThat(inbox().record("payment", "m-1")).isFalse();
+    assertThat(registry.get("policy.inbox.duplicates").tag("source", "payment").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Limpeza remove ids mais velhos que o TTL")
+  void purge_deletesOlderThanTtl() {
+    InboxProperties props = new InboxProperties();
+    props.setTtl(Duration.ofHours(2));
+
+    inbox(props).purge();
+
+    verify(repository).deleteReceivedBefore(7200.0);
+  }
+
+  @Test
+  @DisplayName("Filtro: sem falso negativo, falso positivo perto da taxa e giro por gerações")
+  void bloomFilter_properties() {
+    RotatingBloomFilter filter = new RotatingBloomFilter(10_000, 0.01);
+    List<String> inserted = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      String id = UUID.randomUUID().toString();
+      inserted.add(id);
+      filter.put(id);
+    }
+
+    assertThat(inserted).allMatch(filter::mightContain);
+    long falsePositives = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (filter.mightContain(UUID.randomUUID().toString())) {
+        falsePositives++;
+      }
+    }
+    assertThat(falsePositives).isLessThan(300);
+
+    filter.rotate();
+    assertThat(inserted).allMatch(filter::mightContain);
+    filter.rotate();
+    assertThat(inserted.stream().filter(filter::mightContain).count()).isLessThan(300);
+  }
+}
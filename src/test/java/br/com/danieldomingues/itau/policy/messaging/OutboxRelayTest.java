@@ -0,0 +1,321 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import br.com.danieldomingues.itau.policy.domain.OutboxEvent;
+import br.com.danieldomingues.itau.policy.repo.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class OutboxRelayTest {
+
+  private SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final OutboxEventRepository outbox = mock(OutboxEventRepository.class);
+  private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+  private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+  // transação aberta no txManager simulado
+  private final AtomicBoolean inTransaction = new AtomicBoolean();
+  private OutboxRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    when(txManager.getTransaction(any()))
+        .thenAnswer(
+            inv -> {
+              inTransaction.set(true);
+              return mock(TransactionStatus.class);
+            });
+    doAnswer(inv -> inTransaction.getAndSet(false)).when(txManager).commit(any());
+    doAnswer(inv -> inTransaction.getAndSet(false)).when(txManager).rollback(any());
+    relay = relay(10);
+  }
+
+  private OutboxRelay relay(int maxInFlight) {
+    OutboxProperties props = new OutboxProperties();
+    props.setEnabled(true);
+    props.setBatchSize(2);
+    props.setMaxBatchesPerPoll(3);
+    props.setConfirmTimeout(Duration.ofMillis(200));
+    props.setMaxInFlight(maxInFlight);
+    props.setMaxAttempts(3);
+    return new OutboxRelay(
+        outbox,
+        rabbitTemplate,
+        new TopicExchange("policy.exchange"),
+        new TransactionTemplate(txManager),
+        props,
+        registry);
+  }
+
+  private static OutboxEvent event(String routingKey) {
+    return OutboxEvent.builder()
+        .id(UUID.randomUUID())
+        .routingKey(routingKey)
+        .typeId("br.com.danieldomingues.itau.policy.messaging.PolicyEventPublisher$ApprovedEvent")
+        .payload("{\"solicitationId\":\"x\"}")
+        .build();
+  }
+
+  private static List<UUID> ids(OutboxEvent... events) {
+    return Arrays.stream(events).map(OutboxEvent::getId).toList();
+  }
+
+  /** Broker simulado: responde o confirm de cada envio conforme {@code confirm} (null = nunca). */
+  private void broker(Function<Message, CorrelationData.Confirm> confirm) {
+    doAnswer(
+            inv -> {
+              assertThat(inTransaction).as("publish inside a DB transaction").isFalse();
+              CorrelationData correlation = inv.getArgument(3);
+              CorrelationData.Confirm c = confirm.apply(inv.getArgument(2));
+              if (c != null) {
+                correlation.getFuture().complete(c);
+              }
+              return null;
+            })
+        .when(rabbitTemplate)
+        .send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+  }
+
+  private double count(String name) {
+    return registry.get(name).counter().count();
+  }
+
+  private double confirms(String result) {
+    return registry.get("policy.outbox.confirms").tag("result", result).counter().count();
+  }
+
+  private double inflight() {
+    return registry.get("policy.outbox.inflight").gauge().value();
+  }
+
+  @Test
+  @DisplayName("Lote reivindicado, publicado fora de transação, confirmado e marcado como enviado")
+  void batch_claimedPublishedConfirmedAndMarked() {
+    OutboxEvent a = event("policy.approved");
+    OutboxEvent b = event("policy.rejected");
+    when(outbox.lockUnsent(2)).thenReturn(List.of(a, b), List.of());
+    broker(m -> new CorrelationData.Confirm(true, null));
+
+    relay.poll();
+
+    ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+    ArgumentCaptor<CorrelationData> correlation = ArgumentCaptor.forClass(CorrelationData.class);
+    verify(outbox).claim(ids(a, b), 60.0);
+    verify(rabbitTemplate)
+        .send(eq("policy.exchange"), eq("policy.approved"), sent.capture(), correlation.capture());
+    verify(rabbitTemplate)
+        .send(eq("policy.exchange"), eq("policy.rejected"), any(Message.class), any());
+    verify(outbox).markSent(ids(a, b));
+    verify(outbox, never()).recordFailures(anyCollection(), anyInt());
+    verify(outbox, never()).releaseClaims(anyCollection());
+    verify(outbox, times(2)).lockUnsent(2);
+    assertThat(count("policy.outbox.published")).isEqualTo(2.0);
+    assertThat(confirms("ack")).isEqualTo(2.0);
+    assertThat(registry.get("policy.outbox.confirm.latency").timer().count()).isEqualTo(2);
+    assertThat(inflight()).isZero();
+
+    Message message = sent.getValue();
+    assertThat(correlation.getValue().getId()).isEqualTo(a.getId().toString());
+    assertThat(new String(message.getBody(), StandardCharsets.UTF_8)).isEqualTo(a.getPayload());
+    assertThat(message.getMessageProperties().getMessageId()).isEqualTo(a.getId().toString());
+    assertThat(message.getMessageProperties().getContentType()).isEqualTo("application/json");
+    assertThat((String) message.getMessageProperties().getHeader("__TypeId__"))
+        .isEqualTo(a.getTypeId());
+  }
+
+  @Test
+  @DisplayName("Nack conta tentativa; confirm perdido vence depois do timeout, sem segurar o poll")
+  void nackAndTimeout_recordedAsFailures() throws Exception {
+    OutboxEvent ok = event("policy.approved");
+    OutboxEvent nack = event("policy.nack");
+    OutboxEvent lost = event("policy.lost");
+    when(outbox.lockUnsent(anyInt())).thenReturn(List.of(ok, nack, lost), List.of());
+    Map<String, CorrelationData.Confirm> replies =
+        Map.of(
+            ok.getId().toString(), new CorrelationData.Confirm(true, null),
+            nack.getId().toString(), new CorrelationData.Confirm(false, "queue full"));
+    broker(m -> replies.get(m.getMessageProperties().getMessageId()));
+
+    long start = System.nanoTime();
+    relay.poll();
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(200));
+    verify(outbox).markSent(ids(ok));
+    verify(outbox).recordFailures(ids(nack), 3);
+    assertThat(confirms("nack")).isEqualTo(1.0);
+    assertThat(confirms("timeout")).isZero();
+
+    Thread.sleep(250);
+    relay.recordConfirms();
+
+    verify(outbox).recordFailures(ids(lost), 3);
+    assertThat(confirms("timeout")).isEqualTo(1.0);
+    // o confirm perdido continua ocupando a janela até o canal responder (ou fechar)
+    assertThat(inflight()).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Janela vale entre lotes: sem confirms, o relay não reivindica além dela")
+  void window_spansBatches() {
+    registry = new SimpleMeterRegistry();
+    relay = relay(3);
+    when(outbox.lockUnsent(anyInt()))
+        .thenAnswer(
+            inv ->
+                Stream.generate(() -> event("policy.approved"))
+                    .limit(inv.<Integer>getArgument(0))
+                    .toList());
+    broker(m -> null);
+
+    relay.poll();
+    relay.poll();
+
+    // lotes de 2: o segundo só cabe 1 e o resto das varreduras não reivindica nada
+    verify(outbox).lockUnsent(2);
+    verify(outbox).lockUnsent(1);
+    verify(outbox, times(2)).lockUnsent(anyInt());
+    verify(outbox, times(2)).claim(anyCollection(), anyDouble());
+    verify(rabbitTemplate, times(3))
+        .send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    assertThat(inflight()).isEqualTo(3.0);
+  }
+
+  @Test
+  @DisplayName("Ack de mensagem retornada (sem fila de destino) não conta como enviada")
+  void returned_notMarkedSent() {
+    OutboxEvent event = event("policy.unbound");
+    when(outbox.lockUnsent(anyInt())).thenReturn(List.of(event), List.of());
+    doAnswer(
+            inv -> {
+              CorrelationData correlation = inv.getArgument(3);
+              correlation.setReturned(
+                  new ReturnedMessage(inv.getArgument(2), 312, "NO_ROUTE", "policy.exchange", "x"));
+              correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+              return null;
+            })
+        .when(rabbitTemplate)
+        .send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+    relay.poll();
+
+    verify(outbox, never()).markSent(anyCollection());
+    verify(outbox).recordFailures(ids(event), 3);
+    assertThat(confirms("returned")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Última tentativa estaciona o evento")
+  void lastAttempt_parks() {
+    OutboxEvent event = event("policy.approved");
+    event.setAttempts(2);
+    when(outbox.lockUnsent(anyInt())).thenReturn(List.of(event), List.of());
+    broker(m -> new CorrelationData.Confirm(false, "nack"));
+
+    relay.poll();
+
+    verify(outbox).recordFailures(ids(event), 3);
+    assertThat(count("policy.outbox.parked")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Última tentativa com falha ao gravar -> não conta como estacionado")
+  void lastAttempt_recordFails_notCountedAsParked() {
+    OutboxEvent event = event("policy.approved");
+    event.setAttempts(2);
+    when(outbox.lockUnsent(anyInt())).thenReturn(List.of(event), List.of());
+    when(outbox.recordFailures(anyCollection(), anyInt()))
+        .thenThrow(new IllegalStateException("db down"));
+    broker(m -> new CorrelationData.Confirm(false, "nack"));
+
+    relay.poll();
+
+    assertThat(count("policy.outbox.parked")).isZero();
+    assertThat(count("policy.outbox.failed")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Broker fora no envio -> lote devolvido sem contar tentativa")
+  void sendFailure_claimsReleased() {
+    OutboxEvent a = event("policy.approved");
+    OutboxEvent b = event("policy.approved");
+    when(outbox.lockUnsent(anyInt())).thenReturn(List.of(a, b));
+    doThrow(new AmqpConnectException(new ConnectException("refused")))
+        .when(rabbitTemplate)
+        .send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+    assertThat(relay.relayBatch(2)).isZero();
+
+    verify(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any());
+    verify(outbox).releaseClaims(ids(a, b));
+    verify(outbox, never()).markSent(anyCollection());
+    verify(outbox, never()).recordFailures(anyCollection(), anyInt());
+    assertThat(inflight()).isZero();
+  }
+
+  @Test
+  @DisplayName("Falha ao gravar confirms não derruba o relay; o lease devolve o evento depois")
+  void recordFailure_keepsRelaying() {
+    when(outbox.lockUnsent(anyInt())).thenReturn(List.of(event("policy.approved")), List.of());
+    when(outbox.markSent(anyCollection())).thenThrow(new IllegalStateException("db down"));
+    broker(m -> new CorrelationData.Confirm(true, null));
+
+    relay.poll();
+
+    assertThat(count("policy.outbox.failed")).isEqualTo(1.0);
+    assertThat(count("policy.outbox.published")).isZero();
+  }
+
+  @Test
+  @DisplayName("Outbox vazio -> não toca o broker")
+  void empty_noBrokerCall() {
+    when(outbox.lockUnsent(anyInt())).thenReturn(List.of());
+
+    relay.poll();
+
+    verifyNoInteractions(rabbitTemplate);
+    verify(outbox, never()).claim(anyCollection(), anyDouble());
+  }
+
+  @Test
+  @DisplayName("Publisher grava no outbox o corpo e o __TypeId__ do conversor JSON")
+  void publisher_enqueuesConvertedMessage() {
+    PolicyEventPublisher publisher =
+        new PolicyEventPublisher(outbox, new Jackson2JsonMessageConverter());
+    ReflectionTestUtils.setField(publisher, "approvedRoutingKey", "policy.approved");
+
+    publisher.publishSolicitationApproved("s-1", "c-1", "payment-approved");
+
+    ArgumentCaptor<OutboxEvent> saved = ArgumentCaptor.forClass(OutboxEvent.class);
+    verify(outbox).save(saved.capture());
+    assertThat(saved.getValue().getRoutingKey()).isEqualTo("policy.approved");
+    assertThat(saved.getValue().getTypeId()).endsWith("PolicyEventPublisher$ApprovedEvent");
+    assertThat(saved.getValue().getPayload())
+        .contains("\"solicitationId\":\"s-1\"", "\"details\":\"payment-approved\"");
+  }
+}
@@ -0,0 +1,135 @@
+package br.com.danieldomingues.itau.policy.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SubscriptionEventListenerTest {
+
+  private final SolicitationRepository repository = mock(SolicitationRepository.class);
+  private final PolicyEventPublisher publisher = mock(PolicyEventPublisher.class);
+  private final Inbox inbox = mock(Inbox.class);
+  private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+  private final SubscriptionEventListener listener =
+      new SubscriptionEventListener(
+          repository, publisher, new TransactionTemplate(txManager), inbox);
+
+  private final UUID id = UUID.randomUUID();
+  private final UUID customer = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    when(txManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+    when(inbox.seen(eq(SubscriptionEventListener.SOURCE), anyString())).thenReturn(false);
+    when(inbox.record(eq(SubscriptionEventListener.SOURCE), anyString())).thenReturn(true);
+    when(repository.findById(id))
+        .thenReturn(
+            Optional.of(
+                Solicitation.builder()
+                    .id(id)
+                    .customerId(customer)
+                    .status(Status.APROVADO)
+                    .build()));
+  }
+
+  @Test
+  @DisplayName("messageId novo -> inbox, transição e evento na mesma transação")
+  void newMessage_recordedMovedAndPublished() {
+    when(repository.transition(eq(id), anySet(), eq(Status.APROVADO), any())).thenReturn(true);
+
+    listener.onSubscription(new SubscriptionMessage(id, true), "m-1");
+
+    InOrder order = inOrder(txManager, inbox, repository, publisher);
+    order.verify(txManager).getTransaction(any());
+    order.verify(inbox).record(SubscriptionEventListener.SOURCE, "m-1");
+    order.verify(repository).transition(eq(id), anySet(), eq(Status.APROVADO), any());
+    order
+        .verify(publisher)
+        .publishSolicitationApproved(id.toString(), customer.toString(), "subscription-active");
+    order.verify(txManager).commit(any());
+  }
+
+  @Test
+  @DisplayName("messageId já visto -> nem transição nem evento")
+  void seenMessage_skipped(CapturedOutput output) {
+    when(inbox.seen(SubscriptionEventListener.SOURCE, "m-1")).thenReturn(true);
+
+    listener.onSubscription(new SubscriptionMessage(id, true), "m-1");
+
+    verify(inbox, never()).record(anyString(), anyString());
+    verifyNoInteractions(repository, publisher, txManager);
+    assertThat(output).contains("Ignorando subscricao duplicada (messageId m-1)");
+  }
+
+  @Test
+  @DisplayName(
+      "messageId registrado por outra réplica durante a transação -> logado como duplicado")
+  void recordedConcurrently_loggedAsDuplicate(CapturedOutput output) {
+    when(inbox.record(SubscriptionEventListener.SOURCE, "m-1")).thenReturn(false);
+
+    listener.onSubscription(new SubscriptionMessage(id, false), "m-1");
+
+    verify(repository, never()).transition(any(), anySet(), any(), any());
+    verifyNoInteractions(publisher);
+    assertThat(output)
+        .contains("Ignorando subscricao duplicada (messageId m-1)")
+        .doesNotContain("status diferente de PENDENTE");
+  }
+
+  @Test
+  @DisplayName("Sem messageId -> inbox ignorado e vale a regra de status")
+  void missingMessageId_fallsBackToStatusRule(CapturedOutput output) {
+    when(repository.transition(eq(id), anySet(), eq(Status.REJEITADO), any()))
+        .thenReturn(false, true);
+
+    // primeira entrega: solicitação não está mais PENDENTE
+    listener.onSubscription(new SubscriptionMessage(id, false), null);
+    verifyNoInteractions(publisher);
+    assertThat(output).contains("status diferente de PENDENTE");
+
+    // segunda: transição aceita, evento publicado
+    listener.onSubscription(new SubscriptionMessage(id, false), null);
+    verify(publisher)
+        .publishSolicitationRejected(id.toString(), customer.toString(), "subscription-rejected");
+    verifyNoInteractions(inbox);
+  }
+
+  @Test
+  @DisplayName("Falha ao gravar o evento -> rollback desfaz inbox e transição; exceção propaga")
+  void failure_rollsBackInboxAndTransition() {
+    when(repository.transition(eq(id), anySet(), eq(Status.APROVADO), any())).thenReturn(true);
+    doThrow(new IllegalStateException("outbox down"))
+        .when(publisher)
+        .publishSolicitationApproved(anyString(), anyString(), anyString());
+
+    assertThatThrownBy(() -> listener.onSubscription(new SubscriptionMessage(id, true), "m-1"))
+        .isInstanceOf(IllegalStateException.class);
+
+    // inbox e transição rodaram dentro da transação que foi desfeita, então a reentrega volta a
+    // processar a mensagem
+    InOrder order = inOrder(txManager, inbox, repository);
+    order.verify(txManager).getTransaction(any());
+    order.verify(inbox).record(SubscriptionEventListener.SOURCE, "m-1");
+    order.verify(repository).transition(eq(id), anySet(), eq(Status.APROVADO), any());
+    order.verify(txManager).rollback(any());
+    verify(txManager, never()).commit(any());
+  }
+}
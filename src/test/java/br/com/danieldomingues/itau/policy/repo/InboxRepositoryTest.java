@@ -0,0 +1,90 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** Inbox (INSERT ... ON CONFLICT ... RETURNING) contra um Postgres real (precisa de Docker). */
+@DataJpaTest
+@Import(InboxRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class InboxRepositoryTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withDatabaseName("policydb")
+          .withUsername("policy")
+          .withPassword("policy");
+
+  @Autowired private InboxRepository inbox;
+  @Autowired private PlatformTransactionManager txManager;
+  private TransactionTemplate tx;
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  @BeforeEach
+  void setUp() {
+    tx = new TransactionTemplate(txManager);
+    inbox.deleteReceivedBefore(-3600);
+  }
+
+  @Test
+  @DisplayName("Insert devolve só os ids novos; a chave inclui a origem")
+  void insertNew_returnsOnlyFresh() {
+    Set<String> first = tx.execute(st -> inbox.insertNew("payment", List.of("m-1", "m-2")));
+    Set<String> second = tx.execute(st -> inbox.insertNew("payment", List.of("m-2", "m-3")));
+    Set<String> other = tx.execute(st -> inbox.insertNew("subscription", List.of("m-1")));
+
+    assertThat(first).containsExactlyInAnyOrder("m-1", "m-2");
+    assertThat(second).containsExactly("m-3");
+    assertThat(other).containsExactly("m-1");
+    assertThat(inbox.findExisting("payment", List.of("m-1", "m-4"))).containsExactly("m-1");
+  }
+
+  @Test
+  @DisplayName("Transação desfeita não registra o id")
+  void rolledBack_notRecorded() {
+    tx.executeWithoutResult(
+        st -> {
+          inbox.insertNew("payment", List.of("m-9"));
+          st.setRollbackOnly();
+        });
+
+    assertThat(inbox.findExisting("payment", List.of("m-9"))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Limpeza remove só ids mais velhos que a idade dada")
+  void deleteReceivedBefore_onlyOld() {
+    tx.execute(st -> inbox.insertNew("payment", List.of("m-1")));
+
+    assertThat(inbox.deleteReceivedBefore(3600)).isZero();
+    assertThat(inbox.deleteReceivedBefore(0)).isEqualTo(1);
+  }
+}
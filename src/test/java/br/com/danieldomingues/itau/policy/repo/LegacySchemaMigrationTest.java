@@ -0,0 +1,94 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Upgrade de um banco criado pelo antigo ddl-auto=update: o container sobe com o esquema daquela
+ * época, o Flyway faz baseline e migra, e o contexto só sobe se o Hibernate validar (precisa de
+ * Docker).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class LegacySchemaMigrationTest {
+
+  private static final UUID LEGACY_ID = UUID.fromString("0f1e2d3c-0000-0000-0000-000000000001");
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withDatabaseName("policydb")
+          .withUsername("policy")
+          .withPassword("policy")
+          .withInitScript("db/legacy/ddl_auto_update_schema.sql");
+
+  @Autowired private SolicitationRepository repo;
+  @Autowired private JdbcTemplate jdbc;
+  @Autowired private PlatformTransactionManager txManager;
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  @Test
+  @DisplayName("Baseline + migrações completam as colunas que faltavam; linha antiga preservada")
+  void legacySchema_migratedAndValidated() {
+    List<String> columns =
+        jdbc.queryForList(
+            "SELECT column_name FROM information_schema.columns WHERE table_name = 'solicitation'",
+            String.class);
+    assertThat(columns).contains("version", "claimed_by", "claimed_until");
+    assertThat(jdbc.queryForObject("SELECT MIN(version) FROM flyway_schema_history", String.class))
+        .isEqualTo("0");
+
+    Solicitation legacy = repo.findById(LEGACY_ID).orElseThrow();
+    assertThat(legacy.getStatus()).isEqualTo(Status.RECEBIDO);
+    assertThat(legacy.getVersion()).isZero();
+    assertThat(
+            jdbc.queryForObject(
+                "SELECT count(*) FROM status_history WHERE solicitation_id = ?",
+                Integer.class,
+                LEGACY_ID))
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Linha antiga entra na fila de validação multi-nó")
+  void legacyRow_isClaimable() {
+    List<UUID> claimed =
+        new TransactionTemplate(txManager)
+            .execute(
+                s -> {
+                  List<UUID> ids = repo.findClaimableIds(10, 0);
+                  repo.claim(ids, "node-a", 60);
+                  return ids;
+                });
+
+    assertThat(claimed).containsExactly(LEGACY_ID);
+  }
+}
@@ -0,0 +1,162 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.domain.OutboxEvent;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** Outbox com SKIP LOCKED contra um Postgres real (precisa de Docker). */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class OutboxEventRepositoryTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withDatabaseName("policydb")
+          .withUsername("policy")
+          .withPassword("policy");
+
+  @Autowired private OutboxEventRepository outbox;
+  @Autowired private PlatformTransactionManager txManager;
+  private TransactionTemplate tx;
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  @BeforeEach
+  void setUp() {
+    tx = new TransactionTemplate(txManager);
+    outbox.deleteAll();
+  }
+
+  private UUID enqueue() {
+    return outbox
+        .save(
+            OutboxEvent.builder()
+                .routingKey("policy.approved")
+                .typeId("ApprovedEvent")
+                .payload("{}")
+                .build())
+        .getId();
+  }
+
+  private List<UUID> lock(int limit) {
+    return outbox.lockUnsent(limit).stream().map(OutboxEvent::getId).toList();
+  }
+
+  @Test
+  @DisplayName("Relays concorrentes travam lotes disjuntos; enviados saem da fila")
+  void concurrentRelays_disjointBatches() throws Exception {
+    UUID first = enqueue();
+    UUID second = enqueue();
+    UUID third = enqueue();
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<List<UUID>> relayA =
+        CompletableFuture.supplyAsync(
+            () ->
+                tx.execute(
+                    st -> {
+                      List<UUID> ids = lock(2);
+                      locked.countDown();
+                      await(release);
+                      outbox.markSent(ids);
+                      return ids;
+                    }));
+    assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+    List<UUID> relayB = tx.execute(st -> lock(10));
+    release.countDown();
+
+    assertThat(relayA.get(10, TimeUnit.SECONDS)).containsExactly(first, second);
+    assertThat(relayB).containsExactly(third);
+    List<UUID> remaining = tx.execute(st -> lock(10));
+    assertThat(remaining).containsExactly(third);
+  }
+
+  @Test
+  @DisplayName("Limpeza remove só enviados há mais que a retenção")
+  void purge_onlyOldSent() {
+    UUID sent = enqueue();
+    UUID pending = enqueue();
+    tx.executeWithoutResult(st -> outbox.markSent(List.of(sent)));
+
+    Integer recent = tx.execute(st -> outbox.deleteSentBefore(3600));
+    Integer old = tx.execute(st -> outbox.deleteSentBefore(0));
+    assertThat(recent).isZero();
+    assertThat(old).isEqualTo(1);
+    assertThat(outbox.findAll()).extracting(OutboxEvent::getId).containsExactly(pending);
+  }
+
+  @Test
+  @DisplayName("Falhas contam tentativas; na última o evento é estacionado e sai da fila")
+  void failures_parkAtMaxAttempts() {
+    UUID id = enqueue();
+
+    tx.executeWithoutResult(st -> outbox.recordFailures(List.of(id), 2));
+    List<UUID> afterFirst = tx.execute(st -> lock(10));
+    tx.executeWithoutResult(st -> outbox.recordFailures(List.of(id), 2));
+    List<UUID> afterSecond = tx.execute(st -> lock(10));
+
+    assertThat(afterFirst).containsExactly(id);
+    assertThat(afterSecond).isEmpty();
+    OutboxEvent parked = outbox.findById(id).orElseThrow();
+    assertThat(parked.getAttempts()).isEqualTo(2);
+    assertThat(parked.getParkedAt()).isNotNull();
+    assertThat(parked.getSentAt()).isNull();
+  }
+
+  @Test
+  @DisplayName("Lote reivindicado sai da fila até o lease expirar, ser liberado ou falhar")
+  void claim_hidesUntilLeaseExpiresOrReleased() throws Exception {
+    UUID leased = enqueue();
+    UUID released = enqueue();
+    UUID failedOnce = enqueue();
+
+    tx.executeWithoutResult(st -> outbox.claim(List.of(leased), 0.5));
+    tx.executeWithoutResult(st -> outbox.claim(List.of(released, failedOnce), 3600));
+    List<UUID> whileClaimed = tx.execute(st -> lock(10));
+    tx.executeWithoutResult(st -> outbox.releaseClaims(List.of(released)));
+    tx.executeWithoutResult(st -> outbox.recordFailures(List.of(failedOnce), 10));
+    Thread.sleep(600);
+    List<UUID> afterLease = tx.execute(st -> lock(10));
+
+    assertThat(whileClaimed).isEmpty();
+    assertThat(afterLease).containsExactly(leased, released, failedOnce);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** Claim com SKIP LOCKED e lease contra um Postgres real (precisa de Docker). */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class SolicitationClaimRepositoryTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withDatabaseName("policydb")
+          .withUsername("policy")
+          .withPassword("policy");
+
+  @Autowired private SolicitationRepository repo;
+  @Autowired private PlatformTransactionManager txManager;
+  @Autowired private JdbcTemplate jdbc;
+  private TransactionTemplate tx;
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  @BeforeEach
+  void setUp() {
+    tx = new TransactionTemplate(txManager);
+    repo.deleteAll();
+  }
+
+  private List<UUID> received(int n) {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      Solicitation s =
+          repo.save(
+              Solicitation.builder()
+                  .customerId(UUID.randomUUID())
+                  .productId("p-" + i)
+                  .category(Category.AUTO)
+                  .salesChannel("WEB")
+                  .paymentMethod("PIX")
+                  .totalMonthlyPremiumAmount(BigDecimal.TEN)
+                  .insuredAmount(BigDecimal.valueOf(1000))
+                  .status(Status.RECEBIDO)
+                  .createdAt(OffsetDateTime.now().minusMinutes(5).plusSeconds(i))
+                  .build());
+      ids.add(s.getId());
+    }
+    return ids;
+  }
+
+  private List<UUID> claim(int limit, String owner, double leaseSeconds) {
+    return tx.execute(
+        status -> {
+          List<UUID> ids = repo.findClaimableIds(limit, 0);
+          if (!ids.isEmpty()) {
+            repo.claim(ids, owner, leaseSeconds);
+          }
+          return ids;
+        });
+  }
+
+  @Test
+  @DisplayName("Dois nós concorrentes reivindicam lotes disjuntos (SKIP LOCKED)")
+  void concurrentClaims_areDisjoint() throws Exception {
+    List<UUID> all = received(5);
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<List<UUID>> nodeA =
+        CompletableFuture.supplyAsync(
+            () ->
+                tx.execute(
+                    status -> {
+                      List<UUID> ids = repo.findClaimableIds(3, 0);
+                      locked.countDown();
+                      try {
+                        release.await(10, TimeUnit.SECONDS);
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                      }
+                      return ids;
+                    }));
+    assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+    List<UUID> nodeB = claim(10, "node-b", 60);
+    release.countDown();
+
+    assertThat(nodeA.get(10, TimeUnit.SECONDS)).hasSize(3).doesNotContainAnyElementsOf(nodeB);
+    assertThat(nodeB).hasSize(2);
+    assertThat(nodeA.get()).containsExactlyElementsOf(all.subList(0, 3));
+  }
+
+  @Test
+  @DisplayName("Claim válido esconde a linha; lease expirado a devolve à fila")
+  void expiredLease_isReclaimable() throws Exception {
+    received(2);
+
+    assertThat(claim(10, "node-a", 60)).hasSize(2);
+    assertThat(claim(10, "node-b", 60)).isEmpty();
+
+    // nó que "caiu" com lease curto: expira e outro nó assume
+    repo.deleteAll();
+    received(1);
+    assertThat(claim(10, "node-a", 0.2)).hasSize(1);
+    Thread.sleep(400);
+    assertThat(claim(10, "node-b", 60)).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Só o dono libera o claim")
+  void release_onlyByOwner() {
+    List<UUID> ids = received(1);
+    claim(10, "node-a", 60);
+
+    Integer byOther = tx.execute(s -> repo.releaseClaims(ids, "node-b"));
+    Integer byOwner = tx.execute(s -> repo.releaseClaims(ids, "node-a"));
+
+    assertThat(byOther).isZero();
+    assertThat(byOwner).isEqualTo(1);
+    assertThat(claimedBy(ids.get(0))).isNull();
+  }
+
+  @Test
+  @DisplayName("save() de uma cópia lida antes do claim não sobrescreve o claim de outro nó")
+  void save_doesNotOverwriteClaim() {
+    UUID id = received(1).get(0);
+    Solicitation stale = repo.findById(id).orElseThrow();
+    claim(10, "node-b", 60);
+
+    stale.setStatus(Status.VALIDADO);
+    repo.save(stale);
+
+    assertThat(claimedBy(id)).isEqualTo("node-b");
+  }
+
+  @Test
+  @DisplayName("clearClaim só limpa depois da decisão (fora de RECEBIDO)")
+  void clearClaim_onlyAfterDecision() {
+    List<UUID> ids = received(2);
+    claim(10, "node-a", 60);
+    tx.executeWithoutResult(
+        s -> {
+          Solicitation decided = repo.findById(ids.get(0)).orElseThrow();
+          decided.setStatus(Status.REJEITADO);
+          repo.save(decided);
+        });
+
+    Integer decided = tx.execute(s -> repo.clearClaim(ids.get(0)));
+    Integer stillReceived = tx.execute(s -> repo.clearClaim(ids.get(1)));
+
+    assertThat(decided).isEqualTo(1);
+    assertThat(stillReceived).isZero();
+    assertThat(claimedBy(ids.get(0))).isNull();
+    assertThat(claimedBy(ids.get(1))).isEqualTo("node-a");
+  }
+
+  private String claimedBy(UUID id) {
+    return jdbc.queryForObject(
+        "SELECT claimed_by FROM solicitation WHERE id = ?", String.class, id);
+  }
+}
@@ -0,0 +1,124 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** Exportação em chunks por cursor no servidor contra um Postgres real (precisa de Docker). */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class SolicitationExportTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withDatabaseName("policydb")
+          .withUsername("policy")
+          .withPassword("policy");
+
+  @Autowired private SolicitationRepository repo;
+  @Autowired private EntityManager em;
+  @Autowired private PlatformTransactionManager txManager;
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  private Solicitation save(Status status, Category category, OffsetDateTime createdAt) {
+    Solicitation s =
+        Solicitation.builder()
+            .customerId(UUID.randomUUID())
+            .productId("p1")
+            .category(category)
+            .salesChannel("WEB")
+            .paymentMethod("PIX")
+            .totalMonthlyPremiumAmount(BigDecimal.TEN)
+            .insuredAmount(BigDecimal.valueOf(1000))
+            .status(status)
+            .createdAt(createdAt)
+            .build();
+    s.getCoverages().put("Roubo", BigDecimal.ONE);
+    s.getAssistances().add("Guincho");
+    return repo.save(s);
+  }
+
+  @Test
+  @DisplayName("exportInChunks -> filtra, ordena por createdAt e entrega chunks destacados")
+  void export_filtersOrdersAndDetaches() {
+    // intervalo próprio do teste, para não enxergar linhas de outros testes
+    OffsetDateTime base = OffsetDateTime.now(ZoneOffset.UTC).plusYears(50).withNano(0);
+    List<UUID> expected = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      expected.add(save(Status.APROVADO, Category.AUTO, base.plusMinutes(i)).getId());
+    }
+    save(Status.REJEITADO, Category.AUTO, base.plusMinutes(1));
+    save(Status.APROVADO, Category.LIFE, base.plusMinutes(2));
+    save(Status.APROVADO, Category.AUTO, base.plusMinutes(10)); // fora do intervalo
+
+    SolicitationFilter filter =
+        SolicitationFilter.builder()
+            .status(Status.APROVADO)
+            .category(Category.AUTO)
+            .createdFrom(base)
+            .createdTo(base.plusMinutes(10))
+            .build();
+    List<Integer> chunkSizes = new ArrayList<>();
+    List<UUID> seen = new ArrayList<>();
+    List<Solicitation> delivered = new ArrayList<>();
+    TransactionTemplate tx = new TransactionTemplate(txManager);
+    tx.setReadOnly(true);
+
+    Long total =
+        tx.execute(
+            status ->
+                repo.exportInChunks(
+                    filter,
+                    2,
+                    chunk -> {
+                      // o chunk anterior já foi destacado da sessão
+                      delivered.forEach(prev -> assertThat(em.contains(prev)).isFalse());
+                      delivered.addAll(chunk);
+                      chunkSizes.add(chunk.size());
+                      for (Solicitation s : chunk) {
+                        seen.add(s.getId());
+                        assertThat(Hibernate.isInitialized(s.getCoverages())).isTrue();
+                        assertThat(Hibernate.isInitialized(s.getAssistances())).isTrue();
+                        assertThat(Hibernate.isInitialized(s.getHistory())).isTrue();
+                      }
+                    }));
+
+    assertThat(total).isEqualTo(5L);
+    assertThat(seen).containsExactlyElementsOf(expected);
+    assertThat(chunkSizes).containsExactly(2, 2, 1);
+  }
+}
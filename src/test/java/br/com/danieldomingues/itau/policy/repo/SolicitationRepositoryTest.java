@@ -41,7 +41,7 @@ class SolicitationRepositoryTest {
     r.add("spring.datasource.url", postgres::getJdbcUrl);
     r.add("spring.datasource.username", postgres::getUsername);
     r.add("spring.datasource.password", postgres::getPassword);
-    r.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
   }
 
   @Test
@@ -0,0 +1,172 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Busca filtrada contra um Postgres real (precisa de Docker): resultado dos filtros e, via EXPLAIN,
+ * que toda combinação de filtros suportada é servida por índice e não por varredura da tabela.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class SolicitationSearchPlanTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withDatabaseName("policydb")
+          .withUsername("policy")
+          .withPassword("policy");
+
+  // Mesmos predicados que SolicitationCriteria gera, um por filtro suportado
+  private static final List<String> FILTERS =
+      List.of(
+          "customer_id = '6f1d7a3e-0000-4000-8000-000000000001'",
+          "status = 'APROVADO'",
+          "status IN ('RECEBIDO', 'VALIDADO', 'PENDENTE')",
+          "category = 'AUTO'",
+          "sales_channel = 'MOBILE'",
+          "payment_method = 'PIX'",
+          "product_id = 'p1'",
+          "created_at >= '2025-01-01T00:00:00Z' AND created_at < '2025-01-02T00:00:00Z'",
+          // página seguinte (cursor)
+          "created_at >= '2025-01-01T12:00:00Z' AND (created_at > '2025-01-01T12:00:00Z'"
+              + " OR id > '00000000-0000-7000-8000-000000000000')");
+
+  @Autowired private SolicitationRepository repo;
+  @Autowired private DataSource dataSource;
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  private Solicitation save(Status status, String channel, OffsetDateTime createdAt) {
+    return repo.save(
+        Solicitation.builder()
+            .customerId(UUID.randomUUID())
+            .productId("search-p1")
+            .category(Category.HOME)
+            .salesChannel(channel)
+            .paymentMethod("PIX")
+            .totalMonthlyPremiumAmount(BigDecimal.TEN)
+            .insuredAmount(BigDecimal.valueOf(1000))
+            .status(status)
+            .createdAt(createdAt)
+            .build());
+  }
+
+  @Test
+  @DisplayName("search -> combina filtros com AND e pagina por keyset")
+  void search_filtersAndPages() {
+    OffsetDateTime base = OffsetDateTime.now(ZoneOffset.UTC).plusYears(60).withNano(0);
+    UUID first = save(Status.PENDENTE, "APP", base).getId();
+    UUID second = save(Status.RECEBIDO, "APP", base.plusMinutes(1)).getId();
+    save(Status.APROVADO, "APP", base.plusMinutes(2)); // não está em andamento
+    save(Status.PENDENTE, "WEB", base.plusMinutes(3)); // outro canal
+
+    SolicitationFilter filter =
+        SolicitationFilter.builder()
+            .active(true)
+            .salesChannel("APP")
+            .productId("search-p1")
+            .createdFrom(base)
+            .build();
+
+    List<Solicitation> page1 = repo.search(filter, null, null, 1);
+    Solicitation last = page1.get(0);
+    List<Solicitation> page2 = repo.search(filter, last.getCreatedAt(), last.getId(), 10);
+
+    assertThat(page1).extracting(Solicitation::getId).containsExactly(first);
+    assertThat(page2).extracting(Solicitation::getId).containsExactly(second);
+  }
+
+  @Test
+  @DisplayName("EXPLAIN -> toda combinação de filtros usa índice, nenhuma faz Seq Scan")
+  void everyFilterCombination_usesAnIndex() throws Exception {
+    try (Connection c = dataSource.getConnection();
+        Statement st = c.createStatement()) {
+      st.execute(
+          """
+          INSERT INTO solicitation (id, version, customer_id, product_id, category, sales_channel,
+              payment_method, total_monthly_premium_amount, insured_amount, status, created_at)
+          SELECT gen_random_uuid(), 0, gen_random_uuid(), 'p' || (g % 50),
+              (ARRAY['AUTO','LIFE','HOME','CORPORATE','OTHER'])[1 + g % 5],
+              (ARRAY['MOBILE','WEB','APP','BRANCH'])[1 + g % 4],
+              (ARRAY['PIX','CREDIT_CARD','BOLETO'])[1 + g % 3], 10, 1000,
+              (ARRAY['RECEBIDO','VALIDADO','PENDENTE','APROVADO','REJEITADO','CANCELADA'])[1 + g % 6],
+              timestamptz '2024-01-01' + g * interval '1 minute'
+          FROM generate_series(1, 20000) g
+          """);
+      st.execute("ANALYZE solicitation");
+      // sem seq scan "barato": se ainda aparecer Seq Scan, nenhum índice serve o filtro
+      st.execute("SET enable_seqscan = off");
+
+      List<String> failures = new ArrayList<>();
+      for (int mask = 0; mask < (1 << FILTERS.size()); mask++) {
+        List<String> where = new ArrayList<>();
+        for (int i = 0; i < FILTERS.size(); i++) {
+          if ((mask & (1 << i)) != 0) {
+            where.add("(" + FILTERS.get(i) + ")");
+          }
+        }
+        String sql =
+            "EXPLAIN SELECT * FROM solicitation"
+                + (where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where))
+                + " ORDER BY created_at, id LIMIT 51";
+        String plan = explain(st, sql);
+
+        boolean seqScan = plan.contains("Seq Scan");
+        // com filtro, o índice precisa restringir as linhas (Index Cond) ou ser o parcial
+        boolean restricted =
+            where.isEmpty()
+                || plan.contains("Index Cond")
+                || plan.contains("idx_solicitation_active_created");
+        if (seqScan || !restricted) {
+          failures.add(sql + "\n" + plan);
+        }
+      }
+      assertThat(failures).isEmpty();
+    }
+  }
+
+  private static String explain(Statement st, String sql) throws Exception {
+    StringBuilder plan = new StringBuilder();
+    try (ResultSet rs = st.executeQuery(sql)) {
+      while (rs.next()) {
+        plan.append(rs.getString(1)).append('\n');
+      }
+    }
+    return plan.toString();
+  }
+}
@@ -0,0 +1,139 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Load-modify-save (findWithHistoryById + dirty checking) x transição condicional
+ * ({@link SolicitationTransitions#transition}) contra um Postgres real: statements JDBC por
+ * transição (estatísticas do Hibernate) e transições/s.
+ *
+ * Fora da suíte padrão (não termina em Test) e precisa de Docker; rode com:
+ * mvn test -Dtest=SolicitationTransitionBenchmark -Djacoco.skip=true
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class SolicitationTransitionBenchmark {
+
+  private static final int ROWS = 2_000;
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withDatabaseName("policydb")
+          .withUsername("policy")
+          .withPassword("policy");
+
+  @Autowired private SolicitationRepository repo;
+  @Autowired private PlatformTransactionManager txManager;
+  @Autowired private EntityManagerFactory emf;
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    r.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+  }
+
+  @Test
+  void loadModifySaveVsConditionalTransition() {
+    TransactionTemplate tx = new TransactionTemplate(txManager);
+    Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+
+    Result loadModifySave =
+        run(
+            tx,
+            stats,
+            id -> {
+              Solicitation s = repo.findWithHistoryById(id).orElseThrow();
+              if (s.getStatus() == Status.PENDENTE) {
+                OffsetDateTime now = OffsetDateTime.now();
+                s.setStatus(Status.APROVADO);
+                s.setFinishedAt(now);
+                s.addHistory(Status.APROVADO, now);
+                repo.save(s);
+              }
+            });
+    Result conditional =
+        run(
+            tx,
+            stats,
+            id ->
+                repo.transition(
+                    id, EnumSet.of(Status.PENDENTE), Status.APROVADO, OffsetDateTime.now()));
+
+    System.out.printf(
+        "transitions -> load-modify-save: %.1f stmts, %.0f/s | conditional: %.1f stmts, %.0f/s%n",
+        loadModifySave.statements,
+        loadModifySave.perSecond,
+        conditional.statements,
+        conditional.perSecond);
+    assertThat(conditional.statements).isLessThan(loadModifySave.statements);
+  }
+
+  private record Result(double statements, double perSecond) {}
+
+  private Result run(TransactionTemplate tx, Statistics stats, Consumer<UUID> transition) {
+    List<UUID> ids = seed(tx);
+    stats.clear();
+    long start = System.nanoTime();
+    for (UUID id : ids) {
+      tx.executeWithoutResult(st -> transition.accept(id));
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    return new Result((double) stats.getPrepareStatementCount() / ids.size(), ids.size() / seconds);
+  }
+
+  private List<UUID> seed(TransactionTemplate tx) {
+    List<UUID> ids = new ArrayList<>(ROWS);
+    tx.executeWithoutResult(
+        st -> {
+          for (int i = 0; i < ROWS; i++) {
+            ids.add(
+                repo.save(
+                        Solicitation.builder()
+                            .customerId(UUID.randomUUID())
+                            .productId("p" + i)
+                            .category(Category.AUTO)
+                            .salesChannel("WEB")
+                            .paymentMethod("PIX")
+                            .totalMonthlyPremiumAmount(BigDecimal.TEN)
+                            .insuredAmount(BigDecimal.valueOf(1000))
+                            .status(Status.PENDENTE)
+                            .build())
+                    .getId());
+          }
+        });
+    return ids;
+  }
+}
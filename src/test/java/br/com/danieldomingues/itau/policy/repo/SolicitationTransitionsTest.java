@@ -0,0 +1,194 @@
+package br.com.danieldomingues.itau.policy.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.domain.StatusHistory;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** Transição condicional contra um Postgres real (precisa de Docker). */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class SolicitationTransitionsTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withDatabaseName("policydb")
+          .withUsername("policy")
+          .withPassword("policy");
+
+  private static final Set<Status> FROM_PENDING = EnumSet.of(Status.PENDENTE);
+
+  @Autowired private SolicitationRepository repo;
+  @Autowired private PlatformTransactionManager txManager;
+  private TransactionTemplate tx;
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  @BeforeEach
+  void setUp() {
+    tx = new TransactionTemplate(txManager);
+  }
+
+  private UUID pending() {
+    Solicitation s =
+        Solicitation.builder()
+            .customerId(UUID.randomUUID())
+            .productId("p1")
+            .category(Category.AUTO)
+            .salesChannel("WEB")
+            .paymentMethod("PIX")
+            .totalMonthlyPremiumAmount(BigDecimal.TEN)
+            .insuredAmount(BigDecimal.valueOf(1000))
+            .status(Status.PENDENTE)
+            .build();
+    return repo.save(s).getId();
+  }
+
+  private List<Status> history(UUID id) {
+    return tx.execute(
+        st ->
+            repo.findWithHistoryById(id).orElseThrow().getHistory().stream()
+                .map(StatusHistory::getStatus)
+                .toList());
+  }
+
+  @Test
+  @DisplayName("Status esperado -> vence, grava finishedAt e histórico")
+  void expectedStatus_wins() {
+    UUID id = pending();
+    OffsetDateTime at = OffsetDateTime.now(ZoneOffset.UTC);
+
+    assertThat(repo.transition(id, FROM_PENDING, Status.APROVADO, at)).isTrue();
+
+    Solicitation s = repo.findById(id).orElseThrow();
+    assertThat(s.getStatus()).isEqualTo(Status.APROVADO);
+    assertThat(s.getFinishedAt()).isNotNull();
+    assertThat(history(id)).containsExactly(Status.RECEBIDO, Status.APROVADO);
+  }
+
+  @Test
+  @DisplayName("Status diferente ou id inexistente -> não vence e não grava histórico")
+  void unexpectedStatus_loses() {
+    UUID id = pending();
+    OffsetDateTime at = OffsetDateTime.now(ZoneOffset.UTC);
+
+    assertThat(repo.transition(id, EnumSet.of(Status.RECEBIDO), Status.VALIDADO, at)).isFalse();
+    assertThat(repo.transition(UUID.randomUUID(), FROM_PENDING, Status.APROVADO, at)).isFalse();
+
+    assertThat(repo.findById(id).orElseThrow().getStatus()).isEqualTo(Status.PENDENTE);
+    assertThat(history(id)).containsExactly(Status.RECEBIDO);
+  }
+
+  @Test
+  @DisplayName("Cancelamento x pagamento concorrentes: exatamente um vence")
+  void concurrentTransitions_exactlyOneWins() throws Exception {
+    UUID id = pending();
+    OffsetDateTime at = OffsetDateTime.now(ZoneOffset.UTC);
+    CountDownLatch start = new CountDownLatch(1);
+    Callable<Boolean> cancel =
+        () -> {
+          start.await();
+          return repo.transition(
+              id, EnumSet.of(Status.RECEBIDO, Status.PENDENTE), Status.CANCELADA, at);
+        };
+    Callable<Boolean> payment =
+        () -> {
+          start.await();
+          return repo.transition(id, FROM_PENDING, Status.APROVADO, at);
+        };
+
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      Future<Boolean> c = pool.submit(cancel);
+      Future<Boolean> p = pool.submit(payment);
+      start.countDown();
+      assertThat(c.get() ^ p.get()).isTrue();
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(history(id)).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("Lote -> só as PENDENTE transicionam, com finishedAt, versão e histórico")
+  void transitionAll_onlyExpectedStatus() {
+    UUID approved = pending();
+    UUID rejected = pending();
+    UUID cancelled = pending();
+    OffsetDateTime at = OffsetDateTime.now(ZoneOffset.UTC);
+    repo.transition(cancelled, FROM_PENDING, Status.CANCELADA, at);
+    long version = repo.findById(approved).orElseThrow().getVersion();
+    Map<UUID, Status> targets = new LinkedHashMap<>();
+    targets.put(approved, Status.APROVADO);
+    targets.put(UUID.randomUUID(), Status.APROVADO);
+    targets.put(cancelled, Status.APROVADO);
+    targets.put(rejected, Status.REJEITADO);
+
+    List<Solicitation> moved = repo.transitionAll(targets, FROM_PENDING, at);
+
+    assertThat(moved).extracting(Solicitation::getId).containsExactly(approved, rejected);
+    Solicitation s = repo.findById(approved).orElseThrow();
+    assertThat(s.getStatus()).isEqualTo(Status.APROVADO);
+    assertThat(s.getFinishedAt()).isNotNull();
+    assertThat(s.getVersion()).isEqualTo(version + 1);
+    assertThat(history(rejected)).containsExactly(Status.RECEBIDO, Status.REJEITADO);
+    assertThat(history(cancelled)).containsExactly(Status.RECEBIDO, Status.CANCELADA);
+  }
+
+  @Test
+  @DisplayName("Lote -> retorno na ordem de iteração do mapa, não na ordem de id do lock")
+  void transitionAll_resultsFollowMapOrder() {
+    List<UUID> ids = new ArrayList<>(List.of(pending(), pending(), pending()));
+    ids.sort(Comparator.reverseOrder());
+    Map<UUID, Status> targets = new LinkedHashMap<>();
+    ids.forEach(id -> targets.put(id, Status.APROVADO));
+
+    List<Solicitation> moved =
+        repo.transitionAll(targets, FROM_PENDING, OffsetDateTime.now(ZoneOffset.UTC));
+
+    assertThat(moved).extracting(Solicitation::getId).containsExactlyElementsOf(ids);
+  }
+}
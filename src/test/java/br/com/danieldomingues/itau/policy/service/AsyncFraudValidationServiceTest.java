@@ -0,0 +1,113 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.integration.fraud.AsyncFraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.FraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class AsyncFraudValidationServiceTest {
+
+  private SolicitationRepository repository;
+  private AsyncFraudClient asyncFraudClient;
+  private AsyncFraudValidationService service;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(SolicitationRepository.class);
+    asyncFraudClient = mock(AsyncFraudClient.class);
+    FraudValidationService validationService =
+        new FraudValidationService(
+            repository,
+            mock(FraudClient.class),
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            new ConflictRetry(new ConflictRetryProperties(), new SimpleMeterRegistry()));
+    service = new AsyncFraudValidationService(validationService, asyncFraudClient, Runnable::run);
+  }
+
+  private static Solicitation received() {
+    Solicitation s =
+        Solicitation.builder()
+            .id(UUID.randomUUID())
+            .customerId(UUID.randomUUID())
+            .productId("p1")
+            .category(Category.AUTO)
+            .salesChannel("MOBILE")
+            .paymentMethod("CREDIT_CARD")
+            .totalMonthlyPremiumAmount(new BigDecimal("75.25"))
+            .insuredAmount(new BigDecimal("275000.50"))
+            .status(Status.RECEBIDO)
+            .createdAt(OffsetDateTime.now())
+            .build();
+    s.addHistory(Status.RECEBIDO, s.getCreatedAt());
+    return s;
+  }
+
+  @Test
+  @DisplayName("Resposta assíncrona REGULAR -> VALIDADO gravado após o future completar")
+  void validate_appliesResultWhenFutureCompletes() throws Exception {
+    Solicitation s = received();
+    when(repository.findById(s.getId())).thenReturn(Optional.of(s));
+    when(repository.save(any(Solicitation.class))).thenAnswer(inv -> inv.getArgument(0));
+    CompletableFuture<FraudCheckResponse> pending = new CompletableFuture<>();
+    when(asyncFraudClient.checkAsync(any())).thenReturn(pending);
+
+    CompletableFuture<Solicitation> result = service.validate(s.getId());
+
+    assertThat(result).isNotDone();
+    verify(repository, never()).save(any());
+
+    pending.complete(FraudCheckResponse.builder().classification("REGULAR").build());
+
+    assertThat(result.get().getStatus()).isEqualTo(Status.VALIDADO);
+    verify(repository).save(s);
+  }
+
+  @Test
+  @DisplayName("Já processada -> future completo sem chamar a API de Fraudes")
+  void validate_alreadyProcessed() {
+    Solicitation s = received();
+    s.setStatus(Status.REJEITADO);
+    when(repository.findById(s.getId())).thenReturn(Optional.of(s));
+
+    CompletableFuture<Solicitation> result = service.validate(s.getId());
+
+    assertThat(result).isCompletedWithValue(s);
+    verifyNoInteractions(asyncFraudClient);
+  }
+
+  @Test
+  @DisplayName("Falha do fraud -> future excepcional e nada é gravado")
+  void validate_fraudFailure() {
+    Solicitation s = received();
+    when(repository.findById(s.getId())).thenReturn(Optional.of(s));
+    when(asyncFraudClient.checkAsync(any()))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Failed")));
+
+    CompletableFuture<Solicitation> result = service.validate(s.getId());
+
+    assertThatThrownBy(result::get)
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    verify(repository, never()).save(any());
+  }
+}
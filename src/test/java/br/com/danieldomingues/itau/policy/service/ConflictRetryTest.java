@@ -0,0 +1,85 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+class ConflictRetryTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AtomicInteger attempts = new AtomicInteger();
+
+  private ConflictRetry retry(int maxAttempts) {
+    ConflictRetryProperties props = new ConflictRetryProperties();
+    props.setMaxAttempts(maxAttempts);
+    props.setInitialBackoff(Duration.ofMillis(1));
+    props.setMaxBackoff(Duration.ofMillis(2));
+    return new ConflictRetry(props, registry);
+  }
+
+  private static ObjectOptimisticLockingFailureException conflict() {
+    return new ObjectOptimisticLockingFailureException(Object.class, "id", null);
+  }
+
+  private double count(String outcome) {
+    return registry.get("policy.concurrency.conflicts").tag("outcome", outcome).counter().count();
+  }
+
+  @Test
+  @DisplayName("Conflito otimista é repetido e a tentativa seguinte vence")
+  void conflict_isRetried() {
+    String out =
+        retry(3)
+            .execute(
+                () -> {
+                  if (attempts.incrementAndGet() == 1) {
+                    throw conflict();
+                  }
+                  return "ok";
+                });
+
+    assertThat(out).isEqualTo("ok");
+    assertThat(attempts).hasValue(2);
+    assertThat(count("retried")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Tentativas esgotadas -> conflito propagado (409 na API)")
+  void exhausted_propagatesConflict() {
+    ConflictRetry retry = retry(2);
+
+    assertThatThrownBy(
+            () ->
+                retry.execute(
+                    () -> {
+                      attempts.incrementAndGet();
+                      throw conflict();
+                    }))
+        .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    assertThat(attempts).hasValue(2);
+    assertThat(count("exhausted")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Outros erros não são repetidos")
+  void otherErrors_notRetried() {
+    ConflictRetry retry = retry(3);
+
+    assertThatThrownBy(
+            () ->
+                retry.execute(
+                    () -> {
+                      attempts.incrementAndGet();
+                      throw new IllegalStateException("Invalid state");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(attempts).hasValue(1);
+    assertThat(count("retried")).isZero();
+  }
+}
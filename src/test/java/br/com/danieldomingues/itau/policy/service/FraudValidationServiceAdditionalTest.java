@@ -13,6 +13,7 @@ import br.com.danieldomingues.itau.policy.integration.fraud.FraudClient;
 import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
 import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
 import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.Collections;
@@ -21,6 +22,8 @@ import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 class FraudValidationServiceAdditionalTest {
 
@@ -33,7 +36,12 @@ class FraudValidationServiceAdditionalTest {
   void setup() {
     repository = mock(SolicitationRepository.class);
     fraudClient = mock(FraudClient.class);
-    service = new FraudValidationService(repository, fraudClient);
+    service =
+        new FraudValidationService(
+            repository,
+            fraudClient,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            new ConflictRetry(new ConflictRetryProperties(), new SimpleMeterRegistry()));
     factory = new SolicitationFactory();
   }
 
@@ -0,0 +1,135 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+import br.com.danieldomingues.itau.policy.api.dto.CreateSolicitationRequest;
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.integration.fraud.FraudClient;
+import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
+import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.Resource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Garante que a chamada (lenta) à API de Fraudes não segura conexões do pool:
+ * com N validações bloqueadas no FraudClient, o Hikari deve ficar sem conexões ativas
+ * e leituras não relacionadas continuam sendo atendidas.
+ */
+@SpringBootTest(
+    properties = {
+      "policy.validation.pipeline.enabled=false",
+      "policy.validation.claim.enabled=false"
+    })
+@Testcontainers(disabledWithoutDocker = true)
+class FraudValidationServiceContentionTest {
+
+  private static final int POOL_SIZE = 3;
+  private static final int IN_FLIGHT = 10;
+
+  @Container
+  static final PostgreSQLContainer<?> POSTGRES =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withDatabaseName("policydb")
+          .withUsername("itau")
+          .withPassword("itau");
+
+  @DynamicPropertySource
+  static void datasourceProps(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    r.add("spring.datasource.username", POSTGRES::getUsername);
+    r.add("spring.datasource.password", POSTGRES::getPassword);
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    r.add("spring.datasource.hikari.maximum-pool-size", () -> POOL_SIZE);
+    r.add("spring.datasource.hikari.connection-timeout", () -> "2000");
+  }
+
+  @MockBean private FraudClient fraudClient;
+
+  @Resource private FraudValidationService validationService;
+  @Resource private SolicitationService solicitationService;
+  @Resource private SolicitationRepository repo;
+  @Resource private DataSource dataSource;
+
+  @Test
+  @DisplayName("Fraud lento: pool do Hikari permanece sem conexões ativas durante o HTTP")
+  void slowFraud_shouldNotHoldConnections() throws Exception {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < IN_FLIGHT; i++) {
+      ids.add(solicitationService.create(newRequest()).getId());
+    }
+
+    CountDownLatch allInFlight = new CountDownLatch(IN_FLIGHT);
+    CountDownLatch release = new CountDownLatch(1);
+    given(fraudClient.check(any()))
+        .willAnswer(
+            inv -> {
+              allInFlight.countDown();
+              release.await(30, TimeUnit.SECONDS); // "fraud" lento
+              return FraudCheckResponse.builder().classification("REGULAR").build();
+            });
+
+    HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+    ExecutorService executor = Executors.newFixedThreadPool(IN_FLIGHT);
+    try {
+      List<Future<Solicitation>> results = new ArrayList<>();
+      for (UUID id : ids) {
+        results.add(executor.submit(() -> validationService.validate(id)));
+      }
+
+      // Mais validações em voo do que conexões no pool
+      assertThat(allInFlight.await(20, TimeUnit.SECONDS)).isTrue();
+      assertThat(pool.getActiveConnections()).isZero();
+      assertThat(pool.getThreadsAwaitingConnection()).isZero();
+
+      // GET não relacionado segue atendido com o fraud ainda pendurado
+      assertThat(repo.findById(ids.get(0))).isPresent();
+
+      release.countDown();
+      for (Future<Solicitation> f : results) {
+        assertThat(f.get(20, TimeUnit.SECONDS).getStatus()).isEqualTo(Status.VALIDADO);
+      }
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  private static CreateSolicitationRequest newRequest() {
+    CreateSolicitationRequest req = new CreateSolicitationRequest();
+    req.setCustomerId(UUID.randomUUID());
+    req.setProductId(UUID.randomUUID().toString());
+    req.setCategory(Category.AUTO);
+    req.setSalesChannel("MOBILE");
+    req.setPaymentMethod("CREDIT_CARD");
+    req.setTotalMonthlyPremiumAmount(new BigDecimal("75.25"));
+    req.setInsuredAmount(new BigDecimal("275000.50"));
+    req.setCoverages(Map.of("Roubo", new BigDecimal("100000.25")));
+    req.setAssistances(List.of("Guincho 250km"));
+    return req;
+  }
+}
@@ -13,6 +13,7 @@ import br.com.danieldomingues.itau.policy.integration.fraud.FraudClient;
 import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
 import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
 import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.Optional;
@@ -20,6 +21,8 @@ import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 class FraudValidationServiceRulesTest {
 
@@ -32,7 +35,12 @@ class FraudValidationServiceRulesTest {
   void setUp() {
     repository = mock(SolicitationRepository.class);
     fraudClient = mock(FraudClient.class);
-    service = new FraudValidationService(repository, fraudClient);
+    service =
+        new FraudValidationService(
+            repository,
+            fraudClient,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            new ConflictRetry(new ConflictRetryProperties(), new SimpleMeterRegistry()));
     factory = new SolicitationFactory();
   }
 
@@ -54,10 +62,15 @@ class FraudValidationServiceRulesTest {
     return s;
   }
 
+  // leitura inicial + releitura (otimista) na etapa de escrita
+  private void mockFound(Solicitation sol) {
+    when(repository.findById(sol.getId())).thenReturn(Optional.of(sol));
+  }
+
   @Test
   void regularClient_shouldValidate() {
     Solicitation sol = newSolicitation(Category.LIFE, 400_000);
-    when(repository.findById(sol.getId())).thenReturn(Optional.of(sol));
+    mockFound(sol);
     when(fraudClient.check(any(FraudCheckRequest.class)))
         .thenReturn(FraudCheckResponse.builder().classification("REGULAR").build());
 
@@ -72,7 +85,7 @@ class FraudValidationServiceRulesTest {
   @Test
   void highRiskClient_shouldReject() {
     Solicitation sol = newSolicitation(Category.AUTO, 300_000);
-    when(repository.findById(sol.getId())).thenReturn(Optional.of(sol));
+    mockFound(sol);
     when(fraudClient.check(any(FraudCheckRequest.class)))
         .thenReturn(FraudCheckResponse.builder().classification("HIGH_RISK").build());
 
@@ -87,7 +100,7 @@ class FraudValidationServiceRulesTest {
   @Test
   void preferentialClient_shouldValidate() {
     Solicitation sol = newSolicitation(Category.HOME, 300_000);
-    when(repository.findById(sol.getId())).thenReturn(Optional.of(sol));
+    mockFound(sol);
     when(fraudClient.check(any(FraudCheckRequest.class)))
         .thenReturn(FraudCheckResponse.builder().classification("PREFERENTIAL").build());
 
@@ -102,7 +115,7 @@ class FraudValidationServiceRulesTest {
   @Test
   void noInfoClient_shouldReject() {
     Solicitation sol = newSolicitation(Category.OTHER, 80_000);
-    when(repository.findById(sol.getId())).thenReturn(Optional.of(sol));
+    mockFound(sol);
     when(fraudClient.check(any(FraudCheckRequest.class)))
         .thenReturn(FraudCheckResponse.builder().classification("NO_INFO").build());
 
@@ -117,7 +130,7 @@ class FraudValidationServiceRulesTest {
   @Test
   void unknownClassification_shouldRejectByDefault() {
     Solicitation sol = newSolicitation(Category.AUTO, 100_000);
-    when(repository.findById(sol.getId())).thenReturn(Optional.of(sol));
+    mockFound(sol);
     when(fraudClient.check(any(FraudCheckRequest.class)))
         .thenReturn(FraudCheckResponse.builder().classification("XYZ").build());
 
@@ -133,7 +146,7 @@ class FraudValidationServiceRulesTest {
   void alreadyValidated_shouldNotChangeStatus() {
     Solicitation sol = newSolicitation(Category.AUTO, 100_000);
     sol.setStatus(Status.VALIDADO);
-    when(repository.findById(sol.getId())).thenReturn(Optional.of(sol));
+    mockFound(sol);
 
     Solicitation result = service.validate(sol.getId());
 
@@ -145,7 +158,7 @@ class FraudValidationServiceRulesTest {
   void invalidState_shouldThrowException() {
     Solicitation sol = newSolicitation(Category.AUTO, 100_000);
     sol.setStatus(Status.PENDENTE);
-    when(repository.findById(sol.getId())).thenReturn(Optional.of(sol));
+    mockFound(sol);
 
     assertThatThrownBy(() -> service.validate(sol.getId()))
         .isInstanceOf(IllegalStateException.class)
@@ -155,7 +168,7 @@ class FraudValidationServiceRulesTest {
   @Test
   void nullResponseFromFraudClient_shouldDefaultToNoInfoAndReject() {
     Solicitation sol = newSolicitation(Category.AUTO, 100_000);
-    when(repository.findById(sol.getId())).thenReturn(Optional.of(sol));
+    mockFound(sol);
     // resp == null
     when(fraudClient.check(any(FraudCheckRequest.class))).thenReturn(null);
 
@@ -168,7 +181,7 @@ class FraudValidationServiceRulesTest {
   @Test
   void nullClassification_shouldDefaultToNoInfoAndReject() {
     Solicitation sol = newSolicitation(Category.HOME, 150_000);
-    when(repository.findById(sol.getId())).thenReturn(Optional.of(sol));
+    mockFound(sol);
     // classification == null
     when(fraudClient.check(any(FraudCheckRequest.class)))
         .thenReturn(FraudCheckResponse.builder().classification(null).build());
@@ -182,7 +195,7 @@ class FraudValidationServiceRulesTest {
   @Test
   void classificationWithSpacesAndLowercase_shouldBeTrimmedUppercasedAndValidate() {
     Solicitation sol = newSolicitation(Category.LIFE, 250_000);
-    when(repository.findById(sol.getId())).thenReturn(Optional.of(sol));
+    mockFound(sol);
     // " regular " -> REGULAR -> VALIDADO (trim + uppercase)
     when(fraudClient.check(any(FraudCheckRequest.class)))
         .thenReturn(FraudCheckResponse.builder().classification("  regular  ").build());
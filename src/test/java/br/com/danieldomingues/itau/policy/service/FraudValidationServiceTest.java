@@ -2,7 +2,9 @@ package br.com.danieldomingues.itau.policy.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -13,23 +15,38 @@ import br.com.danieldomingues.itau.policy.integration.fraud.FraudClient;
 import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckRequest;
 import br.com.danieldomingues.itau.policy.integration.fraud.dto.FraudCheckResponse;
 import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class FraudValidationServiceTest {
 
   @Mock SolicitationRepository repository;
   @Mock FraudClient fraudClient;
+  @Mock PlatformTransactionManager transactionManager;
+
+  @Spy TransactionTemplate transactionTemplate = new TransactionTemplate();
+
+  @Spy
+  ConflictRetry conflictRetry =
+      new ConflictRetry(new ConflictRetryProperties(), new SimpleMeterRegistry());
 
   @InjectMocks FraudValidationService service;
 
@@ -59,10 +76,15 @@ class FraudValidationServiceTest {
   }
 
   private void mockFound(Solicitation s) {
-    // apenas findById aqui (sem stubbar save)
+    // apenas findById aqui (sem stubbar save); a etapa 3 relê pelo mesmo findById
     given(repository.findById(SOLICITATION_ID)).willReturn(Optional.of(s));
   }
 
+  @BeforeEach
+  void bindTransactionManager() {
+    transactionTemplate.setTransactionManager(transactionManager);
+  }
+
   private void mockSavePassthrough() {
     given(repository.save(ArgumentMatchers.any(Solicitation.class)))
         .willAnswer(inv -> inv.getArgument(0, Solicitation.class));
@@ -90,6 +112,21 @@ class FraudValidationServiceTest {
         .containsExactly(Status.RECEBIDO, Status.VALIDADO);
   }
 
+  @Test
+  @DisplayName("Decisão gravada -> claim da fila multi-nó limpo na mesma escrita")
+  void validate_clearsClaimAfterDecision() {
+    mockFound(newReceivedSolicitation());
+    mockSavePassthrough();
+    given(fraudClient.check(ArgumentMatchers.any()))
+        .willReturn(FraudCheckResponse.builder().classification("HIGH_RISK").build());
+
+    service.validate(SOLICITATION_ID);
+
+    InOrder order = inOrder(repository);
+    order.verify(repository).save(ArgumentMatchers.any());
+    order.verify(repository).clearClaim(SOLICITATION_ID);
+  }
+
   @Test
   @DisplayName("PREFERENTIAL -> VALIDADO")
   void validate_preferential() {
@@ -173,6 +210,65 @@ class FraudValidationServiceTest {
 
     assertThat(result.getStatus()).isEqualTo(Status.VALIDADO);
     verify(fraudClient, never()).check(ArgumentMatchers.any());
+    verify(transactionManager, never()).getTransaction(ArgumentMatchers.any());
+  }
+
+  @Test
+  @DisplayName("Chamada ao FraudClient ocorre sem transação aberta; escrita em tx curta")
+  void validate_fraudCallOutsideTransaction() {
+    Solicitation s = newReceivedSolicitation();
+    mockFound(s);
+    mockSavePassthrough();
+    given(fraudClient.check(ArgumentMatchers.any()))
+        .willAnswer(
+            inv -> {
+              // nenhuma transação do template foi aberta até aqui
+              verify(transactionManager, never()).getTransaction(ArgumentMatchers.any());
+              return FraudCheckResponse.builder().classification("REGULAR").build();
+            });
+
+    service.validate(SOLICITATION_ID);
+
+    verify(transactionManager).getTransaction(ArgumentMatchers.any());
+    verify(transactionManager).commit(ArgumentMatchers.any());
+  }
+
+  @Test
+  @DisplayName("Status alterado durante a chamada de fraude -> descarta decisão sem salvar")
+  void validate_statusChangedDuringFraudCall() {
+    Solicitation s = newReceivedSolicitation();
+    Solicitation cancelled = newReceivedSolicitation();
+    cancelled.setStatus(Status.CANCELADA);
+    // leitura inicial em RECEBIDO; releitura da etapa 3 já cancelada
+    given(repository.findById(SOLICITATION_ID)).willReturn(Optional.of(s), Optional.of(cancelled));
+    given(fraudClient.check(ArgumentMatchers.any()))
+        .willReturn(FraudCheckResponse.builder().classification("REGULAR").build());
+
+    Solicitation result = service.validate(SOLICITATION_ID);
+
+    assertThat(result.getStatus()).isEqualTo(Status.CANCELADA);
+    verify(repository, never()).save(ArgumentMatchers.any());
+  }
+
+  @Test
+  @DisplayName("Conflito de versão na escrita -> repete a etapa 3 sobre o estado atual")
+  void validate_versionConflict_retriesWrite() {
+    Solicitation s = newReceivedSolicitation();
+    Solicitation cancelled = newReceivedSolicitation();
+    cancelled.setStatus(Status.CANCELADA);
+    given(repository.findById(SOLICITATION_ID))
+        .willReturn(Optional.of(s), Optional.of(s), Optional.of(cancelled));
+    given(repository.save(ArgumentMatchers.any(Solicitation.class)))
+        .willThrow(
+            new ObjectOptimisticLockingFailureException(Solicitation.class, SOLICITATION_ID));
+    given(fraudClient.check(ArgumentMatchers.any()))
+        .willReturn(FraudCheckResponse.builder().classification("REGULAR").build());
+
+    Solicitation result = service.validate(SOLICITATION_ID);
+
+    assertThat(result.getStatus()).isEqualTo(Status.CANCELADA);
+    verify(repository).save(ArgumentMatchers.any());
+    verify(fraudClient).check(ArgumentMatchers.any());
   }
 
   @Test
@@ -187,4 +283,80 @@ class FraudValidationServiceTest {
         .isInstanceOf(IllegalStateException.class)
         .hasMessageContaining("Invalid state to validate");
   }
+
+  @Test
+  @DisplayName("validateAll -> um único checkAll para as RECEBIDO; já processadas são ignoradas")
+  void validateAll_singleBulkCall() {
+    Solicitation received = newReceivedSolicitation();
+    Solicitation processed = newReceivedSolicitation();
+    processed.setId(UUID.randomUUID());
+    processed.setStatus(Status.VALIDADO);
+    List<UUID> ids = List.of(SOLICITATION_ID, processed.getId());
+    given(repository.findAllById(ids)).willReturn(List.of(received, processed));
+    mockFound(received);
+    mockSavePassthrough();
+    given(
+            fraudClient.checkAll(
+                List.of(
+                    FraudCheckRequest.builder()
+                        .customerId(CUSTOMER_ID)
+                        .productId(PRODUCT_ID)
+                        .build())))
+        .willReturn(List.of(FraudCheckResponse.builder().classification("HIGH_RISK").build()));
+
+    List<Solicitation> out = service.validateAll(ids);
+
+    assertThat(out).singleElement().extracting(Solicitation::getStatus).isEqualTo(Status.REJEITADO);
+    verify(fraudClient, never()).check(any());
+  }
+
+  @Test
+  @DisplayName("validateAll -> resposta em lote com tamanho diferente do pedido falha sem gravar")
+  void validateAll_sizeMismatch_fails() {
+    Solicitation a = newReceivedSolicitation();
+    Solicitation b = newReceivedSolicitation();
+    b.setId(UUID.randomUUID());
+    List<UUID> ids = List.of(a.getId(), b.getId());
+    given(repository.findAllById(ids)).willReturn(List.of(a, b));
+    given(fraudClient.checkAll(ArgumentMatchers.anyList()))
+        .willReturn(List.of(FraudCheckResponse.builder().classification("REGULAR").build()));
+
+    assertThatThrownBy(() -> service.validateAll(ids))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Fraud API returned 1 responses for 2 requests");
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("validateAll -> conflito esgotado em um item não interrompe o resto do lote")
+  void validateAll_exhaustedConflict_skipsOnlyThatItem() {
+    Solicitation conflicting = newReceivedSolicitation();
+    Solicitation other = newReceivedSolicitation();
+    UUID otherId = UUID.randomUUID();
+    other.setId(otherId);
+    List<UUID> ids = List.of(SOLICITATION_ID, otherId);
+    given(repository.findAllById(ids)).willReturn(List.of(conflicting, other));
+    // cada tentativa relê uma cópia nova em RECEBIDO, como o banco faria
+    given(repository.findById(SOLICITATION_ID))
+        .willAnswer(inv -> Optional.of(newReceivedSolicitation()));
+    given(repository.findById(otherId)).willReturn(Optional.of(other));
+    given(repository.save(ArgumentMatchers.any(Solicitation.class)))
+        .willAnswer(
+            inv -> {
+              Solicitation s = inv.getArgument(0, Solicitation.class);
+              if (s.getId().equals(SOLICITATION_ID)) {
+                throw new ObjectOptimisticLockingFailureException(Solicitation.class, s.getId());
+              }
+              return s;
+            });
+    given(fraudClient.checkAll(ArgumentMatchers.anyList()))
+        .willReturn(
+            List.of(
+                FraudCheckResponse.builder().classification("REGULAR").build(),
+                FraudCheckResponse.builder().classification("REGULAR").build()));
+
+    List<Solicitation> out = service.validateAll(ids);
+
+    assertThat(out).extracting(Solicitation::getId).containsExactly(otherId);
+  }
 }
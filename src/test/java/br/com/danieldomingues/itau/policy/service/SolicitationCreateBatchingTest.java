@@ -0,0 +1,95 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.api.dto.CreateSolicitationRequest;
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Round trips de um create com 10 coberturas e 5 assistências: com batching JDBC cada tabela sai
+ * em um único statement (solicitation, coverages, assistances, status_history).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SolicitationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class SolicitationCreateBatchingTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withDatabaseName("policydb")
+          .withUsername("policy")
+          .withPassword("policy");
+
+  @Autowired private SolicitationService service;
+  @Autowired private EntityManagerFactory emf;
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  private static CreateSolicitationRequest request(int coverages, int assistances) {
+    CreateSolicitationRequest req = new CreateSolicitationRequest();
+    req.setCustomerId(UUID.randomUUID());
+    req.setProductId("1b2da7cc-b367-4196-8a78-9cfeec21f587");
+    req.setCategory(Category.AUTO);
+    req.setSalesChannel("MOBILE");
+    req.setPaymentMethod("CREDIT_CARD");
+    req.setTotalMonthlyPremiumAmount(new BigDecimal("75.25"));
+    req.setInsuredAmount(new BigDecimal("275000.50"));
+    Map<String, BigDecimal> cov = new LinkedHashMap<>();
+    for (int i = 0; i < coverages; i++) {
+      cov.put("Cobertura " + i, BigDecimal.valueOf(1000 + i));
+    }
+    req.setCoverages(cov);
+    List<String> assist = new ArrayList<>();
+    for (int i = 0; i < assistances; i++) {
+      assist.add("Assistência " + i);
+    }
+    req.setAssistances(assist);
+    return req;
+  }
+
+  @Test
+  @DisplayName("create com 10 coberturas e 5 assistências -> um statement por tabela")
+  void create_batchesChildInserts() {
+    service.create(request(1, 1)); // aquece metadados/DDL fora da medição
+    Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+    stats.clear();
+
+    Solicitation saved = service.create(request(10, 5));
+
+    assertThat(saved.getId()).isNotNull();
+    assertThat(stats.getEntityInsertCount()).isEqualTo(2); // solicitation + status_history
+    assertThat(stats.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+  }
+}
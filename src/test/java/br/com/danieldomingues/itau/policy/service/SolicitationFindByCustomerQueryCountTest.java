@@ -0,0 +1,157 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.danieldomingues.itau.policy.api.dto.CreateSolicitationRequest;
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Consultas do findByCustomerId: a lista e uma consulta por coleção (history, coverages,
+ * assistances), qualquer que seja o número de solicitações do cliente. Também percorre a
+ * paginação keyset do findPageByCustomerId e mede o multi-get (findAllByIds).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SolicitationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class SolicitationFindByCustomerQueryCountTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withDatabaseName("policydb")
+          .withUsername("policy")
+          .withPassword("policy");
+
+  @Autowired private SolicitationService service;
+  @Autowired private EntityManagerFactory emf;
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  private static CreateSolicitationRequest request(UUID customerId) {
+    CreateSolicitationRequest req = new CreateSolicitationRequest();
+    req.setCustomerId(customerId);
+    req.setProductId("1b2da7cc-b367-4196-8a78-9cfeec21f587");
+    req.setCategory(Category.AUTO);
+    req.setSalesChannel("MOBILE");
+    req.setPaymentMethod("CREDIT_CARD");
+    req.setTotalMonthlyPremiumAmount(new BigDecimal("75.25"));
+    req.setInsuredAmount(new BigDecimal("275000.50"));
+    req.setCoverages(Map.of("Roubo", new BigDecimal("100000.25"), "Incêndio", BigDecimal.TEN));
+    req.setAssistances(List.of("Guincho 250km", "Chaveiro"));
+    return req;
+  }
+
+  @Test
+  @DisplayName("findByCustomerId -> 4 consultas, independente de N, com coleções inicializadas")
+  void findByCustomerId_constantQueries() {
+    assertQueriesFor(1);
+    assertQueriesFor(50);
+  }
+
+  @Test
+  @DisplayName(
+      "findPageByCustomerId -> percorre todas as páginas por keyset, sem repetir nem pular")
+  void findPageByCustomerId_walksAllPages() {
+    UUID customerId = UUID.randomUUID();
+    List<CreateSolicitationRequest> reqs = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      reqs.add(request(customerId));
+    }
+    // mesmo createdAt para o lote inteiro: o desempate é pelo id
+    List<UUID> created = service.createAll(reqs).stream().map(Solicitation::getId).toList();
+
+    List<UUID> seen = new ArrayList<>();
+    OffsetDateTime afterCreatedAt = null;
+    UUID afterId = null;
+    int pages = 0;
+    Slice<Solicitation> page;
+    do {
+      page = service.findPageByCustomerId(customerId, afterCreatedAt, afterId, 3);
+      pages++;
+      page.getContent().forEach(s -> seen.add(s.getId()));
+      Solicitation last = page.getContent().get(page.getNumberOfElements() - 1);
+      afterCreatedAt = last.getCreatedAt();
+      afterId = last.getId();
+    } while (page.hasNext());
+
+    assertThat(pages).isEqualTo(3);
+    assertThat(seen).containsExactlyInAnyOrderElementsOf(created).doesNotHaveDuplicates();
+  }
+
+  @Test
+  @DisplayName("findAllByIds -> 4 consultas para 30 ids, inexistente fica de fora")
+  void findAllByIds_constantQueries() {
+    List<CreateSolicitationRequest> reqs = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      reqs.add(request(UUID.randomUUID()));
+    }
+    List<UUID> ids =
+        new ArrayList<>(service.createAll(reqs).stream().map(Solicitation::getId).toList());
+    ids.add(UUID.randomUUID());
+    Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+    stats.clear();
+
+    List<Solicitation> out = service.findAllByIds(ids);
+
+    assertThat(out).extracting(Solicitation::getId).containsExactlyElementsOf(ids.subList(0, 30));
+    assertThat(stats.getPrepareStatementCount()).isEqualTo(4);
+    assertThat(out).allMatch(s -> Hibernate.isInitialized(s.getHistory()));
+  }
+
+  private void assertQueriesFor(int n) {
+    UUID customerId = UUID.randomUUID();
+    List<CreateSolicitationRequest> reqs = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      reqs.add(request(customerId));
+    }
+    service.createAll(reqs);
+    Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+    stats.clear();
+
+    List<Solicitation> out = service.findByCustomerId(customerId);
+
+    assertThat(out).hasSize(n);
+    assertThat(stats.getPrepareStatementCount()).as("N = %d", n).isEqualTo(4);
+    for (Solicitation s : out) {
+      assertThat(Hibernate.isInitialized(s.getHistory())).isTrue();
+      assertThat(Hibernate.isInitialized(s.getCoverages())).isTrue();
+      assertThat(Hibernate.isInitialized(s.getAssistances())).isTrue();
+      assertThat(s.getHistory()).hasSize(1);
+      assertThat(s.getCoverages()).hasSize(2);
+      assertThat(s.getAssistances()).containsExactly("Guincho 250km", "Chaveiro");
+    }
+  }
+}
@@ -3,10 +3,18 @@ package br.com.danieldomingues.itau.policy.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+import br.com.danieldomingues.itau.policy.api.dto.CreateSolicitationRequest;
+import br.com.danieldomingues.itau.policy.domain.Category;
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
 import br.com.danieldomingues.itau.policy.factory.SolicitationFactory;
+import br.com.danieldomingues.itau.policy.repo.SolicitationFilter;
 import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,12 +22,16 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Slice;
 
 class SolicitationServiceMoreTest {
 
   @Mock private SolicitationRepository repository;
   // Caso o service NÃO receba a factory, o Mockito simplesmente ignora este mock.
   @Mock private SolicitationFactory factory;
+  @Mock private ApplicationEventPublisher events;
 
   @InjectMocks private SolicitationService service;
 
@@ -53,4 +65,134 @@ class SolicitationServiceMoreTest {
     verify(repository).findByCustomerId(customerId);
     verifyNoMoreInteractions(repository);
   }
+
+  @Test
+  @DisplayName("findByCustomerId → coleções da lista carregadas em lote, não entidade a entidade")
+  void findByCustomerId_shouldFetchCollectionsInBatch() {
+    UUID customerId = UUID.randomUUID();
+    List<Solicitation> page =
+        List.of(
+            Solicitation.builder().id(UUID.randomUUID()).build(),
+            Solicitation.builder().id(UUID.randomUUID()).build());
+    when(repository.findByCustomerId(customerId)).thenReturn(page);
+
+    List<Solicitation> out = service.findByCustomerId(customerId);
+
+    assertThat(out).isSameAs(page);
+    verify(repository).fetchCollections(page);
+  }
+
+  @Test
+  @DisplayName("findPageByCustomerId → lê limit + 1 para saber se há próxima e devolve só limit")
+  void findPageByCustomerId_shouldProbeOneExtraRow() {
+    UUID customerId = UUID.randomUUID();
+    List<Solicitation> rows =
+        List.of(
+            Solicitation.builder().id(UUID.randomUUID()).build(),
+            Solicitation.builder().id(UUID.randomUUID()).build(),
+            Solicitation.builder().id(UUID.randomUUID()).build());
+    when(repository.findByCustomerIdOrderByCreatedAtAscIdAsc(customerId, Limit.of(3)))
+        .thenReturn(rows);
+
+    Slice<Solicitation> page = service.findPageByCustomerId(customerId, null, null, 2);
+
+    assertThat(page.getContent()).containsExactlyElementsOf(rows.subList(0, 2));
+    assertThat(page.hasNext()).isTrue();
+    verify(repository).fetchCollections(rows.subList(0, 2));
+  }
+
+  @Test
+  @DisplayName("findPageByCustomerId com chave → consulta keyset a partir do último item")
+  void findPageByCustomerId_shouldSeekAfterKey() {
+    UUID customerId = UUID.randomUUID();
+    UUID afterId = UUID.randomUUID();
+    OffsetDateTime afterCreatedAt = OffsetDateTime.parse("2025-01-01T10:00:00Z");
+    when(repository.findByCustomerIdAfter(customerId, afterCreatedAt, afterId, Limit.of(3)))
+        .thenReturn(List.of());
+
+    Slice<Solicitation> page = service.findPageByCustomerId(customerId, afterCreatedAt, afterId, 2);
+
+    assertThat(page.getContent()).isEmpty();
+    assertThat(page.hasNext()).isFalse();
+    verify(repository, never()).fetchCollections(anyList());
+  }
+
+  @Test
+  @DisplayName("search → repassa filtro e chave ao repositório pedindo limit + 1")
+  void search_shouldProbeOneExtraRow() {
+    SolicitationFilter filter = SolicitationFilter.builder().active(true).build();
+    Solicitation only = Solicitation.builder().id(UUID.randomUUID()).build();
+    when(repository.search(filter, null, null, 11)).thenReturn(List.of(only));
+
+    Slice<Solicitation> page = service.search(filter, null, null, 10);
+
+    assertThat(page.getContent()).containsExactly(only);
+    assertThat(page.hasNext()).isFalse();
+    verify(repository).fetchCollections(List.of(only));
+  }
+
+  @Test
+  @DisplayName("findAllByIds → uma busca IN, coleções em lote, ordem pedida sem repetidos")
+  void findAllByIds_shouldKeepRequestOrder_andSkipMissing() {
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    UUID missing = UUID.randomUUID();
+    Solicitation sa = Solicitation.builder().id(a).build();
+    Solicitation sb = Solicitation.builder().id(b).build();
+    when(repository.findAllById(Set.of(a, b, missing))).thenReturn(List.of(sa, sb));
+
+    List<Solicitation> out = service.findAllByIds(List.of(b, missing, a, b));
+
+    assertThat(out).containsExactly(sb, sa);
+    verify(repository).fetchCollections(List.of(sb, sa));
+  }
+
+  @Test
+  @DisplayName("create → publica SolicitationReceivedEvent com o id salvo (pipeline de validação)")
+  void create_shouldPublishReceivedEvent() {
+    UUID id = UUID.randomUUID();
+    when(repository.save(any(Solicitation.class)))
+        .thenAnswer(
+            inv -> {
+              Solicitation s = inv.getArgument(0);
+              s.setId(id);
+              return s;
+            });
+    CreateSolicitationRequest req = new CreateSolicitationRequest();
+    req.setCustomerId(UUID.randomUUID());
+    req.setProductId("p1");
+    req.setCategory(Category.AUTO);
+    req.setSalesChannel("MOBILE");
+    req.setPaymentMethod("CREDIT_CARD");
+    req.setTotalMonthlyPremiumAmount(new BigDecimal("75.25"));
+    req.setInsuredAmount(new BigDecimal("275000.50"));
+
+    service.create(req);
+
+    verify(events).publishEvent(new SolicitationReceivedEvent(id));
+  }
+
+  @Test
+  @DisplayName("createAll → salva o lote em RECEBIDO, faz flush e publica um evento por item")
+  void createAll_shouldSaveInOneCall_andPublishPerItem() {
+    when(repository.saveAll(anyList()))
+        .thenAnswer(
+            inv -> {
+              List<Solicitation> in = inv.getArgument(0);
+              in.forEach(s -> s.setId(UUID.randomUUID()));
+              return in;
+            });
+    CreateSolicitationRequest req = new CreateSolicitationRequest();
+    req.setCustomerId(UUID.randomUUID());
+    req.setProductId("p1");
+    req.setCategory(Category.AUTO);
+
+    List<Solicitation> out = service.createAll(List.of(req, req));
+
+    assertThat(out).hasSize(2).allMatch(s -> s.getStatus() == Status.RECEBIDO);
+    verify(repository).saveAll(anyList());
+    verify(repository).flush();
+    out.forEach(s -> verify(events).publishEvent(new SolicitationReceivedEvent(s.getId())));
+    verify(repository, never()).save(any());
+  }
 }
@@ -22,7 +22,11 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
-@SpringBootTest
+@SpringBootTest(
+    properties = {
+      "policy.validation.pipeline.enabled=false",
+      "policy.validation.claim.enabled=false"
+    })
 @Testcontainers
 @Transactional
 class SolicitationServiceTest {
@@ -44,7 +48,7 @@ class SolicitationServiceTest {
     r.add("spring.datasource.url", POSTGRES::getJdbcUrl);
     r.add("spring.datasource.username", POSTGRES::getUsername);
     r.add("spring.datasource.password", POSTGRES::getPassword);
-    r.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+    r.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
   }
 
   @BeforeEach
@@ -0,0 +1,115 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import br.com.danieldomingues.itau.policy.repo.SolicitationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ValidationClaimWorkerTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final SolicitationRepository repository = mock(SolicitationRepository.class);
+  private final FraudValidationService validationService = mock(FraudValidationService.class);
+  private ValidationClaimWorker worker;
+
+  @BeforeEach
+  void setUp() {
+    ValidationClaimProperties props = new ValidationClaimProperties();
+    props.setEnabled(true);
+    props.setNodeId("node-a");
+    props.setBatchSize(2);
+    props.setLease(Duration.ofSeconds(60));
+    props.setMinAge(Duration.ofSeconds(30));
+    props.setMaxBatchesPerPoll(3);
+    worker =
+        new ValidationClaimWorker(
+            repository,
+            validationService,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            props,
+            registry);
+  }
+
+  private static Solicitation withStatus(UUID id, Status status) {
+    return Solicitation.builder().id(id).status(status).build();
+  }
+
+  private double count(String outcome) {
+    return registry
+        .get("policy.validation.claim.processed")
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  @Test
+  @DisplayName("Lote reivindicado é validado e o claim liberado pelo próprio nó")
+  void claimedBatch_validatedAndReleased() {
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    when(repository.findClaimableIds(2, 30.0)).thenReturn(List.of(a, b), List.of());
+    when(validationService.validateAll(List.of(a, b)))
+        .thenReturn(List.of(withStatus(a, Status.VALIDADO), withStatus(b, Status.REJEITADO)));
+
+    worker.poll();
+
+    verify(repository).claim(List.of(a, b), "node-a", 60.0);
+    verify(repository).releaseClaims(List.of(a, b), "node-a");
+    verify(repository, times(2)).findClaimableIds(2, 30.0);
+    assertThat(registry.get("policy.validation.claim.claimed").counter().count()).isEqualTo(2.0);
+    assertThat(count("validated")).isEqualTo(1.0);
+    assertThat(count("rejected")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Nada a reivindicar -> não grava claim nem chama a validação")
+  void emptyBacklog_noClaim() {
+    when(repository.findClaimableIds(anyInt(), anyDouble())).thenReturn(List.of());
+
+    worker.poll();
+
+    verify(repository, never()).claim(any(), any(), anyDouble());
+    verifyNoInteractions(validationService);
+  }
+
+  @Test
+  @DisplayName("Falha do lote mantém o claim até o lease expirar e encerra a varredura")
+  void failedBatch_keepsClaim() {
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    when(repository.findClaimableIds(2, 30.0)).thenReturn(List.of(a, b));
+    when(validationService.validateAll(anyList()))
+        .thenThrow(new IllegalStateException("Failed to call Fraud API"));
+
+    worker.poll();
+
+    verify(repository, never()).releaseClaims(any(), any());
+    verify(repository, times(1)).findClaimableIds(2, 30.0);
+    assertThat(count("failed")).isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("Backlog grande é drenado até max-batches-per-poll")
+  void largeBacklog_boundedPerPoll() {
+    when(repository.findClaimableIds(2, 30.0))
+        .thenAnswer(inv -> List.of(UUID.randomUUID(), UUID.randomUUID()));
+    when(validationService.validateAll(anyList())).thenReturn(List.of());
+
+    worker.poll();
+
+    verify(validationService, times(3)).validateAll(anyList());
+    assertThat(count("skipped")).isEqualTo(6.0);
+  }
+}
@@ -0,0 +1,143 @@
+package br.com.danieldomingues.itau.policy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import br.com.danieldomingues.itau.policy.domain.Solicitation;
+import br.com.danieldomingues.itau.policy.domain.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+class ValidationPipelineTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final FraudValidationService validationService = mock(FraudValidationService.class);
+  private final List<List<UUID>> batches = new CopyOnWriteArrayList<>();
+  private ValidationPipeline pipeline;
+
+  @AfterEach
+  void tearDown() {
+    pipeline.stop();
+  }
+
+  private ValidationPipeline pipeline(int capacity, int batchSize, Duration batchWait) {
+    ValidationPipelineProperties props = new ValidationPipelineProperties();
+    props.setEnabled(true);
+    props.setCapacity(capacity);
+    props.setWorkers(1);
+    props.setBatchSize(batchSize);
+    props.setBatchWait(batchWait);
+    return new ValidationPipeline(validationService, props, registry);
+  }
+
+  private static Solicitation withStatus(UUID id, Status status) {
+    return Solicitation.builder().id(id).status(status).build();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void answerValidated() {
+    when(validationService.validateAll(anyList()))
+        .thenAnswer(
+            inv -> {
+              List<UUID> ids = new ArrayList<>((Collection<UUID>) inv.getArgument(0));
+              batches.add(ids);
+              return ids.stream().map(id -> withStatus(id, Status.VALIDADO)).toList();
+            });
+  }
+
+  private double count(String name, String outcome) {
+    return registry.get(name).tag("outcome", outcome).counter().count();
+  }
+
+  @Test
+  @DisplayName("Ids enfileirados são drenados em lote e validados sem chamada do cliente")
+  void drainsQueueInBatches() {
+    answerValidated();
+    pipeline = pipeline(100, 5, Duration.ofMillis(200));
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      UUID id = UUID.randomUUID();
+      ids.add(id);
+      pipeline.onSolicitationReceived(new SolicitationReceivedEvent(id));
+    }
+    assertThat(registry.get("policy.validation.queue.depth").gauge().value()).isEqualTo(5.0);
+
+    pipeline.start();
+
+    await(() -> batches.size() == 1);
+    assertThat(batches).containsExactly(ids);
+    assertThat(pipeline.queueDepth()).isZero();
+    assertThat(registry.get("policy.validation.pipeline.batch.size").summary().max())
+        .isEqualTo(5.0);
+    assertThat(registry.get("policy.validation.queue.wait").timer().count()).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("Fila cheia -> enqueue recusa (backpressure) e o id fica em RECEBIDO")
+  void fullQueue_rejects() {
+    pipeline = pipeline(2, 10, Duration.ZERO);
+
+    assertThat(pipeline.enqueue(UUID.randomUUID())).isTrue();
+    assertThat(pipeline.enqueue(UUID.randomUUID())).isTrue();
+    assertThat(pipeline.enqueue(UUID.randomUUID())).isFalse();
+
+    assertThat(registry.get("policy.validation.pipeline.rejected").counter().count())
+        .isEqualTo(1.0);
+    assertThat(registry.get("policy.validation.queue.oldest.age").gauge().value())
+        .isGreaterThanOrEqualTo(0.0);
+    verifyNoInteractions(validationService);
+  }
+
+  @Test
+  @DisplayName("Rajada de recusas (lote grande) gera um log agregado, não um por item")
+  @ExtendWith(OutputCaptureExtension.class)
+  void rejectionBurst_loggedOnce(CapturedOutput output) {
+    pipeline = pipeline(1, 10, Duration.ZERO);
+
+    for (int i = 0; i < 500; i++) {
+      pipeline.enqueue(UUID.randomUUID());
+    }
+
+    assertThat(registry.get("policy.validation.pipeline.rejected").counter().count())
+        .isEqualTo(499.0);
+    assertThat(output.getOut().split("Validation queue full", -1)).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("Falha do lote é contada e o worker segue consumindo")
+  void batchFailure_countedAndWorkerContinues() {
+    pipeline = pipeline(100, 1, Duration.ZERO);
+    when(validationService.validateAll(anyList()))
+        .thenThrow(new IllegalStateException("Failed to call Fraud API"))
+        .thenAnswer(inv -> List.of(withStatus(UUID.randomUUID(), Status.REJEITADO)));
+    pipeline.start();
+
+    pipeline.enqueue(UUID.randomUUID());
+    pipeline.enqueue(UUID.randomUUID());
+
+    verify(validationService, timeout(5_000).times(2)).validateAll(anyList());
+    await(() -> count("policy.validation.pipeline.processed", "rejected") == 1.0);
+    assertThat(count("policy.validation.pipeline.processed", "failed")).isEqualTo(1.0);
+  }
+
+  private static void await(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+}
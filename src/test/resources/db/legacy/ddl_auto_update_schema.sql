@@ -0,0 +1,59 @@
+-- Esquema como o antigo ddl-auto=update (Hibernate 6.5) deixava o banco antes do Flyway: sem
+-- version/claimed_by/claimed_until e com os índices do @Table. Uma linha de exemplo confere que
+-- o dado sobrevive à migração.
+
+create table solicitation (
+    created_at timestamp(6) with time zone not null,
+    finished_at timestamp(6) with time zone,
+    insured_amount numeric(14,2) not null,
+    total_monthly_premium_amount numeric(14,2) not null,
+    customer_id uuid not null,
+    id uuid not null,
+    product_id varchar(64) not null,
+    category varchar(255) not null check (category in ('AUTO','LIFE','HOME','CORPORATE','OTHER')),
+    payment_method varchar(255) not null,
+    sales_channel varchar(255) not null,
+    status varchar(255) not null
+        check (status in ('RECEBIDO','VALIDADO','PENDENTE','APROVADO','REJEITADO','CANCELADA')),
+    primary key (id)
+);
+
+create table solicitation_assistances (
+    solicitation_id uuid not null,
+    assistance varchar(255) not null
+);
+
+create table solicitation_coverages (
+    amount numeric(14,2) not null,
+    solicitation_id uuid not null,
+    name varchar(255) not null,
+    primary key (solicitation_id, name)
+);
+
+create table status_history (
+    timestamp timestamp(6) with time zone not null,
+    id uuid not null,
+    solicitation_id uuid not null,
+    status varchar(255) not null
+        check (status in ('RECEBIDO','VALIDADO','PENDENTE','APROVADO','REJEITADO','CANCELADA')),
+    primary key (id)
+);
+
+create index idx_solicitation_customer on solicitation (customer_id);
+create index idx_solicitation_status on solicitation (status);
+
+alter table if exists solicitation_assistances
+    add constraint FKbvr0m8bc5g1rsbqp3krb8jsd0 foreign key (solicitation_id) references solicitation;
+alter table if exists solicitation_coverages
+    add constraint FK6hs1q8mtn7rjx6k0v4m9sv2bu foreign key (solicitation_id) references solicitation;
+alter table if exists status_history
+    add constraint FKq3m1yy6f0xj6u3vsg4x6b1lcd foreign key (solicitation_id) references solicitation;
+
+insert into solicitation (created_at, insured_amount, total_monthly_premium_amount, customer_id,
+    id, product_id, category, payment_method, sales_channel, status)
+values ('2024-01-01T00:00:00Z', 250000.00, 75.25, 'a1b2c3d4-0000-0000-0000-000000000001',
+    '0f1e2d3c-0000-0000-0000-000000000001', 'prod-legacy', 'AUTO', 'CREDIT_CARD', 'MOBILE',
+    'RECEBIDO');
+insert into status_history (timestamp, id, solicitation_id, status)
+values ('2024-01-01T00:00:00Z', '0f1e2d3c-0000-0000-0000-0000000000a1',
+    '0f1e2d3c-0000-0000-0000-000000000001', 'RECEBIDO');